@@ -0,0 +1,371 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads large amounts of content into a Lucene index, using all the cores.
+ * <p>
+ * Content is split into batches, and a pool of worker threads converts each batch to Lucene documents,
+ * counting tokens, and adds the documents to a single index writer. The writer is configured for bulk
+ * loading: a large RAM buffer, so segments are flushed less often, and a merge policy allowing more
+ * segments per tier, so less merging happens while loading. When the queue of batches is full, the calling
+ * thread converts the next batch itself, which keeps memory bounded.
+ * <p>
+ * The loader holds the index write lock until it is closed, so no `LuceneIndex` or `LuceneEmbeddingStore`
+ * can write to the same directory meanwhile. Closing the loader waits for the calls adding content and for
+ * all their batches, commits, and optionally force-merges the index down to a number of segments.
+ */
+public final class LuceneBulkLoader implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneBulkLoader.class);
+
+    private final IndexWriter writer;
+    private final LuceneDocumentMapper documentMapper;
+    private final ThreadPoolExecutor workers;
+    private final int batchSize;
+    private final int forceMergeSegments;
+    private final AtomicLong documentCount = new AtomicLong();
+    private final AtomicInteger failedDocumentCount = new AtomicInteger();
+    private final AtomicReference<IOException> writeFailure = new AtomicReference<>();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private LuceneBulkLoader(LuceneBulkLoaderBuilder builder) throws IOException {
+        LuceneVectorIndexOptions vectorIndexOptions =
+                getOrDefault(builder.vectorIndexOptions, LuceneVectorIndexOptions::defaults);
+        this.documentMapper = new LuceneDocumentMapper(vectorIndexOptions, builder.metadataDocValues);
+        this.batchSize = Math.max(1, builder.batchSize);
+        this.forceMergeSegments = Math.max(0, builder.forceMergeSegments);
+
+        TieredMergePolicy mergePolicy = new TieredMergePolicy();
+        mergePolicy.setSegmentsPerTier(builder.segmentsPerTier);
+        IndexWriterConfig config = vectorIndexOptions
+                .newIndexWriterConfig()
+                .setRAMBufferSizeMB(builder.ramBufferSizeMb)
+                .setMaxBufferedDocs(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+                .setMergePolicy(mergePolicy);
+        this.writer = new IndexWriter(ensureNotNull(builder.directory, "directory"), config);
+
+        int threads = Math.max(1, builder.threads);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lucene-bulk-loader-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Add content to the index, including segment, metadata and token count. Ids are generated if they are
+     * null, and the lists are padded with null values to the size of the largest one. This method returns
+     * once all the batches are queued, which may be before they are indexed.
+     *
+     * @param ids        Content ids, can be null
+     * @param embeddings Content embeddings, can be null
+     * @param embedded   Content, can be null
+     * @throws IllegalStateException When the loader is closed
+     */
+    public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        // Hold the lock while queuing, so that close waits for all the batches instead of discarding them
+        closeLock.readLock().lock();
+        try {
+            ensureOpen();
+            int maxSize = LuceneEmbeddingStore.maxSize(ids, embeddings, embedded);
+            List<String> sizedIds = LuceneEmbeddingStore.ensureSize(ids, maxSize);
+            List<Embedding> sizedEmbeddings = LuceneEmbeddingStore.ensureSize(embeddings, maxSize);
+            List<TextSegment> sizedEmbedded = LuceneEmbeddingStore.ensureSize(embedded, maxSize);
+
+            for (int from = 0; from < maxSize; from += batchSize) {
+                int to = Math.min(maxSize, from + batchSize);
+                List<String> batchIds = sizedIds.subList(from, to);
+                List<Embedding> batchEmbeddings = sizedEmbeddings.subList(from, to);
+                List<TextSegment> batchEmbedded = sizedEmbedded.subList(from, to);
+                workers.execute(() -> index(batchIds, batchEmbeddings, batchEmbedded));
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of documents added to the index writer so far.
+     *
+     * @return Number of documents
+     */
+    public long documentCount() {
+        return documentCount.get();
+    }
+
+    /**
+     * Number of documents that could not be created from the provided content, and were skipped.
+     *
+     * @return Number of skipped documents
+     */
+    public int failedDocumentCount() {
+        return failedDocumentCount.get();
+    }
+
+    /**
+     * Wait for the calls adding content to return and for all the batches to be indexed, commit, optionally
+     * force-merge, and close the index writer. The directory is not closed.
+     *
+     * @throws UncheckedIOException When the documents could not be written, in which case the documents added
+     *                              since the loader was built are discarded
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            workers.shutdown();
+            try {
+                while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.debug("Waiting for bulk loading to complete, documents: {}", documentCount.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.shutdownNow();
+            }
+
+            try {
+                IOException failure = writeFailure.get();
+                if (failure != null) {
+                    throw failure;
+                }
+                writer.commit();
+                if (forceMergeSegments > 0) {
+                    writer.forceMerge(forceMergeSegments);
+                    writer.commit();
+                }
+                writer.close();
+            } catch (IOException e) {
+                rollback();
+                throw new UncheckedIOException("Could not complete bulk loading", e);
+            }
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discard the uncommitted documents, and release the index write lock.
+     */
+    private void rollback() {
+        try {
+            if (writer.isOpen()) {
+                writer.rollback();
+            }
+        } catch (IOException e) {
+            log.warn("Could not roll back the index writer", e);
+        }
+    }
+
+    private void index(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        if (writeFailure.get() != null) {
+            return;
+        }
+        List<Document> documents = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            // Create Lucene documents list allowing other documents to be created even if any fail
+            try {
+                documents.add(documentMapper.toDocument(ids.get(i), embeddings.get(i), embedded.get(i)));
+            } catch (Exception e) {
+                failedDocumentCount.incrementAndGet();
+                log.error("Could not create Lucene document", e);
+            }
+        }
+        try {
+            writer.addDocuments(documents);
+            documentCount.addAndGet(documents.size());
+        } catch (IOException e) {
+            writeFailure.compareAndSet(null, e);
+            log.error("Could not index documents", e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Bulk loader is closed");
+        }
+    }
+
+    /**
+     * Instantiate a builder for `LuceneBulkLoader`.
+     *
+     * @return Builder for `LuceneBulkLoader`
+     */
+    public static LuceneBulkLoaderBuilder builder() {
+        return new LuceneBulkLoaderBuilder();
+    }
+
+    /**
+     * Builder for `LuceneBulkLoader`.
+     */
+    public static class LuceneBulkLoaderBuilder {
+
+        private Directory directory;
+        private LuceneVectorIndexOptions vectorIndexOptions;
+        private int threads;
+        private int batchSize;
+        private double ramBufferSizeMb;
+        private double segmentsPerTier;
+        private int forceMergeSegments;
+        private boolean metadataDocValues;
+
+        private LuceneBulkLoaderBuilder() {
+            // Set defaults
+            threads = Runtime.getRuntime().availableProcessors();
+            batchSize = 1000;
+            ramBufferSizeMb = defaultRamBufferSizeMb();
+            segmentsPerTier = 30;
+            forceMergeSegments = 0;
+        }
+
+        /**
+         * Sets the number of content items converted and added to the index writer at once. Defaults to 1000.
+         *
+         * @param batchSize Batch size
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the Lucene directory to load content into. Required.
+         *
+         * @param directory Lucene directory
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder directory(Directory directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the number of segments to force-merge the index down to when the loader is closed, which makes
+         * searches faster. Defaults to 0, which does not force-merge.
+         *
+         * @param forceMergeSegments Maximum number of segments
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder forceMergeSegments(int forceMergeSegments) {
+            this.forceMergeSegments = forceMergeSegments;
+            return this;
+        }
+
+        /**
+         * Sets whether string metadata values are also indexed as doc values, so that the retriever can read
+         * projected metadata fields from doc values instead of stored fields. Numeric metadata values always have
+         * doc values. Defaults to false. All the documents of an index must be written with the same setting.
+         *
+         * @param metadataDocValues Whether to index string metadata values as doc values
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder metadataDocValues(boolean metadataDocValues) {
+            this.metadataDocValues = metadataDocValues;
+            return this;
+        }
+
+        /**
+         * Sets the size of the index writer RAM buffer, shared by all the worker threads. Larger buffers flush
+         * fewer, larger segments. Defaults to a quarter of the maximum heap size, between 16 MB and 1024 MB, and
+         * must be less than 2048 MB.
+         *
+         * @param ramBufferSizeMb RAM buffer size, in MB
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder ramBufferSizeMb(double ramBufferSizeMb) {
+            this.ramBufferSizeMb = ramBufferSizeMb;
+            return this;
+        }
+
+        /**
+         * Sets the number of segments allowed per tier by the merge policy. Larger values merge less while
+         * loading, and leave more segments. Defaults to 30.
+         *
+         * @param segmentsPerTier Segments per tier
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder segmentsPerTier(double segmentsPerTier) {
+            this.segmentsPerTier = segmentsPerTier;
+            return this;
+        }
+
+        /**
+         * Sets the number of worker threads. Defaults to the number of available processors.
+         *
+         * @param threads Number of worker threads
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the options of the HNSW index of embedding vectors. If null, the default options are used. They
+         * should be the same options as the store or index that later writes to the directory.
+         *
+         * @param vectorIndexOptions Vector index options
+         * @return Builder
+         */
+        public LuceneBulkLoaderBuilder vectorIndexOptions(LuceneVectorIndexOptions vectorIndexOptions) {
+            this.vectorIndexOptions = vectorIndexOptions;
+            return this;
+        }
+
+        private static double defaultRamBufferSizeMb() {
+            long maxMemoryMb = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+            return Math.max(IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB, Math.min(1024, maxMemoryMb / 4));
+        }
+
+        /**
+         * Build an instance of `LuceneBulkLoader` using internal builder field values, opening the index writer.
+         *
+         * @return New instance of `LuceneBulkLoader`
+         */
+        public LuceneBulkLoader build() {
+            try {
+                return new LuceneBulkLoader(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open the index", e);
+            }
+        }
+    }
+}
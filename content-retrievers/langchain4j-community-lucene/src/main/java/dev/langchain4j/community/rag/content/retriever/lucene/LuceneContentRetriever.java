@@ -3,9 +3,13 @@ package dev.langchain4j.community.rag.content.retriever.lucene;
 import static dev.langchain4j.community.rag.content.retriever.lucene.DirectoryFactory.tempDirectory;
 import static dev.langchain4j.community.rag.content.retriever.lucene.LuceneDocumentFields.CONTENT_FIELD_NAME;
 import static dev.langchain4j.community.rag.content.retriever.lucene.LuceneDocumentFields.EMBEDDING_FIELD_NAME;
+import static dev.langchain4j.community.rag.content.retriever.lucene.LuceneDocumentFields.ID_FIELD_NAME;
 import static dev.langchain4j.community.rag.content.retriever.lucene.LuceneDocumentFields.TOKEN_COUNT_FIELD_NAME;
 import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
@@ -16,18 +20,31 @@ import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.StoredValue;
 import org.apache.lucene.document.StoredValue.Type;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.VectorSimilarityFunction;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause.Occur;
@@ -38,7 +55,6 @@ import org.apache.lucene.search.KnnFloatVectorQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
-import org.apache.lucene.search.TopFieldDocs;
 import org.apache.lucene.store.Directory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +67,7 @@ public final class LuceneContentRetriever implements ContentRetriever {
     private static final Logger log = LoggerFactory.getLogger(LuceneContentRetriever.class);
 
     private final Directory directory;
+    private final LuceneIndex luceneIndex;
     private final EmbeddingModel embeddingModel;
     private final boolean onlyMatches;
     private final int maxResults;
@@ -59,12 +76,26 @@ public final class LuceneContentRetriever implements ContentRetriever {
     private final String contentFieldName;
     private final String tokenCountFieldName;
     private final String embeddingFieldName;
+    private final org.apache.lucene.search.Query filterQuery;
+    private final LuceneHybridFusion hybridFusion;
+    private final int fullTextCandidates;
+    private final int vectorCandidates;
+    private final int rankConstant;
+    private final double vectorWeight;
+    private final Executor executor;
+    private final boolean maximalMarginalRelevance;
+    private final double mmrLambda;
+    private final int mmrCandidates;
+    private final boolean returnEmbeddings;
+    private final LuceneFieldProjection fieldProjection;
 
     /**
      * Initialize all fields, and do validation
      */
     private LuceneContentRetriever(LuceneContentRetrieverBuilder builder) {
-        this.directory = getOrDefault(builder.directory, tempDirectory());
+        this.luceneIndex = builder.luceneIndex;
+        this.directory =
+                luceneIndex != null ? luceneIndex.directory() : getOrDefault(builder.directory, tempDirectory());
         this.embeddingModel = builder.embeddingModel;
         this.onlyMatches = builder.onlyMatches;
         this.maxResults = Math.max(0, builder.maxResults);
@@ -76,6 +107,21 @@ public final class LuceneContentRetriever implements ContentRetriever {
                 getOrDefault(builder.tokenCountFieldName, TOKEN_COUNT_FIELD_NAME.fieldName()), "tokenCountFieldName");
         this.embeddingFieldName = ensureNotBlank(
                 getOrDefault(builder.embeddingFieldName, EMBEDDING_FIELD_NAME.fieldName()), "embeddingFieldName");
+        this.filterQuery = builder.filter == null ? null : new LuceneMetadataFilterMapper().map(builder.filter);
+        this.hybridFusion = ensureNotNull(builder.hybridFusion, "hybridFusion");
+        this.fullTextCandidates = Math.max(maxResults, builder.fullTextCandidates);
+        this.vectorCandidates = Math.max(maxResults, builder.vectorCandidates);
+        this.rankConstant = Math.max(0, builder.rankConstant);
+        this.vectorWeight = ensureBetween(builder.vectorWeight, 0, 1, "vectorWeight");
+        this.executor = builder.executor;
+        this.maximalMarginalRelevance = builder.maximalMarginalRelevance;
+        this.mmrLambda = ensureBetween(builder.mmrLambda, 0, 1, "mmrLambda");
+        this.mmrCandidates = Math.max(maxResults, builder.mmrCandidates);
+        this.returnEmbeddings = builder.returnEmbeddings;
+        this.fieldProjection = builder.metadataFields == null
+                ? null
+                : new LuceneFieldProjection(
+                        ID_FIELD_NAME.fieldName(), contentFieldName, tokenCountFieldName, builder.metadataFields);
     }
 
     /**
@@ -83,60 +129,272 @@ public final class LuceneContentRetriever implements ContentRetriever {
      */
     @Override
     public List<Content> retrieve(Query query) {
+        return toContents(retrieveMatches(query));
+    }
+
+    /**
+     * Retrieve matches for a query, with their ids, and with their embedding vectors if enabled.
+     *
+     * @param query Query, can be null
+     * @return Matches, best first
+     */
+    List<EmbeddingMatch<TextSegment>> retrieveMatches(Query query) {
         String queryText = Optional.ofNullable(query).map(Query::text).orElse(null);
 
-        int docCount = 0;
-        int tokenCount = 0;
+        try {
+            return withSearcher(searcher -> search(searcher, queryText, embedQuery(queryText)));
+        } catch (Throwable e) {
+            // Catch Throwable, since Lucene can throw AssertionError
+            log.error("Could not query {}", query, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Retrieve content for several queries at once. All the query texts are embedded with a single call to the
+     * embedding model, and all the queries search the same view of the index. If an executor is set, the
+     * searches run concurrently on it.
+     *
+     * @param queries Queries
+     * @return Content for each query, in the order of the queries. Content is empty for a query that failed.
+     */
+    public List<List<Content>> retrieveAll(List<Query> queries) {
+        if (queries == null || queries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> queryTexts = queries.stream()
+                .map(query -> Optional.ofNullable(query).map(Query::text).orElse(null))
+                .toList();
+
+        try {
+            List<Embedding> embeddings = embedQueries(queryTexts);
+            return withSearcher(searcher -> {
+                List<CompletableFuture<List<Content>>> futures = new ArrayList<>(queries.size());
+                for (int i = 0; i < queries.size(); i++) {
+                    Query query = queries.get(i);
+                    String queryText = queryTexts.get(i);
+                    Embedding embedding = embeddings.get(i);
+                    Supplier<List<Content>> task = () -> {
+                        try {
+                            return toContents(search(searcher, queryText, embedding));
+                        } catch (Throwable e) {
+                            // Catch Throwable, since Lucene can throw AssertionError
+                            log.error("Could not query {}", query, e);
+                            return Collections.emptyList();
+                        }
+                    };
+                    futures.add(
+                            executor == null
+                                    ? CompletableFuture.completedFuture(task.get())
+                                    : CompletableFuture.supplyAsync(task, executor));
+                }
+                // Wait for all the searches before the searcher is released
+                return futures.stream().map(CompletableFuture::join).toList();
+            });
+        } catch (Throwable e) {
+            log.error("Could not query {}", queries, e);
+            return Collections.nCopies(queries.size(), Collections.emptyList());
+        }
+    }
+
+    /**
+     * Run an action with a searcher on the index, and release the searcher.
+     *
+     * @param <T>    Type of the result
+     * @param action Action using the searcher
+     * @return Result of the action
+     * @throws IOException When the index cannot be read
+     */
+    private <T> T withSearcher(SearcherAction<T> action) throws IOException {
+        if (luceneIndex != null) {
+            IndexSearcher searcher = luceneIndex.acquireSearcher();
+            try {
+                return action.apply(searcher);
+            } finally {
+                luceneIndex.releaseSearcher(searcher);
+            }
+        }
         try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            return action.apply(new IndexSearcher(reader, executor));
+        }
+    }
+
+    /**
+     * Run the query with a searcher, optionally re-rank the hits for diversity, and convert the hits to matches.
+     *
+     * @param searcher       Lucene index searcher
+     * @param queryText      User prompt, can be null
+     * @param queryEmbedding User prompt embedding vector, or null if not available
+     * @return Matches, best first
+     * @throws IOException When the index cannot be read
+     */
+    private List<EmbeddingMatch<TextSegment>> search(
+            IndexSearcher searcher, String queryText, Embedding queryEmbedding) throws IOException {
+        IndexReader reader = searcher.getIndexReader();
+        FieldInfo embeddingFieldInfo = LuceneVectors.fieldInfo(reader, embeddingFieldName);
+        Embedding embedding = matchSimilarity(embeddingFieldInfo, queryEmbedding);
+        // Maximal marginal relevance needs the query vector, and vectors in the index to compare it with
+        boolean rerank = maximalMarginalRelevance && embedding != null && embeddingFieldInfo != null;
+
+        ScoreDoc[] scoreDocs;
+        if (hybridFusion == LuceneHybridFusion.SCORE_SUM) {
+            int candidates = rerank ? mmrCandidates : maxResults;
+            org.apache.lucene.search.Query luceneQuery = buildQuery(queryText, embedding, candidates);
+            scoreDocs = searcher.search(luceneQuery, candidates, Sort.RELEVANCE, true).scoreDocs;
+        } else {
+            scoreDocs = fusedSearch(searcher, queryText, embedding);
+        }
 
-            Embedding embedding = embedQuery(queryText);
-            org.apache.lucene.search.Query luceneQuery = buildQuery(queryText, embedding);
+        Map<Integer, float[]> vectors = null;
+        if (rerank) {
+            if (scoreDocs.length > mmrCandidates) {
+                scoreDocs = Arrays.copyOf(scoreDocs, mmrCandidates);
+            }
+            vectors = LuceneVectors.read(
+                    reader, embeddingFieldName, Arrays.stream(scoreDocs).map(scoreDoc -> scoreDoc.doc).toList());
+            VectorSimilarityFunction similarity = embeddingFieldInfo.getVectorSimilarityFunction();
+            scoreDocs = LuceneRankFusion.maximalMarginalRelevance(
+                    scoreDocs, vectors, embedding.vector(), similarity, mmrLambda);
+        }
+        return toMatches(reader, scoreDocs, vectors);
+    }
 
-            IndexSearcher searcher = new IndexSearcher(reader);
-            TopFieldDocs topDocs = searcher.search(luceneQuery, maxResults, Sort.RELEVANCE, true);
-            List<Content> hits = new ArrayList<>();
-            StoredFields storedFields = reader.storedFields();
-            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-                if (scoreDoc.score < minScore) {
-                    continue;
+    /**
+     * Run the full-text and embedding vector searches separately, each to its own candidate depth, and fuse the
+     * ranked hits.
+     *
+     * @param searcher  Lucene index searcher
+     * @param queryText User prompt, can be null
+     * @param embedding User prompt embedding vector, or null if not available
+     * @return Fused hits, best first
+     * @throws IOException When the index cannot be read
+     */
+    private ScoreDoc[] fusedSearch(IndexSearcher searcher, String queryText, Embedding embedding)
+            throws IOException {
+        ScoreDoc[] fullTextDocs = new ScoreDoc[0];
+        org.apache.lucene.search.Query fullTextQuery = fullTextQuery(queryText);
+        if (fullTextQuery != null) {
+            fullTextDocs = searcher.search(withFilter(fullTextQuery), fullTextCandidates).scoreDocs;
+        }
+        ScoreDoc[] vectorDocs = new ScoreDoc[0];
+        org.apache.lucene.search.Query vectorQuery = vectorQuery(embedding, vectorCandidates);
+        if (vectorQuery != null) {
+            vectorDocs = searcher.search(vectorQuery, vectorCandidates).scoreDocs;
+        }
+
+        ScoreDoc[] fused;
+        if (hybridFusion == LuceneHybridFusion.RECIPROCAL_RANK) {
+            fused = LuceneRankFusion.reciprocalRank(rankConstant, fullTextDocs, vectorDocs);
+        } else {
+            fused = LuceneRankFusion.weightedMinMax(fullTextDocs, 1 - vectorWeight, vectorDocs, vectorWeight);
+        }
+
+        if (!onlyMatches && fused.length < maxResults) {
+            // Pad with other documents, which did not match
+            Set<Integer> matched = new HashSet<>();
+            List<ScoreDoc> padded = new ArrayList<>(Arrays.asList(fused));
+            for (ScoreDoc scoreDoc : fused) {
+                matched.add(scoreDoc.doc);
+            }
+            for (ScoreDoc scoreDoc : searcher.search(withFilter(new MatchAllDocsQuery()), maxResults).scoreDocs) {
+                if (padded.size() < maxResults && matched.add(scoreDoc.doc)) {
+                    padded.add(new ScoreDoc(scoreDoc.doc, 0));
                 }
-                // Retrieve document contents
-                Document document = storedFields.document(scoreDoc.doc);
-                String content = document.get(contentFieldName);
-                if (content == null || content.isBlank()) {
+            }
+            fused = padded.toArray(new ScoreDoc[0]);
+        }
+        return fused;
+    }
+
+    /**
+     * Convert hits to matches, within the limits of number of results, score and tokens.
+     *
+     * @param reader    Index reader that was searched
+     * @param scoreDocs Hits, best first
+     * @param vectors   Embedding vectors already read for the hits, by document id, can be null
+     * @return Matches, best first
+     * @throws IOException When the index cannot be read
+     */
+    private List<EmbeddingMatch<TextSegment>> toMatches(
+            IndexReader reader, ScoreDoc[] scoreDocs, Map<Integer, float[]> vectors) throws IOException {
+        StoredFields storedFields = reader.storedFields();
+        int docCount = 0;
+        int tokenCount = 0;
+
+        List<ScoreDoc> hitDocs = new ArrayList<>();
+        List<TextSegment> hitSegments = new ArrayList<>();
+        for (ScoreDoc scoreDoc : scoreDocs) {
+            if (scoreDoc.score < minScore) {
+                continue;
+            }
+            // Retrieve document contents
+            Document document = fieldProjection == null
+                    ? storedFields.document(scoreDoc.doc)
+                    : fieldProjection.load(reader, storedFields, scoreDoc.doc);
+            String content = document.get(contentFieldName);
+            if (content == null || content.isBlank()) {
+                continue;
+            }
+
+            // Check if number of documents is exceeded
+            docCount = docCount + 1;
+            if (docCount > maxResults) {
+                break;
+            }
+
+            // Check token count
+            IndexableField tokenCountField = document.getField(tokenCountFieldName);
+            if (tokenCountField != null) {
+                int docTokens = tokenCountField.numericValue().intValue();
+                if (tokenCount + docTokens > maxTokens) {
                     continue;
+                    // There may be smaller documents to come after this that we can accommodate
                 }
+                tokenCount = tokenCount + docTokens;
+            }
 
-                // Check if number of documents is exceeded
-                docCount = docCount + 1;
-                if (docCount > maxResults) {
-                    break;
-                }
+            // Add all other document fields to metadata
+            Metadata metadata = createTextSegmentMetadata(document);
 
-                // Check token count
-                IndexableField tokenCountField = document.getField(tokenCountFieldName);
-                if (tokenCountField != null) {
-                    int docTokens = tokenCountField.numericValue().intValue();
-                    if (tokenCount + docTokens > maxTokens) {
-                        continue;
-                        // There may be smaller documents to come after this that we can accommodate
-                    }
-                    tokenCount = tokenCount + docTokens;
-                }
+            // Finally, add text segment to the list
+            hitDocs.add(scoreDoc);
+            hitSegments.add(TextSegment.from(content, metadata));
+        }
 
-                // Add all other document fields to metadata
-                Metadata metadata = createTextSegmentMetadata(document);
+        if (returnEmbeddings && vectors == null) {
+            // Read only the vectors of the returned hits
+            vectors = LuceneVectors.read(
+                    reader, embeddingFieldName, hitDocs.stream().map(scoreDoc -> scoreDoc.doc).toList());
+        }
 
-                // Finally, add text segment to the list
-                TextSegment textSegment = TextSegment.from(content, metadata);
-                hits.add(Content.from(textSegment, withScore(scoreDoc)));
+        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>(hitDocs.size());
+        for (int i = 0; i < hitDocs.size(); i++) {
+            ScoreDoc scoreDoc = hitDocs.get(i);
+            TextSegment textSegment = hitSegments.get(i);
+            String id = textSegment.metadata().getString(ID_FIELD_NAME.fieldName());
+            if (id == null) {
+                log.debug("Generating new random id");
+                id = randomUUID();
             }
-            return hits;
-        } catch (Throwable e) {
-            // Catch Throwable, since Lucene can throw AssertionError
-            log.error("Could not query {}", query, e);
-            return Collections.emptyList();
+            Embedding embedding = null;
+            if (returnEmbeddings && vectors.containsKey(scoreDoc.doc)) {
+                embedding = Embedding.from(vectors.get(scoreDoc.doc));
+            }
+            matches.add(new EmbeddingMatch<>((double) scoreDoc.score, id, embedding, textSegment));
         }
+        return matches;
+    }
+
+    /**
+     * Convert matches to content, with their score.
+     *
+     * @param matches Matches, best first
+     * @return Content hits
+     */
+    private List<Content> toContents(List<EmbeddingMatch<TextSegment>> matches) {
+        return matches.stream()
+                .map(match -> Content.from(match.embedded(), withScore(match)))
+                .toList();
     }
 
     /**
@@ -144,27 +402,20 @@ public final class LuceneContentRetriever implements ContentRetriever {
      *
      * @param query     User prompt
      * @param embedding User prompt embedding vector, or null if not available
+     * @param k         Number of nearest neighbours to find
      * @return Lucene query
      * @throws ParseException When the query cannot be parsed into terms
      */
-    private org.apache.lucene.search.Query buildQuery(String query, Embedding embedding) {
+    private org.apache.lucene.search.Query buildQuery(String query, Embedding embedding, int k) {
         Builder builder = new BooleanQuery.Builder();
 
-        if (query != null && !query.isBlank()) {
-            try {
-                QueryParser parser = new QueryParser(contentFieldName, new StandardAnalyzer());
-                org.apache.lucene.search.Query fullTextQuery = parser.parse(query);
-                builder.add(fullTextQuery, Occur.SHOULD);
-            } catch (ParseException e) {
-                log.warn("Could not create query {}", query, e);
-            }
-        } else {
-            log.debug("Query text not provided");
+        org.apache.lucene.search.Query fullTextQuery = fullTextQuery(query);
+        if (fullTextQuery != null) {
+            builder.add(fullTextQuery, Occur.SHOULD);
         }
 
-        if (embedding != null && embedding.vector().length > 0) {
-            org.apache.lucene.search.Query vectorQuery =
-                    new KnnFloatVectorQuery(embeddingFieldName, embedding.vector(), maxResults);
+        org.apache.lucene.search.Query vectorQuery = vectorQuery(embedding, k);
+        if (vectorQuery != null) {
             builder.add(vectorQuery, Occur.SHOULD);
         } else {
             log.debug("Query embedding vector not provided, query: {}", query);
@@ -175,9 +426,66 @@ public final class LuceneContentRetriever implements ContentRetriever {
             log.debug("Returning all documents, not just matches, query: {}", query);
         }
 
+        if (filterQuery != null) {
+            builder.add(filterQuery, Occur.FILTER);
+            // Without this, a filter clause makes all the other clauses optional
+            builder.setMinimumNumberShouldMatch(1);
+        }
+
         return builder.build();
     }
 
+    /**
+     * Build a Lucene full-text query.
+     *
+     * @param query User prompt
+     * @return Lucene query, or null if there is no query text, or it cannot be parsed into terms
+     */
+    private org.apache.lucene.search.Query fullTextQuery(String query) {
+        if (query == null || query.isBlank()) {
+            log.debug("Query text not provided");
+            return null;
+        }
+        try {
+            QueryParser parser = new QueryParser(contentFieldName, new StandardAnalyzer());
+            return parser.parse(query);
+        } catch (ParseException e) {
+            log.warn("Could not create query {}", query, e);
+            return null;
+        }
+    }
+
+    /**
+     * Build a Lucene embedding vector query, restricted to the documents matching the filter.
+     *
+     * @param embedding User prompt embedding vector, or null if not available
+     * @param k         Number of nearest neighbours to find
+     * @return Lucene query, or null if there is no embedding vector
+     */
+    private org.apache.lucene.search.Query vectorQuery(Embedding embedding, int k) {
+        if (embedding == null || embedding.vector().length == 0) {
+            return null;
+        }
+        // The filter is applied while searching the HNSW graph, so that k filtered neighbours are found
+        return new KnnFloatVectorQuery(embeddingFieldName, embedding.vector(), k, filterQuery);
+    }
+
+    /**
+     * Restrict a query to the documents matching the filter, if any.
+     *
+     * @param query Lucene query
+     * @return Filtered Lucene query
+     */
+    private org.apache.lucene.search.Query withFilter(org.apache.lucene.search.Query query) {
+        if (filterQuery == null) {
+            return query;
+        }
+        return new BooleanQuery.Builder()
+                .add(query, Occur.MUST)
+                .add(filterQuery, Occur.FILTER)
+                .build();
+    }
+
     /**
      * Map Lucene document fields as metadata, preserving types as much as possible.
      *
@@ -219,14 +527,74 @@ public final class LuceneContentRetriever implements ContentRetriever {
         return embedding;
     }
 
+    /**
+     * Scale the query embedding vector to unit length if the index compares vectors with the dot product, as
+     * indexed vectors are then scaled to unit length too.
+     *
+     * @param fieldInfo Embedding vector field info, or null if no vectors are indexed
+     * @param embedding User prompt embedding vector, or null if not available
+     * @return Embedding vector to search the index with
+     */
+    private Embedding matchSimilarity(FieldInfo fieldInfo, Embedding embedding) {
+        if (embedding != null
+                && fieldInfo != null
+                && fieldInfo.getVectorSimilarityFunction() == VectorSimilarityFunction.DOT_PRODUCT) {
+            return Embedding.from(LuceneDocumentMapper.normalized(embedding.vector()));
+        }
+        return embedding;
+    }
+
+    /**
+     * Embed query texts, with a single call to the embedding model for all the texts that are not blank.
+     *
+     * @param queryTexts User prompts, can contain null values
+     * @return Embedding vectors, in the order of the prompts, with null values where not available
+     */
+    private List<Embedding> embedQueries(List<String> queryTexts) {
+        List<Embedding> embeddings = new ArrayList<>(Collections.nCopies(queryTexts.size(), null));
+        if (embeddingModel == null) {
+            return embeddings;
+        }
+        List<TextSegment> textSegments = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < queryTexts.size(); i++) {
+            String queryText = queryTexts.get(i);
+            if (queryText == null || queryText.isBlank()) {
+                embeddings.set(i, embedQuery(queryText));
+            } else {
+                textSegments.add(TextSegment.from(queryText));
+                positions.add(i);
+            }
+        }
+        if (!textSegments.isEmpty()) {
+            Response<List<Embedding>> embeddingsResponse = embeddingModel.embedAll(textSegments);
+            if (embeddingsResponse != null && embeddingsResponse.content() != null) {
+                List<Embedding> content = embeddingsResponse.content();
+                for (int i = 0; i < positions.size() && i < content.size(); i++) {
+                    embeddings.set(positions.get(i), content.get(i));
+                }
+            }
+        }
+        return embeddings;
+    }
+
     /**
      * Create content metadata with hit score.
      *
-     * @param scoreDoc Lucene score doc
+     * @param match Match
      * @return Metadata map with score
      */
-    private Map<ContentMetadata, Object> withScore(ScoreDoc scoreDoc) {
-        return Map.of(ContentMetadata.SCORE, (double) scoreDoc.score);
+    private Map<ContentMetadata, Object> withScore(EmbeddingMatch<TextSegment> match) {
+        return Map.of(ContentMetadata.SCORE, match.score());
+    }
+
+    /**
+     * Action using an index searcher.
+     */
+    @FunctionalInterface
+    private interface SearcherAction<T> {
+
+        T apply(IndexSearcher searcher) throws IOException;
     }
 
     /**
@@ -244,6 +612,7 @@ public final class LuceneContentRetriever implements ContentRetriever {
     public static class LuceneContentRetrieverBuilder {
 
         private Directory directory;
+        private LuceneIndex luceneIndex;
         private EmbeddingModel embeddingModel;
         private boolean onlyMatches;
         private int maxResults;
@@ -252,6 +621,18 @@ public final class LuceneContentRetriever implements ContentRetriever {
         private String contentFieldName;
         private String tokenCountFieldName;
         private String embeddingFieldName;
+        private Filter filter;
+        private LuceneHybridFusion hybridFusion;
+        private int fullTextCandidates;
+        private int vectorCandidates;
+        private int rankConstant;
+        private double vectorWeight;
+        private Executor executor;
+        private boolean maximalMarginalRelevance;
+        private double mmrLambda;
+        private int mmrCandidates;
+        private boolean returnEmbeddings;
+        private Collection<String> metadataFields;
 
         private LuceneContentRetrieverBuilder() {
             // Set defaults
@@ -262,6 +643,13 @@ public final class LuceneContentRetriever implements ContentRetriever {
             contentFieldName = CONTENT_FIELD_NAME.fieldName();
             tokenCountFieldName = LuceneDocumentFields.TOKEN_COUNT_FIELD_NAME.fieldName();
             embeddingFieldName = LuceneDocumentFields.EMBEDDING_FIELD_NAME.fieldName();
+            hybridFusion = LuceneHybridFusion.SCORE_SUM;
+            fullTextCandidates = 50;
+            vectorCandidates = 50;
+            rankConstant = 60;
+            vectorWeight = 0.5;
+            mmrLambda = 0.5;
+            mmrCandidates = 50;
         }
 
         /**
@@ -309,6 +697,67 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets an executor, to search index segments in parallel, and to run the searches of `retrieveAll`
+         * concurrently. If null, searches run on the calling thread. With a shared Lucene index, segments are
+         * searched with the executor of the index instead.
+         *
+         * @param executor Executor
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets a metadata filter. Only documents with matching metadata are returned, for both full-text and
+         * embedding vector search.
+         *
+         * @param filter Metadata filter, can be null
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder filter(Filter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Sets how many full-text hits are fused, with the `RECIPROCAL_RANK` and `WEIGHTED_MIN_MAX` hybrid
+         * fusions. Defaults to 50, and is never less than the maximum number of results.
+         *
+         * @param fullTextCandidates Number of full-text hits
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder fullTextCandidates(int fullTextCandidates) {
+            this.fullTextCandidates = fullTextCandidates;
+            return this;
+        }
+
+        /**
+         * Sets how full-text and embedding vector search results are combined. Defaults to `SCORE_SUM`.
+         * With the other fusions, the minimum score applies to the fused score.
+         *
+         * @param hybridFusion Hybrid fusion
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder hybridFusion(LuceneHybridFusion hybridFusion) {
+            this.hybridFusion = hybridFusion;
+            return this;
+        }
+
+        /**
+         * Sets a shared, long-lived Lucene index to search, instead of opening a new reader on the directory for
+         * every query. When set, the directory of the index is used, and the directory setting is ignored.
+         *
+         * @param luceneIndex Lucene index
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder luceneIndex(LuceneIndex luceneIndex) {
+            this.luceneIndex = luceneIndex;
+            return this;
+        }
+
         /**
          * Provides documents until the number of max results, even if there is no good match.
          *
@@ -319,6 +768,35 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets the metadata fields to load for each hit. The id, content and token count are always loaded, and
+         * other fields are not decoded, which is faster for documents with many metadata fields. String fields
+         * indexed with doc values are read from doc values. If null, all the stored fields are loaded.
+         *
+         * @param metadataFields Names of the metadata fields to load, can be null
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder metadataFields(Collection<String> metadataFields) {
+            this.metadataFields = metadataFields;
+            return this;
+        }
+
+        /**
+         * Re-ranks hits with maximal marginal relevance, to return diverse documents rather than near duplicates.
+         * More candidates are searched, and documents are picked one at a time, each time the document with the
+         * best trade-off between similarity with the query and dissimilarity with the documents already picked,
+         * using the embedding vectors stored in the index. Scores are not changed, so the minimum score still
+         * applies. Re-ranking needs a query embedding, and is skipped without one.
+         *
+         * @param lambda Trade-off between relevance (1) and diversity (0)
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder maximalMarginalRelevance(double lambda) {
+            this.maximalMarginalRelevance = true;
+            this.mmrLambda = lambda;
+            return this;
+        }
+
         /**
          * Returns only a certain number of documents.
          *
@@ -352,6 +830,18 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets how many hits are re-ranked with maximal marginal relevance. Defaults to 50, and is never less than
+         * the maximum number of results.
+         *
+         * @param mmrCandidates Number of hits to re-rank
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder mmrCandidates(int mmrCandidates) {
+            this.mmrCandidates = mmrCandidates;
+            return this;
+        }
+
         /**
          * Provides only documents matched to the query using full text search.
          *
@@ -362,6 +852,30 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets the rank constant k of the `RECIPROCAL_RANK` hybrid fusion, where a hit scores `1 / (k + rank)`.
+         * Defaults to 60. Larger values give more weight to hits ranked lower.
+         *
+         * @param rankConstant Rank constant
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder rankConstant(int rankConstant) {
+            this.rankConstant = rankConstant;
+            return this;
+        }
+
+        /**
+         * Reads the embedding vectors of matches back from the index. Vectors indexed with the dot product
+         * similarity are returned scaled to unit length.
+         *
+         * @param returnEmbeddings Whether to return embedding vectors
+         * @return Builder
+         */
+        LuceneContentRetrieverBuilder returnEmbeddings(boolean returnEmbeddings) {
+            this.returnEmbeddings = returnEmbeddings;
+            return this;
+        }
+
         /**
          * Sets the name of the token count field.
          *
@@ -373,13 +887,37 @@ public final class LuceneContentRetriever implements ContentRetriever {
             return this;
         }
 
+        /**
+         * Sets how many embedding vector hits are fused, with the `RECIPROCAL_RANK` and `WEIGHTED_MIN_MAX` hybrid
+         * fusions. Defaults to 50, and is never less than the maximum number of results.
+         *
+         * @param vectorCandidates Number of embedding vector hits
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder vectorCandidates(int vectorCandidates) {
+            this.vectorCandidates = vectorCandidates;
+            return this;
+        }
+
+        /**
+         * Sets the weight, between 0 and 1, of the embedding vector scores in the `WEIGHTED_MIN_MAX` hybrid fusion.
+         * Full-text scores have the remaining weight. Defaults to 0.5.
+         *
+         * @param vectorWeight Weight of the embedding vector scores
+         * @return Builder
+         */
+        public LuceneContentRetrieverBuilder vectorWeight(double vectorWeight) {
+            this.vectorWeight = vectorWeight;
+            return this;
+        }
+
         /**
          * Build an instance of `LuceneContentRetriever` using internal builder field values.
          *
          * @return New instance of `LuceneContentRetriever`
          */
         public LuceneContentRetriever build() {
-            if (directory == null) {
+            if (directory == null && luceneIndex == null) {
                 directory = tempDirectory();
             }
             return new LuceneContentRetriever(this);
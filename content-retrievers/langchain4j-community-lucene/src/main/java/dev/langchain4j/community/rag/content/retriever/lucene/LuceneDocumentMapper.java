@@ -0,0 +1,168 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.internal.Utils.randomUUID;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import dev.langchain4j.Internal;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleField;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.FloatField;
+import org.apache.lucene.document.IntField;
+import org.apache.lucene.document.KeywordField;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.VectorSimilarityFunction;
+
+/**
+ * Converts LangChain4J content to Lucene documents. Instances are thread-safe.
+ */
+@Internal
+class LuceneDocumentMapper {
+
+    private static final String ID_FIELD_NAME = LuceneDocumentFields.ID_FIELD_NAME.fieldName();
+    private static final String CONTENT_FIELD_NAME = LuceneDocumentFields.CONTENT_FIELD_NAME.fieldName();
+    private static final String TOKEN_COUNT_FIELD_NAME = LuceneDocumentFields.TOKEN_COUNT_FIELD_NAME.fieldName();
+
+    private final LuceneVectorIndexOptions vectorIndexOptions;
+    private final boolean metadataDocValues;
+    private final Encoding encoding;
+
+    /**
+     * Instantiate a mapper writing embedding vectors to the embedding field and for the similarity function of the
+     * vector index options.
+     *
+     * @param vectorIndexOptions Vector index options
+     * @param metadataDocValues  Whether string metadata values are also indexed as doc values
+     */
+    LuceneDocumentMapper(LuceneVectorIndexOptions vectorIndexOptions, boolean metadataDocValues) {
+        this.vectorIndexOptions = vectorIndexOptions;
+        this.metadataDocValues = metadataDocValues;
+        EncodingRegistry registry = Encodings.newDefaultEncodingRegistry();
+        encoding = registry.getEncoding(EncodingType.CL100K_BASE);
+    }
+
+    /**
+     * Convert provided id, embedding and text to a Lucene document.
+     *
+     * @param id        Document id, can be null
+     * @param embedding Embedding, can be null
+     * @param content   Text content, can be null
+     * @return Lucene document
+     */
+    Document toDocument(String id, Embedding embedding, TextSegment content) {
+        String text;
+        if (content == null) {
+            text = "";
+        } else {
+            text = content.text();
+        }
+        int tokens = encoding.countTokens(text);
+
+        Document document = new Document();
+        if (isBlank(id)) {
+            document.add(new StringField(ID_FIELD_NAME, randomUUID(), Store.YES));
+        } else {
+            document.add(new StringField(ID_FIELD_NAME, id, Store.YES));
+        }
+        if (!isBlank(text)) {
+            document.add(new TextField(CONTENT_FIELD_NAME, text, Store.YES));
+        }
+        if (embedding != null) {
+            float[] vector = embedding.vector();
+            if (vector != null && vector.length > 0) {
+                VectorSimilarityFunction similarity = vectorIndexOptions.similarity();
+                if (similarity == VectorSimilarityFunction.DOT_PRODUCT) {
+                    vector = normalized(vector);
+                }
+                document.add(
+                        new KnnFloatVectorField(vectorIndexOptions.embeddingFieldName(), vector, similarity));
+            }
+        }
+        document.add(new IntField(TOKEN_COUNT_FIELD_NAME, tokens, Store.YES));
+
+        if (content != null) {
+            Map<String, Object> metadataMap = content.metadata().toMap();
+            if (metadataMap != null) {
+                for (Entry<String, Object> entry : metadataMap.entrySet()) {
+                    document.add(toField(entry));
+                }
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Convert a LangChain4J metadata entry into a Lucene field, attempting to preserve the value
+     * types. Numeric fields always have doc values, and string fields have doc values if enabled.
+     *
+     * @param entry LangChain4J metadata entry
+     * @return Lucene field
+     */
+    private Field toField(Entry<String, Object> entry) {
+        String fieldName = entry.getKey();
+        var fieldValue = entry.getValue();
+        Field field;
+        if (fieldValue instanceof String string) {
+            field = stringField(fieldName, string);
+        } else if (fieldValue instanceof Integer number) {
+            field = new IntField(fieldName, number, Store.YES);
+        } else if (fieldValue instanceof Long number) {
+            field = new LongField(fieldName, number, Store.YES);
+        } else if (fieldValue instanceof Float number) {
+            field = new FloatField(fieldName, number, Store.YES);
+        } else if (fieldValue instanceof Double number) {
+            field = new DoubleField(fieldName, number, Store.YES);
+        } else {
+            field = stringField(fieldName, String.valueOf(fieldValue));
+        }
+        return field;
+    }
+
+    private Field stringField(String fieldName, String value) {
+        if (metadataDocValues) {
+            return new KeywordField(fieldName, value, Store.YES);
+        }
+        return new StringField(fieldName, value, Store.YES);
+    }
+
+    /**
+     * Scale a vector to unit length, as required by the dot product similarity. The provided vector is not
+     * modified.
+     *
+     * @param vector Vector
+     * @return New vector of unit length, or a copy of the vector if its length is zero
+     */
+    static float[] normalized(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = norm == 0 ? vector[i] : (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+    /**
+     * Check whether a string is null or blank.
+     *
+     * @param text Text to check
+     * @return True if text is is null or blank
+     */
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+}
@@ -4,39 +4,24 @@ import static dev.langchain4j.community.rag.content.retriever.lucene.DirectoryFa
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 
-import com.knuddels.jtokkit.Encodings;
-import com.knuddels.jtokkit.api.Encoding;
-import com.knuddels.jtokkit.api.EncodingRegistry;
-import com.knuddels.jtokkit.api.EncodingType;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.rag.content.Content;
-import dev.langchain4j.rag.content.ContentMetadata;
-import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
 import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.document.DoubleField;
-import org.apache.lucene.document.Field;
-import org.apache.lucene.document.Field.Store;
-import org.apache.lucene.document.FloatField;
-import org.apache.lucene.document.IntField;
-import org.apache.lucene.document.KnnFloatVectorField;
-import org.apache.lucene.document.LongField;
-import org.apache.lucene.document.StringField;
-import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.store.Directory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,22 +34,29 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
     private static final Logger log = LoggerFactory.getLogger(LuceneEmbeddingStore.class);
 
     private static final String ID_FIELD_NAME = LuceneDocumentFields.ID_FIELD_NAME.fieldName();
-    private static final String CONTENT_FIELD_NAME = LuceneDocumentFields.CONTENT_FIELD_NAME.fieldName();
-    private static final String TOKEN_COUNT_FIELD_NAME = LuceneDocumentFields.TOKEN_COUNT_FIELD_NAME.fieldName();
-    private static final String EMBEDDING_FIELD_NAME = LuceneDocumentFields.EMBEDDING_FIELD_NAME.fieldName();
 
     private final Directory directory;
-    private final Encoding encoding;
+    private final LuceneIndex luceneIndex;
+    private final LuceneVectorIndexOptions vectorIndexOptions;
+    private final LuceneDocumentMapper documentMapper;
+    private final boolean returnEmbeddings;
 
     /**
      * Instantiate a new indexer to add content to an index based on a Lucene directory.
      *
-     * @param directory Lucene directory
+     * @param builder Builder with the Lucene directory or shared Lucene index, and vector index options
      */
-    private LuceneEmbeddingStore(Directory directory) {
-        this.directory = getOrDefault(directory, tempDirectory());
-        EncodingRegistry registry = Encodings.newDefaultEncodingRegistry();
-        encoding = registry.getEncoding(EncodingType.CL100K_BASE);
+    private LuceneEmbeddingStore(LuceneEmbeddingStoreBuilder builder) {
+        this.luceneIndex = builder.luceneIndex;
+        if (luceneIndex != null) {
+            this.directory = luceneIndex.directory();
+            this.vectorIndexOptions = luceneIndex.vectorIndexOptions();
+        } else {
+            this.directory = getOrDefault(builder.directory, tempDirectory());
+            this.vectorIndexOptions = getOrDefault(builder.vectorIndexOptions, LuceneVectorIndexOptions::defaults);
+        }
+        this.documentMapper = new LuceneDocumentMapper(vectorIndexOptions, builder.metadataDocValues);
+        this.returnEmbeddings = builder.returnEmbeddings;
     }
 
     /**
@@ -158,20 +150,59 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
         for (int i = 0; i < maxSize; i++) {
             // Create Lucene documents list allowing other documents to be created even if any fail
             try {
-                documents.add(toDocument(ids.get(i), embeddings.get(i), embedded.get(i)));
+                documents.add(documentMapper.toDocument(ids.get(i), embeddings.get(i), embedded.get(i)));
             } catch (Exception e) {
                 log.error("Could not create Lucene document", e);
             }
         }
 
-        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer());
-        try (IndexWriter writer = new IndexWriter(directory, config)) {
-            writer.addDocuments(documents);
+        try {
+            write(writer -> writer.addDocuments(documents));
         } catch (IOException e) {
             log.error("Could not index documents", e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Collection<String> ids) {
+        ensureNotEmpty(ids, "ids");
+        Term[] terms = ids.stream().map(id -> new Term(ID_FIELD_NAME, id)).toArray(Term[]::new);
+        try {
+            write(writer -> writer.deleteDocuments(terms));
+        } catch (IOException e) {
+            log.error("Could not delete documents", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Filter filter) {
+        ensureNotNull(filter, "filter");
+        org.apache.lucene.search.Query query = new LuceneMetadataFilterMapper().map(filter);
+        try {
+            write(writer -> writer.deleteDocuments(query));
+        } catch (IOException e) {
+            log.error("Could not delete documents", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll() {
+        try {
+            write(IndexWriter::deleteAll);
+        } catch (IOException e) {
+            log.error("Could not delete documents", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -181,44 +212,35 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
             return new EmbeddingSearchResult<>(Collections.emptyList());
         }
 
-        ContentRetriever contentRetriever = LuceneContentRetriever.builder()
+        LuceneContentRetriever contentRetriever = LuceneContentRetriever.builder()
                 .directory(directory)
+                .luceneIndex(luceneIndex)
                 .embeddingModel(new KnownQueryEmbeddingModel(request.queryEmbedding()))
+                .embeddingFieldName(vectorIndexOptions.embeddingFieldName())
                 .maxResults(request.maxResults())
                 .minScore(request.minScore())
-                .directory(directory)
+                .filter(request.filter())
+                .returnEmbeddings(returnEmbeddings)
                 .build();
-        log.debug("Ignoring request filter, filter: {}", request.filter());
 
-        List<EmbeddingMatch<TextSegment>> results = new ArrayList<>();
-        List<Content> contents = contentRetriever.retrieve(null);
-        for (Content content : contents) {
-            try {
-                Map<ContentMetadata, Object> metadata = content.metadata();
-                Double score;
-                if (metadata != null && metadata.containsKey(ContentMetadata.SCORE)) {
-                    score = (Double) metadata.get(ContentMetadata.SCORE);
-                } else {
-                    score = Double.NaN;
-                }
-                // Note: Lucene does not store embeddings (KnnFloatVectorField)
-                Embedding embedding = null;
-                TextSegment textSegment = content.textSegment();
-                String id;
-                if (textSegment != null && textSegment.metadata() != null) {
-                    id = textSegment.metadata().getString(LuceneDocumentFields.ID_FIELD_NAME.fieldName());
-                } else {
-                    log.debug("Generating new random id");
-                    id = randomUUID();
-                }
-                EmbeddingMatch<TextSegment> result = new EmbeddingMatch<>(score, id, embedding, textSegment);
-                results.add(result);
-            } catch (Exception e) {
-                log.error("Could not convert content to results", e);
-            }
-        }
+        return new EmbeddingSearchResult<>(contentRetriever.retrieveMatches(null));
+    }
 
-        return new EmbeddingSearchResult<>(results);
+    /**
+     * Apply changes to the index. With a shared Lucene index, changes go to its writer, are searchable after the
+     * next refresh, and durable after the next commit. Otherwise, a new writer is opened, and committed when done.
+     *
+     * @param action Changes to apply
+     * @throws IOException When the index cannot be written
+     */
+    private void write(WriterAction action) throws IOException {
+        if (luceneIndex != null) {
+            action.apply(luceneIndex.writer());
+            return;
+        }
+        try (IndexWriter writer = new IndexWriter(directory, vectorIndexOptions.newIndexWriterConfig())) {
+            action.apply(writer);
+        }
     }
 
     /**
@@ -231,7 +253,7 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @param maxSize  Size to pad the list to
      * @return New list padded with null values
      */
-    private <P> List<P> ensureSize(List<P> provided, int maxSize) {
+    static <P> List<P> ensureSize(List<P> provided, int maxSize) {
         List<P> sizedList;
         if (isNullOrEmpty(provided)) {
             sizedList = new ArrayList<>(Collections.nCopies(maxSize, null));
@@ -245,16 +267,6 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
         return sizedList;
     }
 
-    /**
-     * Check whether a string is null or blank.
-     *
-     * @param text Text to check
-     * @return True if text is is null or blank
-     */
-    private boolean isBlank(String text) {
-        return text == null || text.isBlank();
-    }
-
     /**
      * Find the maximum size of lists, so they can be made the same size later.
      *
@@ -263,7 +275,7 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @param embedded   List of content
      * @return Maximum size of any of the lists
      */
-    private int maxSize(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+    static int maxSize(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
         int maxLen = 0;
         if (!isNullOrEmpty(ids)) {
             int size = ids.size();
@@ -287,75 +299,12 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
     }
 
     /**
-     * Convert provided id, embedding and text to a Lucene document.
-     *
-     * @param id        Document id, can be null
-     * @param embedding Embedding, can be null
-     * @param content   Text content, can be null
-     * @return Lucene document
+     * Changes applied to the index with an index writer.
      */
-    private Document toDocument(String id, Embedding embedding, TextSegment content) {
-        String text;
-        if (content == null) {
-            text = "";
-        } else {
-            text = content.text();
-        }
-        int tokens = encoding.countTokens(text);
-
-        Document document = new Document();
-        if (isBlank(id)) {
-            document.add(new StringField(ID_FIELD_NAME, randomUUID(), Store.YES));
-        } else {
-            document.add(new StringField(ID_FIELD_NAME, id, Store.YES));
-        }
-        if (!isBlank(text)) {
-            document.add(new TextField(CONTENT_FIELD_NAME, text, Store.YES));
-        }
-        if (embedding != null) {
-            float[] vector = embedding.vector();
-            if (vector != null && vector.length > 0) {
-                document.add(new KnnFloatVectorField(EMBEDDING_FIELD_NAME, vector));
-            }
-        }
-        document.add(new IntField(TOKEN_COUNT_FIELD_NAME, tokens, Store.YES));
-
-        if (content != null) {
-            Map<String, Object> metadataMap = content.metadata().toMap();
-            if (metadataMap != null) {
-                for (Entry<String, Object> entry : metadataMap.entrySet()) {
-                    document.add(toField(entry));
-                }
-            }
-        }
-        return document;
-    }
+    @FunctionalInterface
+    private interface WriterAction {
 
-    /**
-     * Convert a LangChain4J metadata entry into a Lucene field, attempting to preserve the value
-     * types.
-     *
-     * @param entry LangChain4J metadata entry
-     * @return Lucene field
-     */
-    private Field toField(Entry<String, Object> entry) {
-        String fieldName = entry.getKey();
-        var fieldValue = entry.getValue();
-        Field field;
-        if (fieldValue instanceof String string) {
-            field = new StringField(fieldName, string, Store.YES);
-        } else if (fieldValue instanceof Integer number) {
-            field = new IntField(fieldName, number, Store.YES);
-        } else if (fieldValue instanceof Long number) {
-            field = new LongField(fieldName, number, Store.YES);
-        } else if (fieldValue instanceof Float number) {
-            field = new FloatField(fieldName, number, Store.YES);
-        } else if (fieldValue instanceof Double number) {
-            field = new DoubleField(fieldName, number, Store.YES);
-        } else {
-            field = new StringField(fieldName, String.valueOf(fieldValue), Store.YES);
-        }
-        return field;
+        void apply(IndexWriter writer) throws IOException;
     }
 
     /**
@@ -373,6 +322,10 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
     public static class LuceneEmbeddingStoreBuilder {
 
         private Directory directory;
+        private LuceneIndex luceneIndex;
+        private LuceneVectorIndexOptions vectorIndexOptions;
+        private boolean metadataDocValues;
+        private boolean returnEmbeddings;
 
         private LuceneEmbeddingStoreBuilder() {
             // Set defaults
@@ -389,13 +342,65 @@ public final class LuceneEmbeddingStore implements EmbeddingStore<TextSegment> {
             return this;
         }
 
+        /**
+         * Sets a shared, long-lived Lucene index, so that adds go to a single open index writer instead of a
+         * new writer committing on every call. When set, the directory of the index is used, and the directory
+         * setting is ignored. The index is not closed by the store.
+         *
+         * @param luceneIndex Lucene index
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder luceneIndex(LuceneIndex luceneIndex) {
+            this.luceneIndex = luceneIndex;
+            return this;
+        }
+
+        /**
+         * Sets whether string metadata values are also indexed as doc values, so that the retriever can read
+         * projected metadata fields from doc values instead of stored fields. Numeric metadata values always have
+         * doc values. Defaults to false. All the documents of an index must be written with the same setting.
+         *
+         * @param metadataDocValues Whether to index string metadata values as doc values
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder metadataDocValues(boolean metadataDocValues) {
+            this.metadataDocValues = metadataDocValues;
+            return this;
+        }
+
+        /**
+         * Sets whether search matches include their embedding vectors, read back from the index. Defaults to
+         * false, which avoids reading the vectors. Vectors indexed with the dot product similarity are returned
+         * scaled to unit length.
+         *
+         * @param returnEmbeddings Whether to return embedding vectors
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder returnEmbeddings(boolean returnEmbeddings) {
+            this.returnEmbeddings = returnEmbeddings;
+            return this;
+        }
+
+        /**
+         * Sets the options of the HNSW index of embedding vectors: graph parameters, quantization and similarity
+         * function. If null, the default options are used. With a shared Lucene index, the options of the index
+         * are used instead.
+         *
+         * @param vectorIndexOptions Vector index options
+         * @return Builder
+         */
+        public LuceneEmbeddingStoreBuilder vectorIndexOptions(LuceneVectorIndexOptions vectorIndexOptions) {
+            this.vectorIndexOptions = vectorIndexOptions;
+            return this;
+        }
+
         /**
          * Build an instance of `LuceneContentRetriever` using internal builder field values.
          *
          * @return New instance of `LuceneContentRetriever`
          */
         public LuceneEmbeddingStore build() {
-            return new LuceneEmbeddingStore(directory);
+            return new LuceneEmbeddingStore(this);
         }
     }
 }
@@ -0,0 +1,113 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import dev.langchain4j.Internal;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DocumentStoredFieldVisitor;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.index.StoredFields;
+
+/**
+ * Loads a projection of the fields of a hit: the id, content and token count, and the requested metadata fields.
+ * <p>
+ * String metadata fields indexed with doc values are read from their doc values. The other fields are read
+ * from stored fields, with a visitor that decodes only the projected fields, and stops as soon as it has them
+ * all. Numeric metadata fields are always read from stored fields, since Lucene numeric doc values do not
+ * record whether a value is an integer or a floating point number.
+ */
+@Internal
+class LuceneFieldProjection {
+
+    private final Set<String> storedFieldNames;
+    private final Set<String> metadataFieldNames;
+
+    /**
+     * Instantiate a projection.
+     *
+     * @param idFieldName         Id field name
+     * @param contentFieldName    Content field name
+     * @param tokenCountFieldName Token count field name
+     * @param metadataFieldNames  Names of the metadata fields to load
+     */
+    LuceneFieldProjection(
+            String idFieldName,
+            String contentFieldName,
+            String tokenCountFieldName,
+            Collection<String> metadataFieldNames) {
+        this.metadataFieldNames = Set.copyOf(metadataFieldNames);
+        this.storedFieldNames = Set.of(idFieldName, contentFieldName, tokenCountFieldName);
+    }
+
+    /**
+     * Load the projected fields of a hit.
+     *
+     * @param reader       Index reader that was searched
+     * @param storedFields Stored fields of the index reader
+     * @param doc          Top-level document id of the hit
+     * @return Document with the projected fields that have a value
+     * @throws IOException When the index cannot be read
+     */
+    Document load(IndexReader reader, StoredFields storedFields, int doc) throws IOException {
+        List<LeafReaderContext> leaves = reader.leaves();
+        LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        LeafReader leafReader = leaf.reader();
+        int leafDoc = doc - leaf.docBase;
+
+        Set<String> fieldsToVisit = new HashSet<>(storedFieldNames);
+        Document docValuesFields = new Document();
+        for (String fieldName : metadataFieldNames) {
+            FieldInfo fieldInfo = leafReader.getFieldInfos().fieldInfo(fieldName);
+            if (fieldInfo == null) {
+                continue;
+            }
+            if (fieldInfo.getDocValuesType() == DocValuesType.SORTED_SET) {
+                SortedSetDocValues values = leafReader.getSortedSetDocValues(fieldName);
+                if (values != null && values.advanceExact(leafDoc)) {
+                    // Metadata values are single-valued
+                    String value = values.lookupOrd(values.nextOrd()).utf8ToString();
+                    docValuesFields.add(new StoredField(fieldName, value));
+                }
+            } else {
+                fieldsToVisit.add(fieldName);
+            }
+        }
+
+        ProjectionVisitor visitor = new ProjectionVisitor(fieldsToVisit);
+        storedFields.document(doc, visitor);
+        Document document = visitor.getDocument();
+        docValuesFields.forEach(document::add);
+        return document;
+    }
+
+    /**
+     * Stored field visitor decoding only the fields to visit, and stopping once all of them were visited.
+     */
+    private static class ProjectionVisitor extends DocumentStoredFieldVisitor {
+
+        private final Set<String> remaining;
+
+        ProjectionVisitor(Set<String> fieldsToVisit) {
+            super(fieldsToVisit);
+            this.remaining = new HashSet<>(fieldsToVisit);
+        }
+
+        @Override
+        public Status needsField(FieldInfo fieldInfo) {
+            if (remaining.isEmpty()) {
+                return Status.STOP;
+            }
+            return remaining.remove(fieldInfo.name) ? Status.YES : Status.NO;
+        }
+    }
+}
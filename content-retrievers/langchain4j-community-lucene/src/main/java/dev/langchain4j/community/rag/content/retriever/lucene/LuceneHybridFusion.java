@@ -0,0 +1,22 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+/**
+ * How `LuceneContentRetriever` combines full-text and embedding vector search results.
+ */
+public enum LuceneHybridFusion {
+    /**
+     * Runs a single query with full-text and vector clauses, and adds up their raw scores. The BM25 and vector
+     * similarity scores are on different scales, so one of them usually dominates the ranking.
+     */
+    SCORE_SUM,
+    /**
+     * Runs the full-text and vector searches separately, and scores each document with the sum of
+     * `1 / (k + rank)` over the result lists it appears in. Only ranks are used, so the score scales do not matter.
+     */
+    RECIPROCAL_RANK,
+    /**
+     * Runs the full-text and vector searches separately, scales the scores of each result list to the range 0 to
+     * 1 with min-max normalization, and adds up the weighted normalized scores.
+     */
+    WEIGHTED_MIN_MAX
+}
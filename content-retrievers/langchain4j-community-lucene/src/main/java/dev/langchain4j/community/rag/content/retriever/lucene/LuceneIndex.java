@@ -0,0 +1,495 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.community.rag.content.retriever.lucene.DirectoryFactory.tempDirectory;
+import static dev.langchain4j.community.rag.content.retriever.lucene.LuceneDocumentFields.CONTENT_FIELD_NAME;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+
+import dev.langchain4j.data.embedding.Embedding;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-lived Lucene index, shared by a `LuceneEmbeddingStore` and any number of `LuceneContentRetriever`s.
+ * <p>
+ * Without a `LuceneIndex`, the store opens and commits a new `IndexWriter` for every add, and the retriever
+ * opens a new `DirectoryReader` for every query. A `LuceneIndex` instead keeps one `IndexWriter` open, and
+ * serves searches from a near-real-time `SearcherManager`. Added documents become searchable at the next
+ * refresh, and durable at the next commit. Both happen periodically in the background, at the configured
+ * intervals, and can also be triggered with `refresh()` and `commit()`.
+ * <p>
+ * After a restart, the first searches are slow while the vector and graph files are paged in. The index can
+ * be warmed up before it is returned by the builder: vector files are preloaded, and warm-up queries are run.
+ * <p>
+ * The index must be closed when it is not needed anymore, which commits pending changes. The directory is
+ * not closed, unless the index created it.
+ */
+public final class LuceneIndex implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneIndex.class);
+
+    /**
+     * Extensions of the files holding vectors, HNSW graphs and quantized vectors. Compound files are left out:
+     * they hold all the files of small segments, postings and stored fields included.
+     */
+    private static final Set<String> VECTOR_FILE_EXTENSIONS = Set.of("vec", "vex", "vem", "vemf", "veq", "vemq");
+
+    private final Directory directory;
+    private final boolean ownsDirectory;
+    private final LuceneVectorIndexOptions vectorIndexOptions;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Duration openDuration;
+    private final Duration warmUpDuration;
+
+    private LuceneIndex(LuceneIndexBuilder builder) throws IOException {
+        long openStart = System.nanoTime();
+        this.ownsDirectory = builder.directory == null;
+        this.directory = ownsDirectory ? tempDirectory() : builder.directory;
+        this.vectorIndexOptions = getOrDefault(builder.vectorIndexOptions, LuceneVectorIndexOptions::defaults);
+        // The preload setting of a directory given by the caller is left as is
+        boolean preloaded = builder.preloadVectors && ownsDirectory && preloadVectors(directory);
+        this.writer = new IndexWriter(directory, vectorIndexOptions.newIndexWriterConfig());
+        this.searcherManager = new SearcherManager(writer, new ExecutorSearcherFactory(builder.searchExecutor));
+        this.openDuration = Duration.ofNanos(System.nanoTime() - openStart);
+
+        long warmUpStart = System.nanoTime();
+        try {
+            if (builder.preloadVectors && !preloaded) {
+                touchVectorFiles();
+            }
+            warmUp(getOrDefault(builder.warmUpEmbeddings, List.of()), getOrDefault(builder.warmUpQueries, List.of()));
+        } catch (IOException e) {
+            searcherManager.close();
+            writer.rollback();
+            throw e;
+        }
+        this.warmUpDuration = Duration.ofNanos(System.nanoTime() - warmUpStart);
+        log.debug("Opened index in {} ms, warmed up in {} ms", openDuration.toMillis(), warmUpDuration.toMillis());
+
+        long refreshMillis = toMillis(builder.refreshInterval);
+        long commitMillis = toMillis(builder.commitInterval);
+        if (refreshMillis > 0 || commitMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lucene-index-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (refreshMillis > 0) {
+                scheduler.scheduleWithFixedDelay(
+                        this::scheduledRefresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+            }
+            if (commitMillis > 0) {
+                scheduler.scheduleWithFixedDelay(
+                        this::scheduledCommit, commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+            }
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Lucene directory of the index.
+     *
+     * @return Lucene directory
+     */
+    public Directory directory() {
+        return directory;
+    }
+
+    /**
+     * Options of the HNSW index of embedding vectors.
+     *
+     * @return Vector index options
+     */
+    public LuceneVectorIndexOptions vectorIndexOptions() {
+        return vectorIndexOptions;
+    }
+
+    /**
+     * Time it took to open the index writer and the first searcher, including preloading memory-mapped vector
+     * files.
+     *
+     * @return Open duration
+     */
+    public Duration openDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Time it took to warm up the index, reading vector files that could not be preloaded, and running the
+     * warm-up queries. Zero if the index was not warmed up.
+     *
+     * @return Warm-up duration
+     */
+    public Duration warmUpDuration() {
+        return warmUpDuration;
+    }
+
+    /**
+     * Makes all the documents added so far searchable, waiting for the refresh to complete.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not refresh the index", e);
+        }
+    }
+
+    /**
+     * Commits all the documents added so far to the directory, so that they survive a restart.
+     */
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not commit the index", e);
+        }
+    }
+
+    /**
+     * Stops the background refreshes and commits, commits pending changes, and closes the writer. Closing an
+     * index more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                // Let a running refresh or commit finish before closing the writer
+                scheduler.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            searcherManager.close();
+            writer.close();
+            if (ownsDirectory) {
+                directory.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the index", e);
+        }
+    }
+
+    /**
+     * Shared index writer. Documents added with it are searchable after the next refresh.
+     *
+     * @return Index writer
+     */
+    IndexWriter writer() {
+        return writer;
+    }
+
+    /**
+     * Acquire a searcher on the latest refreshed view of the index. It must be released after use.
+     *
+     * @return Index searcher
+     * @throws IOException When the searcher cannot be acquired
+     */
+    IndexSearcher acquireSearcher() throws IOException {
+        return searcherManager.acquire();
+    }
+
+    /**
+     * Release a searcher acquired with `acquireSearcher()`.
+     *
+     * @param searcher Index searcher
+     * @throws IOException When the searcher cannot be released
+     */
+    void releaseSearcher(IndexSearcher searcher) throws IOException {
+        searcherManager.release(searcher);
+    }
+
+    /**
+     * Preload the vector files of a memory-mapped directory when they are opened, so that their pages are in
+     * memory before the first search.
+     *
+     * @param directory Lucene directory
+     * @return True if the directory is memory-mapped, and vector files will be preloaded
+     */
+    private static boolean preloadVectors(Directory directory) {
+        if (FilterDirectory.unwrap(directory) instanceof MMapDirectory mmapDirectory) {
+            mmapDirectory.setPreload((fileName, context) -> isVectorFile(fileName));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read the vector files of the index once, so that the operating system caches their pages.
+     *
+     * @throws IOException When the files cannot be read
+     */
+    private void touchVectorFiles() throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        for (String fileName : directory.listAll()) {
+            if (!isVectorFile(fileName)) {
+                continue;
+            }
+            try (IndexInput input = directory.openInput(fileName, IOContext.READONCE)) {
+                long remaining = input.length();
+                while (remaining > 0) {
+                    int length = (int) Math.min(buffer.length, remaining);
+                    input.readBytes(buffer, 0, length);
+                    remaining -= length;
+                }
+            }
+        }
+    }
+
+    private static boolean isVectorFile(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && VECTOR_FILE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Run warm-up queries, so that the parts of the index they visit are loaded before the first search.
+     *
+     * @param embeddings Embedding vectors to search nearest neighbours of
+     * @param queries    Full-text queries
+     * @throws IOException When the index cannot be read
+     */
+    private void warmUp(List<Embedding> embeddings, List<String> queries) throws IOException {
+        if (embeddings.isEmpty() && queries.isEmpty()) {
+            return;
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (Embedding embedding : embeddings) {
+                float[] vector = embedding.vector();
+                if (vectorIndexOptions.similarity() == VectorSimilarityFunction.DOT_PRODUCT) {
+                    vector = LuceneDocumentMapper.normalized(vector);
+                }
+                try {
+                    searcher.search(new KnnFloatVectorQuery(vectorIndexOptions.embeddingFieldName(), vector, 10), 10);
+                } catch (IllegalArgumentException e) {
+                    // For example, the vector does not have the dimension of the indexed vectors
+                    log.warn("Could not run warm-up query", e);
+                }
+            }
+            QueryParser parser = new QueryParser(CONTENT_FIELD_NAME.fieldName(), new StandardAnalyzer());
+            for (String query : queries) {
+                try {
+                    searcher.search(parser.parse(query), 10);
+                } catch (ParseException e) {
+                    log.warn("Could not parse warm-up query {}", query, e);
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private void scheduledRefresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            log.warn("Could not refresh the index", e);
+        }
+    }
+
+    private void scheduledCommit() {
+        try {
+            commit();
+        } catch (Exception e) {
+            log.warn("Could not commit the index", e);
+        }
+    }
+
+    /**
+     * Creates searchers that search index segments in parallel with an executor.
+     */
+    private static class ExecutorSearcherFactory extends SearcherFactory {
+
+        private final Executor executor;
+
+        private ExecutorSearcherFactory(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+            return new IndexSearcher(reader, executor);
+        }
+    }
+
+    private static long toMillis(Duration interval) {
+        return interval == null || interval.isNegative() ? 0 : interval.toMillis();
+    }
+
+    /**
+     * Instantiate a builder for `LuceneIndex`.
+     *
+     * @return Builder for `LuceneIndex`
+     */
+    public static LuceneIndexBuilder builder() {
+        return new LuceneIndexBuilder();
+    }
+
+    /**
+     * Builder for `LuceneIndex`.
+     */
+    public static class LuceneIndexBuilder {
+
+        private Directory directory;
+        private Duration refreshInterval;
+        private Duration commitInterval;
+        private LuceneVectorIndexOptions vectorIndexOptions;
+        private Executor searchExecutor;
+        private boolean preloadVectors;
+        private List<Embedding> warmUpEmbeddings;
+        private List<String> warmUpQueries;
+
+        private LuceneIndexBuilder() {
+            // Set defaults
+            refreshInterval = Duration.ofSeconds(1);
+            commitInterval = Duration.ofSeconds(60);
+        }
+
+        /**
+         * Sets the Lucene directory. If null, a temporary file-based directory is used, and closed with the index.
+         *
+         * @param directory Lucene directory
+         * @return Builder
+         */
+        public LuceneIndexBuilder directory(Directory directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets whether the vector and graph files are loaded in memory when the index is opened, so that the
+         * first searches do not wait for them to be paged in. For the memory-mapped directory created by the index
+         * when none is set, the files are preloaded when mapped. The settings of a directory set with
+         * {@link #directory(Directory)} are not changed, and its files are read once. Defaults to false.
+         *
+         * @param preloadVectors Whether to preload vector files
+         * @return Builder
+         */
+        public LuceneIndexBuilder preloadVectors(boolean preloadVectors) {
+            this.preloadVectors = preloadVectors;
+            return this;
+        }
+
+        /**
+         * Sets how often added documents are made searchable. Defaults to 1 second. If null or zero, documents
+         * are only made searchable by `refresh()`.
+         *
+         * @param refreshInterval Refresh interval
+         * @return Builder
+         */
+        public LuceneIndexBuilder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * Sets how often added documents are committed to the directory. Defaults to 60 seconds. If null or zero,
+         * documents are only committed by `commit()` and `close()`.
+         *
+         * @param commitInterval Commit interval
+         * @return Builder
+         */
+        public LuceneIndexBuilder commitInterval(Duration commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /**
+         * Sets an executor, to search index segments in parallel. If null, segments are searched on the calling
+         * thread. The executor is not shut down when the index is closed.
+         *
+         * @param searchExecutor Executor
+         * @return Builder
+         */
+        public LuceneIndexBuilder searchExecutor(Executor searchExecutor) {
+            this.searchExecutor = searchExecutor;
+            return this;
+        }
+
+        /**
+         * Sets embedding vectors to search the nearest neighbours of before the index is returned, to warm up
+         * the HNSW graph. Typically a sample of recent query embeddings.
+         *
+         * @param warmUpEmbeddings Warm-up embedding vectors, can be null
+         * @return Builder
+         */
+        public LuceneIndexBuilder warmUpEmbeddings(List<Embedding> warmUpEmbeddings) {
+            this.warmUpEmbeddings = warmUpEmbeddings;
+            return this;
+        }
+
+        /**
+         * Sets full-text queries, in Lucene query syntax, to run on the content field before the index is
+         * returned, to warm up the terms and postings.
+         *
+         * @param warmUpQueries Warm-up queries, can be null
+         * @return Builder
+         */
+        public LuceneIndexBuilder warmUpQueries(List<String> warmUpQueries) {
+            this.warmUpQueries = warmUpQueries;
+            return this;
+        }
+
+        /**
+         * Sets the options of the HNSW index of embedding vectors. If null, the default options are used.
+         *
+         * @param vectorIndexOptions Vector index options
+         * @return Builder
+         */
+        public LuceneIndexBuilder vectorIndexOptions(LuceneVectorIndexOptions vectorIndexOptions) {
+            this.vectorIndexOptions = vectorIndexOptions;
+            return this;
+        }
+
+        /**
+         * Build an instance of `LuceneIndex` using internal builder field values, opening the index writer, and
+         * warming up the index if configured.
+         *
+         * @return New instance of `LuceneIndex`
+         */
+        public LuceneIndex build() {
+            try {
+                return new LuceneIndex(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open the index", e);
+            }
+        }
+    }
+}
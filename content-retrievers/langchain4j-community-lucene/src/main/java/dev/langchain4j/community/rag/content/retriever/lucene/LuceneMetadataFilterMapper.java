@@ -0,0 +1,316 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import dev.langchain4j.Internal;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.comparison.ContainsString;
+import dev.langchain4j.store.embedding.filter.comparison.IsEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsGreaterThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsIn;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThan;
+import dev.langchain4j.store.embedding.filter.comparison.IsLessThanOrEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotEqualTo;
+import dev.langchain4j.store.embedding.filter.comparison.IsNotIn;
+import dev.langchain4j.store.embedding.filter.logical.And;
+import dev.langchain4j.store.embedding.filter.logical.Not;
+import dev.langchain4j.store.embedding.filter.logical.Or;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.apache.lucene.document.DoubleField;
+import org.apache.lucene.document.FloatField;
+import org.apache.lucene.document.IntField;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TermRangeQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Maps LangChain4J metadata filters to Lucene queries, over the typed fields written by `LuceneEmbeddingStore`.
+ * <p>
+ * `Integer` and `Long` comparison values query the `IntField` or `LongField` of the key, whichever it is indexed
+ * with, and `Float` and `Double` values query its `FloatField` or `DoubleField`. A comparison value thus matches
+ * metadata values of the other width, as with the in-memory store. Float values are compared by their decimal
+ * representation. Any other value is compared with the string terms of `StringField`s.
+ * <p>
+ * Negations (`IsNotEqualTo`, `IsNotIn` and `Not`) also match documents without the metadata key.
+ */
+@Internal
+class LuceneMetadataFilterMapper {
+
+    /**
+     * Map a metadata filter to a Lucene query.
+     *
+     * @param filter Metadata filter
+     * @return Lucene query matching the documents accepted by the filter
+     */
+    Query map(Filter filter) {
+        if (filter instanceof IsEqualTo eq) {
+            return exactQuery(eq.key(), eq.comparisonValue());
+        } else if (filter instanceof IsNotEqualTo neq) {
+            return negate(exactQuery(neq.key(), neq.comparisonValue()));
+        } else if (filter instanceof IsGreaterThan gt) {
+            return rangeQuery(gt.key(), gt.comparisonValue(), false, null, false);
+        } else if (filter instanceof IsGreaterThanOrEqualTo gte) {
+            return rangeQuery(gte.key(), gte.comparisonValue(), true, null, false);
+        } else if (filter instanceof IsLessThan lt) {
+            return rangeQuery(lt.key(), null, false, lt.comparisonValue(), false);
+        } else if (filter instanceof IsLessThanOrEqualTo lte) {
+            return rangeQuery(lte.key(), null, false, lte.comparisonValue(), true);
+        } else if (filter instanceof IsIn in) {
+            return setQuery(in.key(), in.comparisonValues());
+        } else if (filter instanceof IsNotIn nin) {
+            return negate(setQuery(nin.key(), nin.comparisonValues()));
+        } else if (filter instanceof ContainsString contains) {
+            return containsQuery(contains.key(), contains.comparisonValue());
+        } else if (filter instanceof And and) {
+            return new BooleanQuery.Builder()
+                    .add(map(and.left()), Occur.FILTER)
+                    .add(map(and.right()), Occur.FILTER)
+                    .build();
+        } else if (filter instanceof Or or) {
+            return new BooleanQuery.Builder()
+                    .add(map(or.left()), Occur.SHOULD)
+                    .add(map(or.right()), Occur.SHOULD)
+                    .setMinimumNumberShouldMatch(1)
+                    .build();
+        } else if (filter instanceof Not not) {
+            return negate(map(not.expression()));
+        } else {
+            throw new UnsupportedOperationException(
+                    "Unsupported filter type: " + filter.getClass().getName());
+        }
+    }
+
+    private Query exactQuery(String key, Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            long number = ((Number) value).longValue();
+            return new PointWidthQuery(
+                    key,
+                    number == (int) number ? IntField.newExactQuery(key, (int) number) : new MatchNoDocsQuery(),
+                    LongField.newExactQuery(key, number));
+        } else if (value instanceof Float || value instanceof Double) {
+            double number = toDouble((Number) value);
+            float floatNumber = (float) number;
+            return new PointWidthQuery(
+                    key,
+                    toDouble(floatNumber) == number
+                            ? FloatField.newExactQuery(key, floatNumber)
+                            : new MatchNoDocsQuery(),
+                    DoubleField.newExactQuery(key, number));
+        } else {
+            return new TermQuery(new Term(key, String.valueOf(value)));
+        }
+    }
+
+    /**
+     * Range query with an optional lower and upper bound. Exactly one of the bounds is provided.
+     */
+    private Query rangeQuery(String key, Object lower, boolean includeLower, Object upper, boolean includeUpper) {
+        Object bound = lower != null ? lower : upper;
+        if (bound instanceof Integer || bound instanceof Long) {
+            long min = lower == null ? Long.MIN_VALUE : ((Number) lower).longValue();
+            long max = upper == null ? Long.MAX_VALUE : ((Number) upper).longValue();
+            if (lower != null && !includeLower) {
+                if (min == Long.MAX_VALUE) {
+                    return new MatchNoDocsQuery();
+                }
+                min++;
+            }
+            if (upper != null && !includeUpper) {
+                if (max == Long.MIN_VALUE) {
+                    return new MatchNoDocsQuery();
+                }
+                max--;
+            }
+            Query intQuery = min > Integer.MAX_VALUE || max < Integer.MIN_VALUE
+                    ? new MatchNoDocsQuery()
+                    : IntField.newRangeQuery(
+                            key, (int) Math.max(min, Integer.MIN_VALUE), (int) Math.min(max, Integer.MAX_VALUE));
+            return new PointWidthQuery(key, intQuery, LongField.newRangeQuery(key, min, max));
+        } else if (bound instanceof Float || bound instanceof Double) {
+            double min = lower == null ? Double.NEGATIVE_INFINITY : toDouble((Number) lower);
+            double max = upper == null ? Double.POSITIVE_INFINITY : toDouble((Number) upper);
+            if (lower != null && !includeLower) {
+                min = Math.nextUp(min);
+            }
+            if (upper != null && !includeUpper) {
+                max = Math.nextDown(max);
+            }
+            return new PointWidthQuery(
+                    key,
+                    FloatField.newRangeQuery(key, smallestFloatAtLeast(min), largestFloatAtMost(max)),
+                    DoubleField.newRangeQuery(key, min, max));
+        } else {
+            return TermRangeQuery.newStringRange(
+                    key,
+                    lower == null ? null : String.valueOf(lower),
+                    upper == null ? null : String.valueOf(upper),
+                    includeLower,
+                    includeUpper);
+        }
+    }
+
+    private Query setQuery(String key, Collection<?> values) {
+        // Integral values make a single set query on the field, as do floating point values and strings
+        List<Long> longs = new ArrayList<>();
+        List<Double> doubles = new ArrayList<>();
+        List<BytesRef> terms = new ArrayList<>();
+        for (Object value : values) {
+            if (value instanceof Integer || value instanceof Long) {
+                longs.add(((Number) value).longValue());
+            } else if (value instanceof Float || value instanceof Double) {
+                doubles.add(toDouble((Number) value));
+            } else {
+                terms.add(new BytesRef(String.valueOf(value)));
+            }
+        }
+
+        List<Query> queries = new ArrayList<>();
+        if (!longs.isEmpty()) {
+            int[] ints = longs.stream()
+                    .filter(number -> number == number.intValue())
+                    .mapToInt(Long::intValue)
+                    .toArray();
+            queries.add(new PointWidthQuery(
+                    key,
+                    ints.length > 0 ? IntField.newSetQuery(key, ints) : new MatchNoDocsQuery(),
+                    LongField.newSetQuery(
+                            key, longs.stream().mapToLong(Long::longValue).toArray())));
+        }
+        if (!doubles.isEmpty()) {
+            List<Float> exactFloats = doubles.stream()
+                    .map(Double::floatValue)
+                    .filter(number -> doubles.contains(toDouble(number)))
+                    .toList();
+            float[] floats = new float[exactFloats.size()];
+            for (int i = 0; i < floats.length; i++) {
+                floats[i] = exactFloats.get(i);
+            }
+            queries.add(new PointWidthQuery(
+                    key,
+                    floats.length > 0 ? FloatField.newSetQuery(key, floats) : new MatchNoDocsQuery(),
+                    DoubleField.newSetQuery(
+                            key, doubles.stream().mapToDouble(Double::doubleValue).toArray())));
+        }
+        if (!terms.isEmpty()) {
+            queries.add(new TermInSetQuery(key, terms));
+        }
+
+        if (queries.size() == 1) {
+            return queries.get(0);
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().setMinimumNumberShouldMatch(1);
+        for (Query query : queries) {
+            builder.add(query, Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Float values are compared by their decimal representation, so that {@code 0.1f} equals {@code 0.1d}.
+     */
+    private static double toDouble(Number number) {
+        return number instanceof Float floatNumber
+                ? Double.parseDouble(Float.toString(floatNumber))
+                : number.doubleValue();
+    }
+
+    private static float smallestFloatAtLeast(double number) {
+        float floatNumber = (float) number;
+        return toDouble(floatNumber) < number ? Math.nextUp(floatNumber) : floatNumber;
+    }
+
+    private static float largestFloatAtMost(double number) {
+        float floatNumber = (float) number;
+        return toDouble(floatNumber) > number ? Math.nextDown(floatNumber) : floatNumber;
+    }
+
+    private Query containsQuery(String key, String value) {
+        StringBuilder pattern = new StringBuilder("*");
+        for (char c : value.toCharArray()) {
+            if (c == WildcardQuery.WILDCARD_STRING
+                    || c == WildcardQuery.WILDCARD_CHAR
+                    || c == WildcardQuery.WILDCARD_ESCAPE) {
+                pattern.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        pattern.append('*');
+        return new WildcardQuery(new Term(key, pattern.toString()));
+    }
+
+    private Query negate(Query query) {
+        return new BooleanQuery.Builder()
+                .add(new MatchAllDocsQuery(), Occur.FILTER)
+                .add(query, Occur.MUST_NOT)
+                .build();
+    }
+
+    /**
+     * Integer and float values are indexed with 4-byte points, long and double values with 8-byte points, and a
+     * point query fails on a field of the other width. This query is rewritten to the query matching the width
+     * the field is indexed with, so that a comparison value matches metadata values of the other width.
+     */
+    private static final class PointWidthQuery extends Query {
+
+        private final String field;
+        private final Query narrowQuery;
+        private final Query wideQuery;
+
+        private PointWidthQuery(String field, Query narrowQuery, Query wideQuery) {
+            this.field = field;
+            this.narrowQuery = narrowQuery;
+            this.wideQuery = wideQuery;
+        }
+
+        @Override
+        public Query rewrite(IndexSearcher searcher) {
+            for (LeafReaderContext context : searcher.getIndexReader().leaves()) {
+                FieldInfo fieldInfo = context.reader().getFieldInfos().fieldInfo(field);
+                if (fieldInfo != null && fieldInfo.getPointDimensionCount() > 0) {
+                    return fieldInfo.getPointNumBytes() == Integer.BYTES ? narrowQuery : wideQuery;
+                }
+            }
+            return new MatchNoDocsQuery();
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            if (visitor.acceptField(field)) {
+                visitor.visitLeaf(this);
+            }
+        }
+
+        @Override
+        public String toString(String defaultField) {
+            return narrowQuery.toString(defaultField) + " | " + wideQuery.toString(defaultField);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return sameClassAs(other)
+                    && field.equals(((PointWidthQuery) other).field)
+                    && narrowQuery.equals(((PointWidthQuery) other).narrowQuery)
+                    && wideQuery.equals(((PointWidthQuery) other).wideQuery);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classHash(), field, narrowQuery, wideQuery);
+        }
+    }
+}
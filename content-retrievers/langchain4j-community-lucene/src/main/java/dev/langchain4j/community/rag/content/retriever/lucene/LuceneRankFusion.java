@@ -0,0 +1,144 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import dev.langchain4j.Internal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.ScoreDoc;
+
+/**
+ * Fuses ranked lists of hits, from searches on the same index searcher, into a single ranked list, and re-ranks
+ * hits for diversity.
+ */
+@Internal
+class LuceneRankFusion {
+
+    /**
+     * Reciprocal rank fusion. Each document scores the sum of `1 / (rankConstant + rank)` over the lists it
+     * appears in, with ranks starting at 1.
+     *
+     * @param rankConstant Rank constant, dampening the weight of the top ranks
+     * @param rankings     Ranked lists of hits
+     * @return Fused hits, best first
+     */
+    static ScoreDoc[] reciprocalRank(int rankConstant, ScoreDoc[]... rankings) {
+        Map<Integer, Double> scores = new LinkedHashMap<>();
+        for (ScoreDoc[] ranking : rankings) {
+            for (int i = 0; i < ranking.length; i++) {
+                scores.merge(ranking[i].doc, 1.0 / (rankConstant + i + 1), Double::sum);
+            }
+        }
+        return sorted(scores);
+    }
+
+    /**
+     * Weighted fusion of min-max normalized scores. The scores of each list are scaled to the range 0 to 1, and
+     * each document scores the weighted sum of its normalized scores.
+     *
+     * @param fullText       Full-text hits
+     * @param fullTextWeight Weight of the full-text scores
+     * @param vector         Vector hits
+     * @param vectorWeight   Weight of the vector scores
+     * @return Fused hits, best first
+     */
+    static ScoreDoc[] weightedMinMax(
+            ScoreDoc[] fullText, double fullTextWeight, ScoreDoc[] vector, double vectorWeight) {
+        Map<Integer, Double> scores = new LinkedHashMap<>();
+        addNormalized(scores, fullText, fullTextWeight);
+        addNormalized(scores, vector, vectorWeight);
+        return sorted(scores);
+    }
+
+    /**
+     * Maximal marginal relevance re-ranking. Hits are picked one at a time, each time the hit maximizing
+     * `lambda * relevance - (1 - lambda) * redundancy`, where relevance is the similarity with the query vector,
+     * and redundancy the highest similarity with an already picked hit. Hits keep their original score.
+     *
+     * @param candidates Candidate hits
+     * @param vectors    Vectors of the candidate hits, by document id. Hits without vector are picked last, in
+     *                   their original order.
+     * @param query      Query vector
+     * @param similarity Vector similarity function
+     * @param lambda     Trade-off between relevance (1) and diversity (0)
+     * @return All the candidate hits, in the order they were picked
+     */
+    static ScoreDoc[] maximalMarginalRelevance(
+            ScoreDoc[] candidates,
+            Map<Integer, float[]> vectors,
+            float[] query,
+            VectorSimilarityFunction similarity,
+            double lambda) {
+        int size = candidates.length;
+        float[][] candidateVectors = new float[size][];
+        double[] relevance = new double[size];
+        double[] redundancy = new double[size];
+        boolean[] picked = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            candidateVectors[i] = vectors.get(candidates[i].doc);
+            relevance[i] = candidateVectors[i] == null ? 0 : similarity.compare(query, candidateVectors[i]);
+        }
+
+        ScoreDoc[] reranked = new ScoreDoc[size];
+        for (int rank = 0; rank < size; rank++) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                if (picked[i]) {
+                    continue;
+                }
+                // Lucene similarities are never negative, so nothing is redundant before the first pick
+                double score = candidateVectors[i] == null
+                        ? Double.NEGATIVE_INFINITY
+                        : lambda * relevance[i] - (1 - lambda) * redundancy[i];
+                if (best == -1 || score > bestScore) {
+                    best = i;
+                    bestScore = score;
+                }
+            }
+            picked[best] = true;
+            reranked[rank] = candidates[best];
+
+            if (candidateVectors[best] != null) {
+                for (int i = 0; i < size; i++) {
+                    if (!picked[i] && candidateVectors[i] != null) {
+                        double similarityToPicked = similarity.compare(candidateVectors[best], candidateVectors[i]);
+                        redundancy[i] = Math.max(redundancy[i], similarityToPicked);
+                    }
+                }
+            }
+        }
+        return reranked;
+    }
+
+    private static void addNormalized(Map<Integer, Double> scores, ScoreDoc[] hits, double weight) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        for (ScoreDoc hit : hits) {
+            min = Math.min(min, hit.score);
+            max = Math.max(max, hit.score);
+        }
+        for (ScoreDoc hit : hits) {
+            // All hits score the same: they are all equally good
+            double normalized = max > min ? (hit.score - min) / (max - min) : 1.0;
+            scores.merge(hit.doc, weight * normalized, Double::sum);
+        }
+    }
+
+    private static ScoreDoc[] sorted(Map<Integer, Double> scores) {
+        List<ScoreDoc> fused = new ArrayList<>(scores.size());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            fused.add(new ScoreDoc(entry.getKey(), entry.getValue().floatValue()));
+        }
+        fused.sort(Comparator.comparingDouble((ScoreDoc hit) -> hit.score)
+                .reversed()
+                .thenComparingInt(hit -> hit.doc));
+        return fused.toArray(new ScoreDoc[0]);
+    }
+
+    private LuceneRankFusion() {
+        // Prevent instantiation
+    }
+}
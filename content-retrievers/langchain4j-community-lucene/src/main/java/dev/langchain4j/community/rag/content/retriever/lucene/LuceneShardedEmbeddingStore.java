@@ -0,0 +1,504 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lucene embedding store partitioning content across several directories, or shards, for example on different
+ * disks.
+ * <p>
+ * Content is routed to a shard by the hash of its id. Each shard is a `LuceneIndex`, with its own index writer
+ * and near-real-time searcher, so shards are written and searched concurrently on the executor, and the top
+ * hits of all the shards are merged. A shard can be replaced with another directory, for example one rebuilt
+ * with a `LuceneBulkLoader`, while the other shards keep serving writes and searches.
+ * <p>
+ * The store must be closed when it is not needed anymore, which commits pending changes. The directories are
+ * not closed.
+ */
+public final class LuceneShardedEmbeddingStore implements EmbeddingStore<TextSegment>, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneShardedEmbeddingStore.class);
+
+    private final List<Shard> shards;
+    private final LuceneVectorIndexOptions vectorIndexOptions;
+    private final Duration refreshInterval;
+    private final Duration commitInterval;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    private LuceneShardedEmbeddingStore(LuceneShardedEmbeddingStoreBuilder builder) {
+        List<Directory> directories = ensureNotEmpty(builder.directories, "directories");
+        this.vectorIndexOptions = builder.vectorIndexOptions;
+        this.refreshInterval = builder.refreshInterval;
+        this.commitInterval = builder.commitInterval;
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.ownedExecutor = Executors.newFixedThreadPool(directories.size(), runnable -> {
+                Thread thread = new Thread(runnable, "lucene-shard-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownedExecutor;
+        }
+
+        List<Shard> openedShards = new ArrayList<>(directories.size());
+        try {
+            for (Directory directory : directories) {
+                openedShards.add(new Shard(openIndex(ensureNotNull(directory, "directory"))));
+            }
+        } catch (RuntimeException e) {
+            openedShards.forEach(shard -> shard.index.close());
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+            throw e;
+        }
+        this.shards = List.copyOf(openedShards);
+    }
+
+    /**
+     * Number of shards.
+     *
+     * @return Number of shards
+     */
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Shard that content with an id is routed to.
+     *
+     * @param id Content id
+     * @return Shard index, from 0 to the number of shards, excluded
+     */
+    public int shardOf(String id) {
+        return Math.floorMod(ensureNotNull(id, "id").hashCode(), shards.size());
+    }
+
+    /**
+     * Replace the directory of a shard, for example with a directory rebuilt offline. Writes and searches on the
+     * shard wait until the new directory is open, and the other shards are not affected. Pending changes to the
+     * replaced directory are committed, and the replaced directory is not closed.
+     *
+     * @param shard     Shard index
+     * @param directory New Lucene directory of the shard
+     * @return Replaced Lucene directory
+     */
+    public Directory replaceShard(int shard, Directory directory) {
+        ensureBetween(shard, 0, shards.size() - 1, "shard");
+        LuceneIndex replacement = openIndex(ensureNotNull(directory, "directory"));
+        Shard target = shards.get(shard);
+        LuceneIndex replaced;
+        target.lock.writeLock().lock();
+        try {
+            replaced = target.index;
+            target.open(replacement);
+        } finally {
+            target.lock.writeLock().unlock();
+        }
+        replaced.close();
+        return replaced.directory();
+    }
+
+    /**
+     * Make recent changes searchable on all the shards.
+     */
+    public void refresh() {
+        forEachShard(shard -> {
+            shard.luceneIndex().refresh();
+            return null;
+        });
+    }
+
+    /**
+     * Make recent changes durable on all the shards.
+     */
+    public void commit() {
+        forEachShard(shard -> {
+            shard.luceneIndex().commit();
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String add(Embedding embedding) {
+        if (embedding == null) {
+            return null;
+        }
+        String id = randomUUID();
+        add(id, embedding);
+        return id;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(String id, Embedding embedding) {
+        if (embedding == null) {
+            return;
+        }
+        addAll(Collections.singletonList(id), Collections.singletonList(embedding), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String add(Embedding embedding, TextSegment textSegment) {
+        String id = randomUUID();
+        addAll(
+                Collections.singletonList(id),
+                Collections.singletonList(embedding),
+                Collections.singletonList(textSegment));
+        return id;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        if (embeddings == null || embeddings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = generateIds(embeddings.size());
+        addAll(ids, embeddings, null);
+        return ids;
+    }
+
+    /**
+     * Add content to the shards, including segment, metadata and token count. Ids are generated if they are
+     * null, and content is routed to shards by id. Shards are written concurrently.
+     *
+     * @param idsArg        Content ids, can be null
+     * @param embeddingsArg Content embeddings, can be null
+     * @param embeddedArg   Content, can be null
+     */
+    @Override
+    public void addAll(List<String> idsArg, List<Embedding> embeddingsArg, List<TextSegment> embeddedArg) {
+        int maxSize = LuceneEmbeddingStore.maxSize(idsArg, embeddingsArg, embeddedArg);
+        List<String> ids = LuceneEmbeddingStore.ensureSize(idsArg, maxSize);
+        List<Embedding> embeddings = LuceneEmbeddingStore.ensureSize(embeddingsArg, maxSize);
+        List<TextSegment> embedded = LuceneEmbeddingStore.ensureSize(embeddedArg, maxSize);
+
+        List<List<String>> shardIds = newShardLists();
+        List<List<Embedding>> shardEmbeddings = newShardLists();
+        List<List<TextSegment>> shardEmbedded = newShardLists();
+        for (int i = 0; i < maxSize; i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                // Generate the id here, so that it can be routed
+                id = randomUUID();
+            }
+            int shard = shardOf(id);
+            shardIds.get(shard).add(id);
+            shardEmbeddings.get(shard).add(embeddings.get(i));
+            shardEmbedded.get(shard).add(embedded.get(i));
+        }
+
+        forEachShard(shard -> {
+            List<String> routedIds = shardIds.get(shard.number());
+            if (!routedIds.isEmpty()) {
+                shard.store().addAll(routedIds, shardEmbeddings.get(shard.number()), shardEmbedded.get(shard.number()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Collection<String> ids) {
+        ensureNotEmpty(ids, "ids");
+        List<List<String>> shardIds = newShardLists();
+        for (String id : ids) {
+            shardIds.get(shardOf(id)).add(id);
+        }
+        forEachShard(shard -> {
+            List<String> routedIds = shardIds.get(shard.number());
+            if (!routedIds.isEmpty()) {
+                shard.store().removeAll(routedIds);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll(Filter filter) {
+        ensureNotNull(filter, "filter");
+        forEachShard(shard -> {
+            shard.store().removeAll(filter);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAll() {
+        forEachShard(shard -> {
+            shard.store().removeAll();
+            return null;
+        });
+    }
+
+    /**
+     * Search all the shards concurrently, and merge their top hits.
+     *
+     * @param request Search request
+     * @return Top matches of all the shards
+     */
+    @Override
+    public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+        if (request == null) {
+            return new EmbeddingSearchResult<>(Collections.emptyList());
+        }
+        List<List<EmbeddingMatch<TextSegment>>> shardMatches =
+                forEachShard(shard -> shard.store().search(request).matches());
+
+        // Hits are identified by their shard, and their rank in the shard
+        TopDocs[] shardHits = new TopDocs[shardMatches.size()];
+        for (int shard = 0; shard < shardHits.length; shard++) {
+            List<EmbeddingMatch<TextSegment>> matches = shardMatches.get(shard);
+            ScoreDoc[] scoreDocs = new ScoreDoc[matches.size()];
+            for (int rank = 0; rank < scoreDocs.length; rank++) {
+                float score = matches.get(rank).score().floatValue();
+                scoreDocs[rank] = new ScoreDoc(rank, score, shard);
+            }
+            shardHits[shard] = new TopDocs(new TotalHits(scoreDocs.length, TotalHits.Relation.EQUAL_TO), scoreDocs);
+        }
+
+        List<EmbeddingMatch<TextSegment>> merged = new ArrayList<>();
+        for (ScoreDoc scoreDoc : TopDocs.merge(request.maxResults(), shardHits).scoreDocs) {
+            merged.add(shardMatches.get(scoreDoc.shardIndex).get(scoreDoc.doc));
+        }
+        return new EmbeddingSearchResult<>(merged);
+    }
+
+    /**
+     * Close all the shards, which commits pending changes. The directories are not closed.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.lock.writeLock().lock();
+            try {
+                shard.index.close();
+            } finally {
+                shard.lock.writeLock().unlock();
+            }
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Run an action on every shard concurrently, and wait for all of them. A shard cannot be replaced while an
+     * action runs on it.
+     *
+     * @param <T>    Type of the action results
+     * @param action Action on a shard
+     * @return Action results, in the order of the shards
+     */
+    private <T> List<T> forEachShard(Function<ShardContext, T> action) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            Shard shard = shards.get(i);
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> {
+                        shard.lock.readLock().lock();
+                        try {
+                            return action.apply(new ShardContext(index, shard.index, shard.store));
+                        } finally {
+                            shard.lock.readLock().unlock();
+                        }
+                    },
+                    executor));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private <T> List<List<T>> newShardLists() {
+        List<List<T>> lists = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private LuceneIndex openIndex(Directory directory) {
+        log.debug("Opening shard on {}", directory);
+        return LuceneIndex.builder()
+                .directory(directory)
+                .vectorIndexOptions(vectorIndexOptions)
+                .refreshInterval(refreshInterval)
+                .commitInterval(commitInterval)
+                .build();
+    }
+
+    /**
+     * A shard, whose index can be replaced. The index and store are only read under the read lock, and replaced
+     * under the write lock.
+     */
+    private static class Shard {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private LuceneIndex index;
+        private LuceneEmbeddingStore store;
+
+        private Shard(LuceneIndex index) {
+            open(index);
+        }
+
+        private void open(LuceneIndex index) {
+            this.index = index;
+            this.store = LuceneEmbeddingStore.builder().luceneIndex(index).build();
+        }
+    }
+
+    /**
+     * The index and store of a shard, for the duration of an action.
+     */
+    private record ShardContext(int number, LuceneIndex luceneIndex, LuceneEmbeddingStore store) {}
+
+    /**
+     * Instantiate a builder for `LuceneShardedEmbeddingStore`.
+     *
+     * @return Builder for `LuceneShardedEmbeddingStore`
+     */
+    public static LuceneShardedEmbeddingStoreBuilder builder() {
+        return new LuceneShardedEmbeddingStoreBuilder();
+    }
+
+    /**
+     * Builder for `LuceneShardedEmbeddingStore`.
+     */
+    public static class LuceneShardedEmbeddingStoreBuilder {
+
+        private List<Directory> directories;
+        private LuceneVectorIndexOptions vectorIndexOptions;
+        private Duration refreshInterval;
+        private Duration commitInterval;
+        private Executor executor;
+
+        private LuceneShardedEmbeddingStoreBuilder() {
+            // Set defaults
+            refreshInterval = Duration.ofSeconds(1);
+            commitInterval = Duration.ofSeconds(60);
+        }
+
+        /**
+         * Sets how often changes are made durable on each shard. Defaults to 60 seconds. If null or zero, changes
+         * are only committed by `commit()` and `close()`.
+         *
+         * @param commitInterval Commit interval
+         * @return Builder
+         */
+        public LuceneShardedEmbeddingStoreBuilder commitInterval(Duration commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /**
+         * Sets the Lucene directories of the shards, one per shard. Required. Content is routed by id, so the
+         * directories must be provided in the same order every time the store is built.
+         *
+         * @param directories Lucene directories
+         * @return Builder
+         */
+        public LuceneShardedEmbeddingStoreBuilder directories(List<Directory> directories) {
+            this.directories = directories;
+            return this;
+        }
+
+        /**
+         * Sets the executor writing and searching the shards concurrently. If null, a thread pool with one thread
+         * per shard is created, and shut down when the store is closed.
+         *
+         * @param executor Executor
+         * @return Builder
+         */
+        public LuceneShardedEmbeddingStoreBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets how often recent changes are made searchable on each shard. Defaults to 1 second. If null or zero,
+         * changes are only made searchable by `refresh()`.
+         *
+         * @param refreshInterval Refresh interval
+         * @return Builder
+         */
+        public LuceneShardedEmbeddingStoreBuilder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * Sets the options of the HNSW index of embedding vectors, the same for all the shards. If null, the
+         * default options are used.
+         *
+         * @param vectorIndexOptions Vector index options
+         * @return Builder
+         */
+        public LuceneShardedEmbeddingStoreBuilder vectorIndexOptions(LuceneVectorIndexOptions vectorIndexOptions) {
+            this.vectorIndexOptions = vectorIndexOptions;
+            return this;
+        }
+
+        /**
+         * Build an instance of `LuceneShardedEmbeddingStore` using internal builder field values, opening all
+         * the shards.
+         *
+         * @return New instance of `LuceneShardedEmbeddingStore`
+         */
+        public LuceneShardedEmbeddingStore build() {
+            return new LuceneShardedEmbeddingStore(this);
+        }
+    }
+}
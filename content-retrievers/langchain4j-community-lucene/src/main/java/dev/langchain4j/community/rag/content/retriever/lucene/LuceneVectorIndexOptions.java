@@ -0,0 +1,196 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene912.Lucene912Codec;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswScalarQuantizedVectorsFormat;
+import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.VectorSimilarityFunction;
+
+/**
+ * Options for the HNSW index of embedding vectors: graph parameters, quantization and similarity function.
+ * <p>
+ * The graph parameters and quantization apply to segments written with these options, and can be changed on an
+ * existing index: older segments are rewritten when they are merged. The similarity function is recorded with
+ * the field, and cannot be changed on an existing index.
+ */
+public final class LuceneVectorIndexOptions {
+
+    private final String embeddingFieldName;
+    private final int maxConn;
+    private final int beamWidth;
+    private final LuceneVectorQuantization quantization;
+    private final VectorSimilarityFunction similarity;
+    private final KnnVectorsFormat vectorsFormat;
+
+    private LuceneVectorIndexOptions(LuceneVectorIndexOptionsBuilder builder) {
+        this.embeddingFieldName = builder.embeddingFieldName;
+        this.maxConn = builder.maxConn;
+        this.beamWidth = builder.beamWidth;
+        this.quantization = ensureNotNull(builder.quantization, "quantization");
+        this.similarity = ensureNotNull(builder.similarity, "similarity");
+        // Validates the graph parameters
+        this.vectorsFormat = knnVectorsFormat();
+    }
+
+    /**
+     * Default options: full float vectors, compared with the Euclidean distance, in a graph with the default
+     * Lucene parameters.
+     *
+     * @return Default options
+     */
+    public static LuceneVectorIndexOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Name of the embedding vector field.
+     *
+     * @return Embedding vector field name
+     */
+    public String embeddingFieldName() {
+        return embeddingFieldName;
+    }
+
+    /**
+     * Similarity function of the embedding vectors.
+     *
+     * @return Similarity function
+     */
+    public VectorSimilarityFunction similarity() {
+        return similarity;
+    }
+
+    /**
+     * Create an index writer configuration, with a codec writing the embedding vector field in the configured
+     * format. Indexes written with it can be read with the default codec.
+     *
+     * @return Index writer configuration
+     */
+    IndexWriterConfig newIndexWriterConfig() {
+        return new IndexWriterConfig(new StandardAnalyzer()).setCodec(codec());
+    }
+
+    private Codec codec() {
+        return new Lucene912Codec() {
+            @Override
+            public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                if (embeddingFieldName.equals(field)) {
+                    return vectorsFormat;
+                }
+                return super.getKnnVectorsFormatForField(field);
+            }
+        };
+    }
+
+    private KnnVectorsFormat knnVectorsFormat() {
+        return switch (quantization) {
+            case NONE -> new Lucene99HnswVectorsFormat(maxConn, beamWidth);
+            case INT8 -> new Lucene99HnswScalarQuantizedVectorsFormat(maxConn, beamWidth, 1, 7, false, null, null);
+            // Half-byte values are packed two per byte, and quantization bounds are computed from the data
+            case INT4 -> new Lucene99HnswScalarQuantizedVectorsFormat(maxConn, beamWidth, 1, 4, true, 0f, null);
+        };
+    }
+
+    /**
+     * Instantiate a builder for `LuceneVectorIndexOptions`.
+     *
+     * @return Builder for `LuceneVectorIndexOptions`
+     */
+    public static LuceneVectorIndexOptionsBuilder builder() {
+        return new LuceneVectorIndexOptionsBuilder();
+    }
+
+    /**
+     * Builder for `LuceneVectorIndexOptions`.
+     */
+    public static class LuceneVectorIndexOptionsBuilder {
+
+        private String embeddingFieldName;
+        private int maxConn;
+        private int beamWidth;
+        private LuceneVectorQuantization quantization;
+        private VectorSimilarityFunction similarity;
+
+        private LuceneVectorIndexOptionsBuilder() {
+            // Set defaults
+            embeddingFieldName = LuceneDocumentFields.EMBEDDING_FIELD_NAME.fieldName();
+            maxConn = Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN;
+            beamWidth = Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
+            quantization = LuceneVectorQuantization.NONE;
+            similarity = VectorSimilarityFunction.EUCLIDEAN;
+        }
+
+        /**
+         * Sets the beam width, the number of candidates tracked while building the graph. Larger values build a
+         * better graph, more slowly. Defaults to 100.
+         *
+         * @param beamWidth Beam width
+         * @return Builder
+         */
+        public LuceneVectorIndexOptionsBuilder beamWidth(int beamWidth) {
+            this.beamWidth = beamWidth;
+            return this;
+        }
+
+        /**
+         * Sets the name of the embedding vector field.
+         *
+         * @param embeddingFieldName Embedding vector field name
+         * @return Builder
+         */
+        public LuceneVectorIndexOptionsBuilder embeddingFieldName(String embeddingFieldName) {
+            this.embeddingFieldName = embeddingFieldName;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections of a node in the graph. Larger values improve recall, and use
+         * more memory. Defaults to 16.
+         *
+         * @param maxConn Maximum number of connections
+         * @return Builder
+         */
+        public LuceneVectorIndexOptionsBuilder maxConn(int maxConn) {
+            this.maxConn = maxConn;
+            return this;
+        }
+
+        /**
+         * Sets the quantization of the vectors in the graph. Defaults to `NONE`.
+         *
+         * @param quantization Vector quantization
+         * @return Builder
+         */
+        public LuceneVectorIndexOptionsBuilder quantization(LuceneVectorQuantization quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
+        /**
+         * Sets the similarity function of the vectors. Defaults to `EUCLIDEAN`. With `DOT_PRODUCT`, vectors are
+         * normalized to unit length when they are indexed and searched, which makes it a faster equivalent of
+         * `COSINE`.
+         *
+         * @param similarity Similarity function
+         * @return Builder
+         */
+        public LuceneVectorIndexOptionsBuilder similarity(VectorSimilarityFunction similarity) {
+            this.similarity = similarity;
+            return this;
+        }
+
+        /**
+         * Build an instance of `LuceneVectorIndexOptions` using internal builder field values.
+         *
+         * @return New instance of `LuceneVectorIndexOptions`
+         */
+        public LuceneVectorIndexOptions build() {
+            return new LuceneVectorIndexOptions(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+/**
+ * How embedding vectors are quantized in the HNSW index. Quantized vectors are used to build and search the
+ * graph, and only they need to fit in memory. The full float vectors are kept on disk too, to requantize them
+ * when segments are merged.
+ */
+public enum LuceneVectorQuantization {
+    /**
+     * Full float vectors, 4 bytes per dimension.
+     */
+    NONE,
+    /**
+     * Scalar-quantized vectors, 1 byte per dimension, for 4 times less memory.
+     */
+    INT8,
+    /**
+     * Scalar-quantized vectors, half a byte per dimension, for 8 times less memory, with a larger loss of recall.
+     */
+    INT4
+}
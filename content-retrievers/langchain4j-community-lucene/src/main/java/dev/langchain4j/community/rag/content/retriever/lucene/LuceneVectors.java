@@ -0,0 +1,82 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import dev.langchain4j.Internal;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.ReaderUtil;
+
+/**
+ * Reads embedding vectors back from the vector values of an index.
+ */
+@Internal
+class LuceneVectors {
+
+    /**
+     * Find the field info of an embedding vector field.
+     *
+     * @param reader    Index reader
+     * @param fieldName Embedding vector field name
+     * @return Field info, or null if no segment has vectors for the field
+     */
+    static FieldInfo fieldInfo(IndexReader reader, String fieldName) {
+        for (LeafReaderContext leaf : reader.leaves()) {
+            FieldInfo fieldInfo = leaf.reader().getFieldInfos().fieldInfo(fieldName);
+            if (fieldInfo != null && fieldInfo.hasVectorValues()) {
+                return fieldInfo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the embedding vectors of documents. Documents are visited in index order, so that each segment is
+     * read forward only once. With the dot product similarity, vectors were scaled to unit length when indexed,
+     * and are returned scaled.
+     *
+     * @param reader    Index reader
+     * @param fieldName Embedding vector field name
+     * @param docs      Top-level document ids
+     * @return Vectors by document id, without the documents that have no vector
+     * @throws IOException When the index cannot be read
+     */
+    static Map<Integer, float[]> read(IndexReader reader, String fieldName, Collection<Integer> docs)
+            throws IOException {
+        int[] sortedDocs =
+                docs.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        List<LeafReaderContext> leaves = reader.leaves();
+        Map<Integer, float[]> vectors = new HashMap<>();
+
+        int leafIndex = -1;
+        LeafReaderContext leaf = null;
+        FloatVectorValues values = null;
+        for (int doc : sortedDocs) {
+            int index = ReaderUtil.subIndex(doc, leaves);
+            if (index != leafIndex) {
+                leafIndex = index;
+                leaf = leaves.get(index);
+                values = leaf.reader().getFloatVectorValues(fieldName);
+            }
+            if (values == null) {
+                continue;
+            }
+            int leafDoc = doc - leaf.docBase;
+            int current = values.docID() < leafDoc ? values.advance(leafDoc) : values.docID();
+            if (current == leafDoc) {
+                // Vector values reuse the returned array
+                vectors.put(doc, values.vectorValue().clone());
+            }
+        }
+        return vectors;
+    }
+
+    private LuceneVectors() {
+        // Prevent instantiation
+    }
+}
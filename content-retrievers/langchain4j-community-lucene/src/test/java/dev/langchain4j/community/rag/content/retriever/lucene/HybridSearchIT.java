@@ -9,6 +9,8 @@ import dev.langchain4j.rag.content.ContentMetadata;
 import dev.langchain4j.rag.query.Query;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import org.apache.lucene.store.Directory;
 import org.junit.jupiter.api.AfterEach;
@@ -102,6 +104,98 @@ class HybridSearchIT {
         assertThat(results).hasSize(0);
     }
 
+    @Test
+    @DisplayName("Test retriever using hybrid search with reciprocal rank fusion")
+    void hybridQueryReciprocalRankFusion() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new TextEmbeddingModel(query))
+                .hybridFusion(LuceneHybridFusion.RECIPROCAL_RANK)
+                .maxResults(4)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from(queryText));
+        debugQuery(query, results);
+        List<String> actualTextSegments =
+                results.stream().map(content -> content.textSegment().text()).collect(Collectors.toList());
+
+        // The miss is only found by the vector search, so it ranks below the hits found by both searches
+        assertThat(actualTextSegments).hasSize(4);
+        assertThat(actualTextSegments.subList(0, 3))
+                .containsExactlyInAnyOrder(
+                        hits[0].text().text(), hits[1].text().text(), hits[2].text().text());
+        assertThat(actualTextSegments.get(3)).isEqualTo(misses[0].text().text());
+    }
+
+    @Test
+    @DisplayName("Test retriever using hybrid search with weighted min-max fusion")
+    void hybridQueryWeightedMinMaxFusion() {
+
+        TextEmbedding query = TextEmbedding.fromResource("query1.txt");
+        String queryText = query.text().text();
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new TextEmbeddingModel(query))
+                .hybridFusion(LuceneHybridFusion.WEIGHTED_MIN_MAX)
+                .vectorWeight(0.5)
+                .maxResults(1)
+                .build();
+
+        List<Content> results = contentRetriever.retrieve(Query.from(queryText));
+        debugQuery(query, results);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().text()).isEqualTo(hits[0].text().text());
+        assertThat((Double) results.get(0).metadata().get(ContentMetadata.SCORE))
+                .isBetween(0.0, 1.0);
+    }
+
+    @Test
+    @DisplayName("Test retriever using hybrid search with several queries at once")
+    void hybridQueries() {
+
+        TextEmbedding query1 = TextEmbedding.fromResource("query1.txt");
+        TextEmbedding query2 = TextEmbedding.fromResource("query2.txt");
+        TextEmbedding query3 = TextEmbedding.fromResource("query3.txt");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            contentRetriever = LuceneContentRetriever.builder()
+                    .directory(directory)
+                    .embeddingModel(new TextEmbeddingModel(query1, query2, query3))
+                    .executor(executor)
+                    .minScore(0.4f)
+                    .build();
+
+            List<List<Content>> results = contentRetriever.retrieveAll(List.of(
+                    Query.from(query1.text().text()),
+                    Query.from(query2.text().text()),
+                    Query.from(query3.text().text())));
+
+            assertThat(results).hasSize(3);
+            for (int i = 0; i < results.size(); i++) {
+                TextEmbedding query = List.of(query1, query2, query3).get(i);
+                List<Content> expected = LuceneContentRetriever.builder()
+                        .directory(directory)
+                        .embeddingModel(new TextEmbeddingModel(query))
+                        .minScore(0.4f)
+                        .build()
+                        .retrieve(Query.from(query.text().text()));
+                assertThat(results.get(i)).isEqualTo(expected);
+            }
+            assertThat(results.get(0)).hasSize(3);
+            assertThat(results.get(1)).hasSize(1);
+            assertThat(results.get(2)).isEmpty();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @BeforeEach
     void setUp() {
         directory = DirectoryFactory.tempDirectory();
@@ -7,8 +7,12 @@ import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.rag.content.Content;
 import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import java.util.Collections;
 import java.util.List;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValuesType;
 import org.apache.lucene.store.Directory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -108,6 +112,149 @@ class IndexerTest {
         assertThat(results.get(0).textSegment().text()).isEqualTo(textSegment.text());
     }
 
+    @Test
+    void removeAllIds() {
+
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        indexer.add("id1", null, textSegment);
+        indexer.add("id2", null, textSegment);
+        indexer.removeAll(List.of("id1", "unknown"));
+
+        List<Content> results = contentRetriever.retrieve(query);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().metadata().getString("id")).isEqualTo("id2");
+    }
+
+    @Test
+    void removeAll() {
+
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        indexer.add("id1", null, textSegment);
+        indexer.add("id2", null, textSegment);
+        indexer.removeAll();
+
+        List<Content> results = contentRetriever.retrieve(query);
+
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void searchReturnsEmbeddings() {
+
+        indexer = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .returnEmbeddings(true)
+                .build();
+
+        indexer.add("id1", Embedding.from(new float[] {1, 0, 0}), textSegment);
+        indexer.add("id2", Embedding.from(new float[] {0, 1, 0}), textSegment);
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {0, 1, 0}))
+                .maxResults(2)
+                .build();
+        List<EmbeddingMatch<TextSegment>> matches = indexer.search(request).matches();
+
+        assertThat(matches).extracting(EmbeddingMatch::embeddingId).containsExactly("id2", "id1");
+        assertThat(matches.get(0).embedding().vector()).containsExactly(0, 1, 0);
+        assertThat(matches.get(1).embedding().vector()).containsExactly(1, 0, 0);
+    }
+
+    @Test
+    void searchWithoutEmbeddings() {
+
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        indexer.add("id", Embedding.from(new float[] {1, 0, 0}), textSegment);
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {1, 0, 0}))
+                .build();
+        List<EmbeddingMatch<TextSegment>> matches = indexer.search(request).matches();
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).embedding()).isNull();
+    }
+
+    @Test
+    void maximalMarginalRelevance() {
+
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        indexer.addAll(
+                List.of("original", "duplicate", "different"),
+                List.of(
+                        Embedding.from(new float[] {1, 0}),
+                        Embedding.from(new float[] {1, 0}),
+                        Embedding.from(new float[] {0.8f, 0.6f})),
+                List.of(textSegment, textSegment, textSegment));
+
+        LuceneContentRetriever.LuceneContentRetrieverBuilder builder = LuceneContentRetriever.builder()
+                .directory(directory)
+                .embeddingModel(new KnownQueryEmbeddingModel(Embedding.from(new float[] {1, 0})))
+                .maxResults(2);
+        Query vectorQuery = Query.from("unrelated");
+
+        assertThat(builder.build().retrieve(vectorQuery))
+                .extracting(content -> content.textSegment().metadata().getString("id"))
+                .containsExactly("original", "duplicate");
+        assertThat(builder.maximalMarginalRelevance(0.3).build().retrieve(vectorQuery))
+                .extracting(content -> content.textSegment().metadata().getString("id"))
+                .containsExactly("original", "different");
+    }
+
+    @Test
+    void metadataFields() {
+
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        Metadata metadata =
+                new Metadata().put("name", "doc1").put("year", 2024).put("author", "someone");
+        indexer.add("id", null, TextSegment.from(textSegment.text(), metadata));
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .metadataFields(List.of("year", "missing"))
+                .build();
+        List<Content> results = contentRetriever.retrieve(query);
+
+        assertThat(results).hasSize(1);
+        Metadata retrieved = results.get(0).textSegment().metadata();
+        assertThat(results.get(0).textSegment().text()).isEqualTo(textSegment.text());
+        assertThat(retrieved.getString("id")).isEqualTo("id");
+        assertThat(retrieved.getInteger("year")).isEqualTo(2024);
+        assertThat(retrieved.containsKey("name")).isFalse();
+        assertThat(retrieved.containsKey("author")).isFalse();
+    }
+
+    @Test
+    void metadataDocValues() throws Exception {
+
+        indexer = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .metadataDocValues(true)
+                .build();
+
+        indexer.add("id", null, textSegment);
+
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.leaves().get(0).reader().getFieldInfos().fieldInfo("name").getDocValuesType())
+                    .isEqualTo(DocValuesType.SORTED_SET);
+        }
+
+        contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .metadataFields(List.of("name"))
+                .build();
+        List<Content> results = contentRetriever.retrieve(query);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().metadata().getString("name")).isEqualTo("doc1");
+    }
+
     @BeforeEach
     void setUp() {
         directory = DirectoryFactory.tempDirectory();
@@ -0,0 +1,131 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LuceneBulkLoaderTest {
+
+    private Directory directory;
+
+    @Test
+    void bulkLoad() throws Exception {
+
+        List<String> ids = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            ids.add("id" + i);
+            embeddings.add(Embedding.from(new float[] {i, 1}));
+            segments.add(TextSegment.from("Segment with token t" + i, new Metadata().put("number", i)));
+        }
+
+        LuceneBulkLoader loader = LuceneBulkLoader.builder()
+                .directory(directory)
+                .threads(4)
+                .batchSize(100)
+                .ramBufferSizeMb(16)
+                .forceMergeSegments(1)
+                .build();
+        loader.addAll(ids.subList(0, 2000), embeddings.subList(0, 2000), segments.subList(0, 2000));
+        loader.addAll(ids.subList(2000, 2500), embeddings.subList(2000, 2500), segments.subList(2000, 2500));
+        loader.close();
+
+        assertThat(loader.documentCount()).isEqualTo(2500);
+        assertThat(loader.failedDocumentCount()).isZero();
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(2500);
+            assertThat(reader.leaves()).hasSize(1);
+        }
+
+        LuceneContentRetriever contentRetriever =
+                LuceneContentRetriever.builder().directory(directory).build();
+        List<Content> results = contentRetriever.retrieve(Query.from("t1234"));
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().metadata().getString("id")).isEqualTo("id1234");
+        assertThat(results.get(0).textSegment().metadata().getInteger("number")).isEqualTo(1234);
+    }
+
+    @Test
+    void appendToExistingIndex() throws Exception {
+
+        LuceneEmbeddingStore indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+        indexer.add("existing", null, TextSegment.from("Existing segment"));
+
+        try (LuceneBulkLoader loader =
+                LuceneBulkLoader.builder().directory(directory).build()) {
+            loader.addAll(List.of("new"), null, List.of(TextSegment.from("New segment")));
+        }
+
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void closed() {
+
+        LuceneBulkLoader loader = LuceneBulkLoader.builder().directory(directory).build();
+        loader.close();
+        loader.close();
+
+        assertThatThrownBy(() -> loader.addAll(List.of("id"), null, null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void closeWhileAdding() throws Exception {
+
+        LuceneBulkLoader loader = LuceneBulkLoader.builder()
+                .directory(directory)
+                .threads(2)
+                .batchSize(10)
+                .build();
+        AtomicLong addedCount = new AtomicLong();
+        Thread adding = new Thread(() -> {
+            try {
+                for (int i = 0; ; i++) {
+                    loader.addAll(null, null, List.of(TextSegment.from("Segment " + i)));
+                    addedCount.incrementAndGet();
+                }
+            } catch (IllegalStateException closed) {
+                // expected once the loader is closed
+            }
+        });
+        adding.start();
+        while (addedCount.get() < 100) {
+            Thread.onSpinWait();
+        }
+
+        loader.close();
+        adding.join();
+
+        assertThat(loader.documentCount()).isEqualTo(addedCount.get());
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(addedCount.get());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        directory.close();
+    }
+}
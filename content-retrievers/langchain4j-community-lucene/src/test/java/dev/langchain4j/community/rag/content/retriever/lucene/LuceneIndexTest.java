@@ -0,0 +1,204 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LuceneIndexTest {
+
+    private static final TextSegment textSegment = TextSegment.from("Lucene is a powerful search library.");
+    private static final Query query = Query.from("Give me information on the lucine search library");
+
+    private Directory directory;
+    private LuceneIndex luceneIndex;
+    private LuceneEmbeddingStore indexer;
+    private LuceneContentRetriever contentRetriever;
+
+    @Test
+    void searchableAfterRefresh() {
+
+        indexer.add("id", null, textSegment);
+
+        assertThat(contentRetriever.retrieve(query)).isEmpty();
+
+        luceneIndex.refresh();
+
+        List<Content> results = contentRetriever.retrieve(query);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).textSegment().metadata().getString("id")).isEqualTo("id");
+        assertThat(results.get(0).textSegment().text()).isEqualTo(textSegment.text());
+    }
+
+    @Test
+    void searchableFromEmbeddingStore() {
+
+        Embedding embedding = Embedding.from(new float[] {1, 0});
+        indexer.add("id", embedding, textSegment);
+        luceneIndex.refresh();
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embedding)
+                .maxResults(1)
+                .build();
+        List<EmbeddingMatch<TextSegment>> matches = indexer.search(request).matches();
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).embeddingId()).isEqualTo("id");
+    }
+
+    @Test
+    void durableAfterCommit() throws Exception {
+
+        indexer.add("id1", null, textSegment);
+        indexer.add("id2", null, textSegment);
+
+        luceneIndex.commit();
+
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void durableAfterClose() throws Exception {
+
+        indexer.add("id", null, textSegment);
+
+        luceneIndex.close();
+
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void refreshedInBackground() throws Exception {
+
+        luceneIndex.close();
+        luceneIndex = LuceneIndex.builder()
+                .directory(directory)
+                .refreshInterval(Duration.ofMillis(10))
+                .build();
+        indexer = LuceneEmbeddingStore.builder().luceneIndex(luceneIndex).build();
+        contentRetriever =
+                LuceneContentRetriever.builder().luceneIndex(luceneIndex).build();
+
+        indexer.add("id", null, textSegment);
+
+        List<Content> results = contentRetriever.retrieve(query);
+        for (int i = 0; i < 500 && results.isEmpty(); i++) {
+            Thread.sleep(10);
+            results = contentRetriever.retrieve(query);
+        }
+
+        assertThat(results).hasSize(1);
+    }
+
+    @Test
+    void searchedWithExecutor() throws Exception {
+
+        luceneIndex.close();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            luceneIndex = LuceneIndex.builder()
+                    .directory(directory)
+                    .searchExecutor(executor)
+                    .build();
+            indexer = LuceneEmbeddingStore.builder().luceneIndex(luceneIndex).build();
+            contentRetriever =
+                    LuceneContentRetriever.builder().luceneIndex(luceneIndex).build();
+
+            indexer.add("id1", null, textSegment);
+            luceneIndex.commit();
+            indexer.add("id2", null, textSegment);
+            luceneIndex.refresh();
+
+            assertThat(contentRetriever.retrieve(query)).hasSize(2);
+        } finally {
+            luceneIndex.close();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void warmedUp() {
+
+        Embedding embedding = Embedding.from(new float[] {1, 0});
+        indexer.add("id", embedding, textSegment);
+        luceneIndex.close();
+
+        luceneIndex = LuceneIndex.builder()
+                .directory(directory)
+                .preloadVectors(true)
+                .warmUpEmbeddings(List.of(embedding, Embedding.from(new float[] {1, 0, 0})))
+                .warmUpQueries(List.of("lucene", "search AND library"))
+                .build();
+        contentRetriever =
+                LuceneContentRetriever.builder().luceneIndex(luceneIndex).build();
+
+        assertThat(luceneIndex.openDuration()).isPositive();
+        assertThat(luceneIndex.warmUpDuration()).isPositive();
+        assertThat(contentRetriever.retrieve(query)).hasSize(1);
+    }
+
+    @Test
+    void warmedUpWithoutMemoryMapping() throws Exception {
+
+        try (Directory memoryDirectory = new ByteBuffersDirectory()) {
+            try (LuceneIndex index = LuceneIndex.builder().directory(memoryDirectory).build()) {
+                LuceneEmbeddingStore.builder()
+                        .luceneIndex(index)
+                        .build()
+                        .add("id", Embedding.from(new float[] {1, 0}), textSegment);
+            }
+
+            try (LuceneIndex index = LuceneIndex.builder()
+                    .directory(memoryDirectory)
+                    .preloadVectors(true)
+                    .build()) {
+                assertThat(index.warmUpDuration()).isPositive();
+                assertThat(LuceneContentRetriever.builder()
+                                .luceneIndex(index)
+                                .build()
+                                .retrieve(query))
+                        .hasSize(1);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+
+        luceneIndex = LuceneIndex.builder()
+                .directory(directory)
+                .refreshInterval(Duration.ZERO)
+                .commitInterval(Duration.ZERO)
+                .build();
+        indexer = LuceneEmbeddingStore.builder().luceneIndex(luceneIndex).build();
+        contentRetriever =
+                LuceneContentRetriever.builder().luceneIndex(luceneIndex).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        luceneIndex.close();
+        directory.close();
+    }
+}
@@ -0,0 +1,160 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.util.List;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LuceneMetadataFilterMapperTest {
+
+    private static final Embedding embedding = Embedding.from(new float[] {1, 0});
+
+    private Directory directory;
+    private LuceneEmbeddingStore indexer;
+
+    @Test
+    void isEqualTo() {
+        assertThat(search(metadataKey("name").isEqualTo("doc2"))).containsExactly("2");
+        assertThat(search(metadataKey("year").isEqualTo(2021))).containsExactly("2");
+        assertThat(search(metadataKey("views").isEqualTo(300L))).containsExactly("3");
+        assertThat(search(metadataKey("rating").isEqualTo(0.5d))).containsExactly("1");
+        assertThat(search(metadataKey("ratio").isEqualTo(0.25f))).containsExactly("2");
+    }
+
+    @Test
+    void numbersOfAnotherWidth() {
+        assertThat(search(metadataKey("year").isEqualTo(2021L))).containsExactly("2");
+        assertThat(search(metadataKey("year").isEqualTo(3_000_000_000L))).isEmpty();
+        assertThat(search(metadataKey("views").isEqualTo(300))).containsExactly("3");
+        assertThat(search(metadataKey("views").isGreaterThan(100))).containsExactlyInAnyOrder("2", "3");
+        assertThat(search(metadataKey("year").isLessThan(3_000_000_000L))).containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(search(metadataKey("year").isIn(2020L, 2022L, 3_000_000_000L)))
+                .containsExactlyInAnyOrder("1", "3");
+        assertThat(search(metadataKey("rating").isEqualTo(0.75f))).containsExactly("2");
+        assertThat(search(metadataKey("ratio").isEqualTo(0.25d))).containsExactly("2");
+        assertThat(search(metadataKey("ratio").isEqualTo(0.2500001d))).isEmpty();
+        assertThat(search(metadataKey("ratio").isGreaterThan(0.25d))).containsExactly("1");
+        assertThat(search(metadataKey("ratio").isGreaterThanOrEqualTo(0.25d))).containsExactlyInAnyOrder("1", "2");
+        assertThat(search(metadataKey("ratio").isIn(0.5d, 0.75d))).containsExactly("1");
+    }
+
+    @Test
+    void isNotEqualTo() {
+        assertThat(search(metadataKey("year").isNotEqualTo(2021))).containsExactlyInAnyOrder("1", "3", "4");
+    }
+
+    @Test
+    void comparisons() {
+        assertThat(search(metadataKey("year").isGreaterThan(2021))).containsExactly("3");
+        assertThat(search(metadataKey("year").isGreaterThanOrEqualTo(2021))).containsExactlyInAnyOrder("2", "3");
+        assertThat(search(metadataKey("year").isLessThan(2021))).containsExactly("1");
+        assertThat(search(metadataKey("rating").isLessThanOrEqualTo(0.75d))).containsExactlyInAnyOrder("1", "2");
+        assertThat(search(metadataKey("name").isGreaterThan("doc2"))).containsExactly("3");
+    }
+
+    @Test
+    void isIn() {
+        assertThat(search(metadataKey("name").isIn("doc1", "doc3", "doc9"))).containsExactlyInAnyOrder("1", "3");
+        assertThat(search(metadataKey("year").isIn(2020, 2022))).containsExactlyInAnyOrder("1", "3");
+        assertThat(search(metadataKey("year").isNotIn(2020, 2022))).containsExactlyInAnyOrder("2", "4");
+    }
+
+    @Test
+    void containsString() {
+        assertThat(search(metadataKey("name").containsString("oc3"))).containsExactly("3");
+    }
+
+    @Test
+    void logicalOperators() {
+        Filter and = metadataKey("year").isGreaterThan(2020).and(metadataKey("rating").isGreaterThan(0.5d));
+        Filter or = metadataKey("name").isEqualTo("doc1").or(metadataKey("year").isEqualTo(2022));
+        Filter not = Filter.not(metadataKey("name").isIn("doc1", "doc2"));
+
+        assertThat(search(and)).containsExactlyInAnyOrder("2", "3");
+        assertThat(search(or)).containsExactlyInAnyOrder("1", "3");
+        assertThat(search(not)).containsExactlyInAnyOrder("3", "4");
+    }
+
+    @Test
+    void filteredFullTextSearch() {
+
+        LuceneContentRetriever contentRetriever = LuceneContentRetriever.builder()
+                .directory(directory)
+                .filter(metadataKey("year").isGreaterThan(2020))
+                .build();
+
+        assertThat(contentRetriever.retrieve(Query.from("document")))
+                .extracting(content -> content.textSegment().metadata().getString("id"))
+                .containsExactlyInAnyOrder("2", "3");
+    }
+
+    @Test
+    void removeAllByFilter() {
+
+        indexer.removeAll(metadataKey("year").isLessThanOrEqualTo(2021));
+
+        assertThat(search(null)).containsExactlyInAnyOrder("3", "4");
+    }
+
+    private List<String> search(Filter filter) {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embedding)
+                .maxResults(10)
+                .filter(filter)
+                .build();
+        return indexer.search(request).matches().stream()
+                .map(EmbeddingMatch::embeddingId)
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+        indexer = LuceneEmbeddingStore.builder().directory(directory).build();
+
+        indexer.addAll(
+                List.of("1", "2", "3", "4"),
+                List.of(embedding, embedding, embedding, embedding),
+                List.of(
+                        TextSegment.from(
+                                "First document",
+                                new Metadata()
+                                        .put("name", "doc1")
+                                        .put("year", 2020)
+                                        .put("views", 100L)
+                                        .put("rating", 0.5d)
+                                        .put("ratio", 0.5f)),
+                        TextSegment.from(
+                                "Second document",
+                                new Metadata()
+                                        .put("name", "doc2")
+                                        .put("year", 2021)
+                                        .put("views", 200L)
+                                        .put("rating", 0.75d)
+                                        .put("ratio", 0.25f)),
+                        TextSegment.from(
+                                "Third document",
+                                new Metadata()
+                                        .put("name", "doc3")
+                                        .put("year", 2022)
+                                        .put("views", 300L)
+                                        .put("rating", 1.0d)),
+                        TextSegment.from("Fourth document, without metadata")));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        directory.close();
+    }
+}
@@ -0,0 +1,84 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Map;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.ScoreDoc;
+import org.junit.jupiter.api.Test;
+
+class LuceneRankFusionTest {
+
+    @Test
+    void reciprocalRank() {
+
+        ScoreDoc[] fullText = {new ScoreDoc(1, 12.5f), new ScoreDoc(2, 8.0f), new ScoreDoc(3, 1.0f)};
+        ScoreDoc[] vector = {new ScoreDoc(3, 0.9f), new ScoreDoc(2, 0.8f), new ScoreDoc(4, 0.7f)};
+
+        ScoreDoc[] fused = LuceneRankFusion.reciprocalRank(60, fullText, vector);
+
+        assertThat(fused).extracting(hit -> hit.doc).containsExactly(3, 2, 1, 4);
+        assertThat(fused[0].score).isCloseTo((float) (1.0 / 63 + 1.0 / 61), within(1e-7f));
+        assertThat(fused[1].score).isCloseTo((float) (1.0 / 62 + 1.0 / 62), within(1e-7f));
+        assertThat(fused[3].score).isCloseTo((float) (1.0 / 63), within(1e-6f));
+    }
+
+    @Test
+    void reciprocalRankIgnoresScoreScales() {
+
+        ScoreDoc[] fullText = {new ScoreDoc(1, 1000f), new ScoreDoc(2, 1f)};
+        ScoreDoc[] vector = {new ScoreDoc(2, 0.99f), new ScoreDoc(1, 0.98f)};
+
+        ScoreDoc[] fused = LuceneRankFusion.reciprocalRank(60, fullText, vector);
+
+        assertThat(fused[0].score).isEqualTo(fused[1].score);
+    }
+
+    @Test
+    void weightedMinMax() {
+
+        ScoreDoc[] fullText = {new ScoreDoc(1, 20f), new ScoreDoc(2, 10f), new ScoreDoc(3, 0f)};
+        ScoreDoc[] vector = {new ScoreDoc(3, 0.9f), new ScoreDoc(1, 0.5f)};
+
+        ScoreDoc[] fused = LuceneRankFusion.weightedMinMax(fullText, 0.4, vector, 0.6);
+
+        assertThat(fused).extracting(hit -> hit.doc).containsExactly(3, 1, 2);
+        assertThat(fused[0].score).isCloseTo(0.6f, within(1e-6f));
+        assertThat(fused[1].score).isCloseTo(0.4f, within(1e-6f));
+        assertThat(fused[2].score).isCloseTo(0.2f, within(1e-6f));
+    }
+
+    @Test
+    void weightedMinMaxWithEqualScores() {
+
+        ScoreDoc[] vector = {new ScoreDoc(1, 0.5f), new ScoreDoc(2, 0.5f)};
+
+        ScoreDoc[] fused = LuceneRankFusion.weightedMinMax(new ScoreDoc[0], 0.5, vector, 0.5);
+
+        assertThat(fused).extracting(hit -> hit.doc).containsExactly(1, 2);
+        assertThat(fused[0].score).isEqualTo(0.5f);
+    }
+
+    @Test
+    void maximalMarginalRelevance() {
+
+        ScoreDoc[] candidates = {
+            new ScoreDoc(1, 0.9f), new ScoreDoc(2, 0.8f), new ScoreDoc(3, 0.7f), new ScoreDoc(4, 0.6f)
+        };
+        Map<Integer, float[]> vectors = Map.of(
+                1, new float[] {1, 0},
+                2, new float[] {1, 0},
+                3, new float[] {0.8f, 0.6f});
+        float[] query = {1, 0};
+
+        ScoreDoc[] relevant = LuceneRankFusion.maximalMarginalRelevance(
+                candidates, vectors, query, VectorSimilarityFunction.DOT_PRODUCT, 1);
+        ScoreDoc[] diverse = LuceneRankFusion.maximalMarginalRelevance(
+                candidates, vectors, query, VectorSimilarityFunction.DOT_PRODUCT, 0.3);
+
+        assertThat(relevant).extracting(hit -> hit.doc).containsExactly(1, 2, 3, 4);
+        assertThat(diverse).extracting(hit -> hit.doc).containsExactly(1, 3, 2, 4);
+        assertThat(diverse[1].score).isEqualTo(0.7f);
+    }
+}
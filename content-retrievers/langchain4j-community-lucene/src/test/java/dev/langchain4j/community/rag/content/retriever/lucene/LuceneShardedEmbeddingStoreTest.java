@@ -0,0 +1,132 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LuceneShardedEmbeddingStoreTest {
+
+    private List<Directory> directories;
+    private LuceneShardedEmbeddingStore store;
+
+    @Test
+    void addAllRoutesById() throws Exception {
+
+        addDocuments(30);
+        store.commit();
+
+        int total = 0;
+        for (int shard = 0; shard < directories.size(); shard++) {
+            try (DirectoryReader reader = DirectoryReader.open(directories.get(shard))) {
+                assertThat(reader.numDocs()).isPositive();
+                total += reader.numDocs();
+                for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                    String id = reader.storedFields().document(doc).get("id");
+                    assertThat(store.shardOf(id)).isEqualTo(shard);
+                }
+            }
+        }
+        assertThat(total).isEqualTo(30);
+    }
+
+    @Test
+    void searchMergesShards() {
+
+        addDocuments(30);
+        store.refresh();
+
+        List<String> ids = search(embedding(10), 5);
+
+        assertThat(ids).containsExactly("10", "9", "11", "8", "12");
+    }
+
+    @Test
+    void removeAllIds() {
+
+        addDocuments(30);
+        store.removeAll(List.of("9", "10", "11"));
+        store.refresh();
+
+        assertThat(search(embedding(10), 3)).containsExactly("8", "12", "7");
+    }
+
+    @Test
+    void replaceShard() throws Exception {
+
+        addDocuments(30);
+        store.refresh();
+        int shard = store.shardOf("10");
+
+        Directory empty = DirectoryFactory.tempDirectory();
+        Directory replaced = store.replaceShard(shard, empty);
+        directories.set(shard, empty);
+        replaced.close();
+
+        List<String> ids = search(embedding(10), 30);
+
+        assertThat(ids).isNotEmpty().doesNotContain("10");
+        assertThat(ids).allMatch(id -> store.shardOf(id) != shard);
+    }
+
+    private void addDocuments(int count) {
+        List<String> ids = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(String.valueOf(i));
+            embeddings.add(embedding(i));
+            segments.add(TextSegment.from("Document " + i));
+        }
+        store.addAll(ids, embeddings, segments);
+    }
+
+    private List<String> search(Embedding embedding, int maxResults) {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embedding)
+                .maxResults(maxResults)
+                .build();
+        return store.search(request).matches().stream()
+                .map(EmbeddingMatch::embeddingId)
+                .toList();
+    }
+
+    /**
+     * Points on a line, with the points below 10 moved slightly up, so that the nearest neighbours of 10 are
+     * 9, 11, 8, 12, and so on.
+     */
+    private static Embedding embedding(int i) {
+        return Embedding.from(new float[] {i + (i < 10 ? 0.01f : 0), 1});
+    }
+
+    @BeforeEach
+    void setUp() {
+        directories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            directories.add(DirectoryFactory.tempDirectory());
+        }
+        store = LuceneShardedEmbeddingStore.builder()
+                .directories(directories)
+                .refreshInterval(Duration.ZERO)
+                .commitInterval(Duration.ZERO)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+        for (Directory directory : directories) {
+            directory.close();
+        }
+    }
+}
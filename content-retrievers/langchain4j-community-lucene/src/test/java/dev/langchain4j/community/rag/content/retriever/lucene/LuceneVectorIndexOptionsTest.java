@@ -0,0 +1,167 @@
+package dev.langchain4j.community.rag.content.retriever.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LuceneVectorIndexOptionsTest {
+
+    private static final String EMBEDDING_FIELD_NAME = LuceneDocumentFields.EMBEDDING_FIELD_NAME.fieldName();
+
+    private Directory directory;
+
+    @Test
+    void int8DotProduct() throws Exception {
+
+        LuceneVectorIndexOptions options = LuceneVectorIndexOptions.builder()
+                .quantization(LuceneVectorQuantization.INT8)
+                .similarity(VectorSimilarityFunction.DOT_PRODUCT)
+                .maxConn(32)
+                .beamWidth(200)
+                .build();
+
+        assertNearestNeighbourFound(options);
+        assertFieldFormat("Lucene99HnswScalarQuantizedVectorsFormat", VectorSimilarityFunction.DOT_PRODUCT);
+    }
+
+    @Test
+    void int4Cosine() throws Exception {
+
+        LuceneVectorIndexOptions options = LuceneVectorIndexOptions.builder()
+                .quantization(LuceneVectorQuantization.INT4)
+                .similarity(VectorSimilarityFunction.COSINE)
+                .build();
+
+        assertNearestNeighbourFound(options);
+        assertFieldFormat("Lucene99HnswScalarQuantizedVectorsFormat", VectorSimilarityFunction.COSINE);
+    }
+
+    @Test
+    void defaults() throws Exception {
+
+        assertNearestNeighbourFound(LuceneVectorIndexOptions.defaults());
+        assertFieldFormat("Lucene99HnswVectorsFormat", VectorSimilarityFunction.EUCLIDEAN);
+    }
+
+    @Test
+    void customEmbeddingFieldName() throws Exception {
+
+        LuceneVectorIndexOptions options = LuceneVectorIndexOptions.builder()
+                .embeddingFieldName("vector")
+                .quantization(LuceneVectorQuantization.INT8)
+                .similarity(VectorSimilarityFunction.DOT_PRODUCT)
+                .build();
+
+        assertNearestNeighbourFound(options);
+        assertFieldFormat("vector", "Lucene99HnswScalarQuantizedVectorsFormat", VectorSimilarityFunction.DOT_PRODUCT);
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.leaves().get(0).reader().getFieldInfos().fieldInfo(EMBEDDING_FIELD_NAME))
+                    .isNull();
+        }
+    }
+
+    @Test
+    void sharedIndex() throws Exception {
+
+        LuceneVectorIndexOptions options = LuceneVectorIndexOptions.builder()
+                .quantization(LuceneVectorQuantization.INT8)
+                .build();
+        try (LuceneIndex luceneIndex = LuceneIndex.builder()
+                .directory(directory)
+                .vectorIndexOptions(options)
+                .build()) {
+            LuceneEmbeddingStore indexer =
+                    LuceneEmbeddingStore.builder().luceneIndex(luceneIndex).build();
+            indexer.add("id", Embedding.from(new float[] {1, 0, 0, 0}), TextSegment.from("text"));
+        }
+
+        assertFieldFormat("Lucene99HnswScalarQuantizedVectorsFormat", VectorSimilarityFunction.EUCLIDEAN);
+    }
+
+    @Test
+    void invalidGraphParameters() {
+
+        assertThatThrownBy(() -> LuceneVectorIndexOptions.builder().maxConn(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void normalized() {
+
+        float[] vector = {3, 4};
+
+        assertThat(LuceneDocumentMapper.normalized(vector)).containsExactly(0.6f, 0.8f);
+        assertThat(vector).containsExactly(3, 4);
+        assertThat(LuceneDocumentMapper.normalized(new float[] {0, 0})).containsExactly(0, 0);
+    }
+
+    private void assertNearestNeighbourFound(LuceneVectorIndexOptions options) {
+        LuceneEmbeddingStore indexer = LuceneEmbeddingStore.builder()
+                .directory(directory)
+                .vectorIndexOptions(options)
+                .build();
+
+        Random random = new Random(42);
+        List<String> ids = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            float[] vector = new float[32];
+            for (int j = 0; j < vector.length; j++) {
+                vector[j] = random.nextFloat() * 2 - 1;
+            }
+            ids.add(String.valueOf(i));
+            embeddings.add(Embedding.from(vector));
+            segments.add(TextSegment.from("Document " + i));
+        }
+        indexer.addAll(ids, embeddings, segments);
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(17))
+                .maxResults(5)
+                .build();
+        List<EmbeddingMatch<TextSegment>> matches = indexer.search(request).matches();
+
+        // Quantized scores are approximate, so the query vector itself may not rank first
+        assertThat(matches).extracting(EmbeddingMatch::embeddingId).contains("17");
+    }
+
+    private void assertFieldFormat(String formatName, VectorSimilarityFunction similarity) throws Exception {
+        assertFieldFormat(EMBEDDING_FIELD_NAME, formatName, similarity);
+    }
+
+    private void assertFieldFormat(String fieldName, String formatName, VectorSimilarityFunction similarity)
+            throws Exception {
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            FieldInfo fieldInfo = reader.leaves().get(0).reader().getFieldInfos().fieldInfo(fieldName);
+            assertThat(fieldInfo.getAttribute(PerFieldKnnVectorsFormat.PER_FIELD_FORMAT_KEY))
+                    .isEqualTo(formatName);
+            assertThat(fieldInfo.getVectorSimilarityFunction()).isEqualTo(similarity);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        directory = DirectoryFactory.tempDirectory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        directory.close();
+    }
+}
@@ -15,10 +15,12 @@ public class TextEmbeddingModel implements EmbeddingModel {
 
     private final Map<String, Embedding> embeddings;
 
-    public TextEmbeddingModel(TextEmbedding textEmbedding) {
+    public TextEmbeddingModel(TextEmbedding... textEmbeddings) {
         embeddings = new HashMap<>();
-        ensureNotNull(textEmbedding, "textEmbedding");
-        embeddings.put(textEmbedding.text().text(), textEmbedding.embedding());
+        for (TextEmbedding textEmbedding : textEmbeddings) {
+            ensureNotNull(textEmbedding, "textEmbedding");
+            embeddings.put(textEmbedding.text().text(), textEmbedding.embedding());
+        }
     }
 
     @Override
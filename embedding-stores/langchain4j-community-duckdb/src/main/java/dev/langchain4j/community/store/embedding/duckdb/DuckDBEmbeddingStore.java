@@ -3,6 +3,7 @@ package dev.langchain4j.community.store.embedding.duckdb;
 import static dev.langchain4j.internal.Utils.getOrDefault;
 import static dev.langchain4j.internal.Utils.isNullOrEmpty;
 import static dev.langchain4j.internal.Utils.randomUUID;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotEmpty;
 import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static dev.langchain4j.internal.ValidationUtils.ensureTrue;
@@ -20,14 +21,23 @@ import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
 import dev.langchain4j.store.embedding.EmbeddingSearchResult;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.filter.Filter;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.stream.Collectors;
 import org.duckdb.DuckDBConnection;
 import org.slf4j.Logger;
@@ -36,28 +46,64 @@ import org.slf4j.LoggerFactory;
 /**
  * Implementation of  {@link EmbeddingStore} using <a href="https://duckdb.org/">DuckDB</a>
  * This implementation uses cosine distance and supports storing {@link Metadata}
+ * <p>
+ * When a dimension is set, embeddings are stored in a fixed-size {@code FLOAT[n]} array column, compared with the
+ * array functions, and can be indexed with an HNSW index of the vss extension. Otherwise, embeddings are stored in
+ * a variable-length {@code FLOAT[]} list column, and every search scans all the rows.
  */
-public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
+public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment>, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(DuckDBEmbeddingStore.class);
 
     private static final String CREATE_TABLE_TEMPLATE =
             """
-            create table if not exists %s (id UUID, embedding FLOAT[], text TEXT NULL, metadata JSON NULL);
+            create table if not exists %s (id UUID, embedding %s, text TEXT NULL, metadata JSON NULL);
             """;
 
+    private static final String CREATE_HNSW_INDEX_TEMPLATE =
+            """
+            create index if not exists %s on %s using HNSW (embedding) with (%s);
+            """;
+
+    // Parameters: query vector, min score, filter values, max results
     private static final String SEARCH_QUERY_TEMPLATE =
             """
-            select id, embedding, text, metadata, (list_cosine_similarity(embedding,%s)+1.0)/2.0 as score
+            select id, embedding, text, metadata%s, (list_cosine_similarity(embedding,?::FLOAT[])+1.0)/2.0 as score
             from %s
-            where score >= %s %s
+            where score >= ? %s
+            order by score DESC
+            limit ?
+            """;
+
+    private static final String ARRAY_SEARCH_QUERY_TEMPLATE =
+            """
+            select id, embedding::FLOAT[] as embedding, text, metadata%s,
+            (array_cosine_similarity(embedding,?::FLOAT[%d])+1.0)/2.0 as score
+            from %s
+            where score >= ? %s
+            order by score DESC
+            limit ?
+            """;
+
+    // The inner query has the shape that the vss extension answers with the HNSW index. The index is only used for
+    // a constant query vector, so the vector and the limit are inlined rather than bound.
+    private static final String HNSW_SEARCH_QUERY_TEMPLATE =
+            """
+            select id, embedding::FLOAT[] as embedding, text, metadata%5$s,
+            (array_cosine_similarity(embedding,%1$s)+1.0)/2.0 as score
+            from (select * from %2$s order by %3$s(embedding,%1$s) limit %4$d)
+            where score >= ?
             order by score DESC
-            limit %d
             """;
 
     private static final String INSERT_QUERY_TEMPLATE =
             """
-            insert into %s (id, embedding, text, metadata) values (?,?,?,?)
+            insert into %s (id, embedding, text, metadata%s) values (?,?%s,?,?%s)
+            """;
+
+    private static final String ADD_METADATA_COLUMN_TEMPLATE =
+            """
+            alter table %s add column if not exists %s %s;
             """;
 
     private static final String DELETE_BY_IDS_QUERY_TEMPLATE = """
@@ -72,9 +118,52 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
             truncate table %s
             """;
 
+    private static final String EXPORT_PARQUET_TEMPLATE =
+            """
+            copy (select id, embedding, text, metadata%s from %s)
+            to '%s' (format parquet, compression zstd, row_group_size %d)
+            """;
+
+    private static final String IMPORT_PARQUET_TEMPLATE =
+            """
+            insert into %1$s (id, embedding, text, metadata%2$s)
+            select id, embedding, text, metadata%2$s from read_parquet('%3$s')
+            """;
+
+    private static final String DROP_INDEX_TEMPLATE = """
+            drop index if exists %s
+            """;
+
+    private static final String TABLE_COLUMNS_QUERY_TEMPLATE = """
+            select * from %s limit 0
+            """;
+
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 16;
+
+    /**
+     * Default number of rows per row group of exported Parquet files, which is also DuckDB's default.
+     */
+    public static final int DEFAULT_PARQUET_ROW_GROUP_SIZE = 122_880;
+
+    private static final TypeReference<HashMap<String, Object>> METADATA_TYPE_REFERENCE = new TypeReference<>() {};
+
+    private static final Set<String> RESERVED_COLUMNS = Set.of("id", "embedding", "text", "metadata", "score");
+
     private final String tableName;
+    private final Integer dimension;
+    private final DuckDBHnswIndex hnswIndex;
+    private final boolean persistent;
+    private final int statementCacheSize;
     private final DuckDBConnection duckDBConnection;
-    private final DuckDBMetadataFilterMapper jsonFilterMapper = new DuckDBMetadataFilterMapper();
+    // Idle caches, at most one per processor. Caches beyond that are closed when their search completes.
+    private final BlockingDeque<DuckDBStatementCache> statementCaches =
+            new LinkedBlockingDeque<>(Runtime.getRuntime().availableProcessors());
+    private volatile boolean closed;
+    private final Map<String, DuckDBMetadataType> metadataColumns;
+    private final String metadataColumnList;
+    // Whether the table columns are in the order the appender writes them
+    private final boolean appendable;
+    private final DuckDBMetadataFilterMapper jsonFilterMapper;
     private final ObjectMapper jsonMetadataSerializer = new ObjectMapper();
 
     /**
@@ -84,11 +173,35 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @param tableName The database table name to use. If not specified, "embeddings" will be used
      */
     public DuckDBEmbeddingStore(String filePath, String tableName) {
+        this(builder().filePath(filePath).tableName(tableName));
+    }
+
+    private DuckDBEmbeddingStore(Builder builder) {
+        this.dimension = builder.dimension == null ? null : ensureGreaterThanZero(builder.dimension, "dimension");
+        this.hnswIndex = builder.hnswIndex;
+        ensureTrue(hnswIndex == null || dimension != null, "dimension is required for an HNSW index");
+        this.persistent = builder.filePath != null;
+        this.statementCacheSize = ensureGreaterThanZero(
+                getOrDefault(builder.statementCacheSize, DEFAULT_STATEMENT_CACHE_SIZE), "statementCacheSize");
+        this.metadataColumns = Collections.unmodifiableMap(new LinkedHashMap<>(builder.metadataColumns));
+        for (String key : metadataColumns.keySet()) {
+            ensureTrue(!RESERVED_COLUMNS.contains(key.toLowerCase(Locale.ROOT)), "reserved metadata column: " + key);
+        }
+        this.metadataColumnList = metadataColumns.keySet().stream()
+                .map(key -> ", " + DuckDBMetadataFilterMapper.formatColumn(key))
+                .collect(Collectors.joining());
+        this.jsonFilterMapper = new DuckDBMetadataFilterMapper(metadataColumns);
         try {
-            var dbUrl = filePath != null ? "jdbc:duckdb:" + filePath : "jdbc:duckdb:";
-            this.tableName = getOrDefault(tableName, "embeddings");
+            var dbUrl = builder.filePath != null ? "jdbc:duckdb:" + builder.filePath : "jdbc:duckdb:";
+            this.tableName = getOrDefault(builder.tableName, "embeddings");
             this.duckDBConnection = (DuckDBConnection) DriverManager.getConnection(dbUrl);
             initTable();
+            this.appendable = hasAppenderColumnOrder();
+            if (!appendable) {
+                log.warn(
+                        "The columns of table {} are not in the order of the metadata columns, bulk adds use inserts",
+                        tableName);
+            }
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to load duckdb connection", e);
         }
@@ -108,6 +221,10 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
     public static class Builder {
         private String filePath;
         private String tableName;
+        private Integer dimension;
+        private DuckDBHnswIndex hnswIndex;
+        private Integer statementCacheSize;
+        private Map<String, DuckDBMetadataType> metadataColumns = Map.of();
 
         /**
          * @param filePath File used to persist DuckDB database. If not specified, the database will be stored in-memory.
@@ -135,8 +252,54 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
             return filePath(null);
         }
 
+        /**
+         * @param dimension Dimension of the embeddings. If specified, new tables store embeddings in a fixed-size
+         *                  {@code FLOAT[dimension]} array, which is faster to search than a variable-length list.
+         * @return builder
+         */
+        public Builder dimension(Integer dimension) {
+            this.dimension = dimension;
+            return this;
+        }
+
+        /**
+         * @param hnswIndex Options of an HNSW index to create on the embedding column, using the vss extension.
+         *                  Requires a dimension. Searches with a metadata filter scan the table instead, so that
+         *                  they return as many results as requested. For file-backed databases, the experimental
+         *                  index persistence of the extension is enabled, and the database is checkpointed after
+         *                  each change, since the index is not recovered from the write-ahead log.
+         * @return builder
+         */
+        public Builder hnswIndex(DuckDBHnswIndex hnswIndex) {
+            this.hnswIndex = hnswIndex;
+            return this;
+        }
+
+        /**
+         * @param statementCacheSize Maximum number of prepared search statements kept per connection, one per
+         *                           filter shape. If not specified, 16 will be used
+         * @return builder
+         */
+        public Builder statementCacheSize(Integer statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * @param metadataColumns Metadata keys to store in their own typed column instead of the JSON metadata
+         *                        column, in iteration order. Filters on these keys compare the column directly, so
+         *                        DuckDB can skip row groups with its min/max statistics, and searches read them
+         *                        without parsing JSON. The columns are added to an existing table, but values
+         *                        already stored in its JSON metadata column are not moved.
+         * @return builder
+         */
+        public Builder metadataColumns(Map<String, DuckDBMetadataType> metadataColumns) {
+            this.metadataColumns = ensureNotNull(metadataColumns, "metadataColumns");
+            return this;
+        }
+
         public DuckDBEmbeddingStore build() {
-            return new DuckDBEmbeddingStore(filePath, tableName);
+            return new DuckDBEmbeddingStore(this);
         }
     }
 
@@ -176,6 +339,7 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
             var idsParam = connection.createArrayOf("UUID", ids.toArray());
             statement.setObject(1, idsParam);
             statement.execute();
+            checkpointIndex(connection);
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to remove embeddings by ids", e);
         }
@@ -190,6 +354,7 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
                 var statement = connection.prepareStatement(sql)) {
             log.debug(sql);
             statement.execute();
+            checkpointIndex(connection);
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to remove embeddings with filter", e);
         }
@@ -201,24 +366,122 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
         try (var connection = duckDBConnection.duplicate();
                 var statement = connection.createStatement()) {
             statement.execute(sql);
+            checkpointIndex(connection);
         } catch (SQLException e) {
             throw new DuckDBSQLException("Unable to remove all embeddings", e);
         }
     }
 
+    /**
+     * Searches with a prepared statement, reused across searches with the same shape of filter. The query vector,
+     * the minimum score, the filter values and the maximum number of results are bound as parameters.
+     */
     @Override
     public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
-        var param = embeddingToParam(request.queryEmbedding());
-        var filterClause = request.filter() != null ? "and " + jsonFilterMapper.map(request.filter()) : "";
-        var query =
-                format(SEARCH_QUERY_TEMPLATE, param, tableName, request.minScore(), filterClause, request.maxResults());
+        var filterParameters = new ArrayList<>();
+        var filterClause = request.filter() != null
+                ? format("and (%s)", jsonFilterMapper.map(request.filter(), filterParameters))
+                : "";
+        var hnswSearch = hnswIndex != null && request.filter() == null;
+
+        DuckDBStatementCache statementCache = null;
+        boolean reusable = false;
+        try {
+            statementCache = borrowStatementCache();
+            var connection = statementCache.connection();
+            List<EmbeddingMatch<TextSegment>> matches;
+            if (hnswSearch) {
+                var query = format(
+                        HNSW_SEARCH_QUERY_TEMPLATE,
+                        embeddingToParam(request.queryEmbedding()),
+                        tableName,
+                        hnswIndex.metric().distanceFunction(),
+                        request.maxResults(),
+                        metadataColumnList);
+                try (var statement = connection.prepareStatement(query)) {
+                    log.debug(query);
+                    statement.setDouble(1, request.minScore());
+                    matches = toMatches(statement);
+                }
+            } else {
+                var query = dimension == null
+                        ? format(SEARCH_QUERY_TEMPLATE, metadataColumnList, tableName, filterClause)
+                        : format(ARRAY_SEARCH_QUERY_TEMPLATE, metadataColumnList, dimension, tableName, filterClause);
+                var statement = statementCache.prepare(query);
+                log.debug(query);
+                int index = 1;
+                statement.setObject(index++, connection.createArrayOf("float", toBoxed(request.queryEmbedding())));
+                statement.setDouble(index++, request.minScore());
+                for (Object filterParameter : filterParameters) {
+                    statement.setObject(index++, filterParameter);
+                }
+                statement.setInt(index, request.maxResults());
+                matches = toMatches(statement);
+            }
+            reusable = true;
+            return new EmbeddingSearchResult<>(matches);
+        } catch (SQLException | JsonProcessingException e) {
+            throw new DuckDBSQLException("Error while searching embeddings", e);
+        } finally {
+            if (statementCache != null) {
+                // A failed search may leave its connection in any state, so its cache is not reused
+                if (reusable) {
+                    releaseStatementCache(statementCache);
+                } else {
+                    statementCache.close();
+                }
+            }
+        }
+    }
 
-        try (var connection = duckDBConnection.duplicate();
-                var statement = connection.prepareStatement(query)) {
-            var matches = new ArrayList<EmbeddingMatch<TextSegment>>();
+    /**
+     * @return a cache that no other search uses, on a new duplicated connection if all the caches are in use
+     */
+    private DuckDBStatementCache borrowStatementCache() throws SQLException {
+        var statementCache = statementCaches.pollFirst();
+        return statementCache != null
+                ? statementCache
+                : new DuckDBStatementCache(duckDBConnection.duplicate(), statementCacheSize);
+    }
 
-            log.debug(query);
-            var resultSet = statement.executeQuery();
+    /**
+     * @return the caches waiting for a search, most recently released first
+     */
+    List<DuckDBStatementCache> idleStatementCaches() {
+        return List.copyOf(statementCaches);
+    }
+
+    private void releaseStatementCache(DuckDBStatementCache statementCache) {
+        if (closed || !statementCaches.offerFirst(statementCache)) {
+            statementCache.close();
+        } else if (closed && statementCaches.remove(statementCache)) {
+            // The store was closed while the cache was released, after close() emptied the pool
+            statementCache.close();
+        }
+    }
+
+    /**
+     * Closes the connections of the prepared statement caches and the database connection. The store must not be
+     * used afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        DuckDBStatementCache statementCache;
+        while ((statementCache = statementCaches.pollFirst()) != null) {
+            statementCache.close();
+        }
+        try {
+            duckDBConnection.close();
+        } catch (SQLException e) {
+            throw new DuckDBSQLException("Unable to close duckdb connection", e);
+        }
+    }
+
+    private List<EmbeddingMatch<TextSegment>> toMatches(PreparedStatement statement)
+            throws SQLException, JsonProcessingException {
+        var matches = new ArrayList<EmbeddingMatch<TextSegment>>();
+        try (var resultSet = statement.executeQuery()) {
             while (resultSet.next()) {
 
                 var id = resultSet.getString("id");
@@ -227,10 +490,16 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
                 var sqlArray = resultSet.getArray("embedding");
                 var metadataJson = resultSet.getString("metadata");
 
-                var typeReference = new TypeReference<HashMap<String, Object>>() {};
-                Map<String, ?> metadataMap = metadataJson != null
-                        ? jsonMetadataSerializer.readValue(metadataJson, typeReference)
-                        : Collections.emptyMap();
+                var metadataMap = new HashMap<String, Object>();
+                if (metadataJson != null && !metadataJson.equals("{}") && !metadataJson.equals("null")) {
+                    metadataMap.putAll(jsonMetadataSerializer.readValue(metadataJson, METADATA_TYPE_REFERENCE));
+                }
+                for (var column : metadataColumns.entrySet()) {
+                    var value = column.getValue().read(resultSet, column.getKey());
+                    if (value != null) {
+                        metadataMap.put(column.getKey(), value);
+                    }
+                }
 
                 var sqlList = (Object[]) sqlArray.getArray();
                 var vector = new float[sqlList.length];
@@ -240,10 +509,17 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
                 var ts = text != null ? TextSegment.from(text, Metadata.from(metadataMap)) : null;
                 matches.add(new EmbeddingMatch<>(score, id, new Embedding(vector), ts));
             }
-            return new EmbeddingSearchResult<>(matches);
-        } catch (SQLException | JsonProcessingException e) {
-            throw new DuckDBSQLException("Error while searching embeddings", e);
         }
+        return matches;
+    }
+
+    private static Float[] toBoxed(Embedding embedding) {
+        var vector = embedding.vector();
+        var boxed = new Float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            boxed[i] = vector[i];
+        }
+        return boxed;
     }
 
     private void addInternal(String id, Embedding embedding, TextSegment textSegment) {
@@ -252,17 +528,15 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
 
     @Override
     public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
-        if (isNullOrEmpty(ids) || isNullOrEmpty(embeddings)) {
-            log.info("[no embeddings to add to DuckDB]");
+        if (!ensureAddable(ids, embeddings, embedded)) {
             return;
         }
-        ensureTrue(ids.size() == embeddings.size(), "ids size is not equal to embeddings size");
-        ensureTrue(
-                embedded == null || embeddings.size() == embedded.size(),
-                "embeddings size is not equal to embedded size");
 
+        var embeddingCast = dimension != null ? format("::FLOAT[%d]", dimension) : "";
+        var metadataParams = ",?".repeat(metadataColumns.size());
+        var sql = format(INSERT_QUERY_TEMPLATE, tableName, metadataColumnList, embeddingCast, metadataParams);
         try (var connection = duckDBConnection.duplicate();
-                var statement = connection.prepareStatement(format(INSERT_QUERY_TEMPLATE, tableName))) {
+                var statement = connection.prepareStatement(sql)) {
             for (int i = 0; i < ids.size(); i++) {
                 String textParam = null;
                 if (embedded != null && embedded.get(i) != null) {
@@ -277,30 +551,262 @@ public class DuckDBEmbeddingStore implements EmbeddingStore<TextSegment> {
                         "float", embeddings.get(i).vectorAsList().toArray());
                 statement.setObject(2, embeddingsParam);
                 statement.setString(3, textParam);
-                statement.setString(4, jsonMetadataSerializer.writeValueAsString(metadata));
+                statement.setString(4, jsonMetadataSerializer.writeValueAsString(jsonMetadata(metadata)));
+                int index = 5;
+                for (String key : metadataColumns.keySet()) {
+                    statement.setObject(index++, metadata != null ? metadata.get(key) : null);
+                }
                 statement.addBatch();
             }
             statement.executeBatch();
+            checkpointIndex(connection);
         } catch (SQLException | JsonProcessingException e) {
             throw new DuckDBSQLException("Unable to add embeddings in DuckDB", e);
         }
     }
 
+    /**
+     * Adds embeddings with DuckDB's native appender instead of a batch of insert statements. Values are written
+     * directly into DuckDB column vectors, so that vectors are neither boxed nor converted to SQL arrays, which
+     * makes this method much faster than {@link #addAll(List, List, List)} for large batches.
+     * <p>
+     * Rows are appended to the table without going through SQL, so ids must be valid UUIDs, and the dimension of
+     * the embeddings must match the dimension of the store when it has one. The rows are visible to searches once
+     * this method returns. If it fails, the rows appended so far may have been added.
+     * <p>
+     * The appender writes the columns by position. When the columns of an existing table are not in the order
+     * this store creates them, for instance because it was created with other metadata columns, the embeddings
+     * are added with {@link #addAll(List, List, List)} instead.
+     *
+     * @param ids        Embedding ids, must be UUIDs
+     * @param embeddings Embeddings to add
+     * @param embedded   Original contents that were embedded, can be null
+     */
+    public void bulkAddAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        if (!ensureAddable(ids, embeddings, embedded)) {
+            return;
+        }
+        if (!appendable) {
+            addAll(ids, embeddings, embedded);
+            return;
+        }
+
+        try (var connection = duckDBConnection.duplicate();
+                var appender = connection
+                        .unwrap(DuckDBConnection.class)
+                        .createAppender(DuckDBConnection.DEFAULT_SCHEMA, tableName)) {
+            for (int i = 0; i < ids.size(); i++) {
+                var segment = embedded != null ? embedded.get(i) : null;
+                var metadata = segment != null ? segment.metadata().toMap() : null;
+
+                appender.beginRow();
+                appender.append(UUID.fromString(ids.get(i)));
+                appender.append(embeddings.get(i).vector());
+                if (segment != null) {
+                    appender.append(segment.text());
+                } else {
+                    appender.appendNull();
+                }
+                appender.append(jsonMetadataSerializer.writeValueAsString(jsonMetadata(metadata)));
+                for (var column : metadataColumns.entrySet()) {
+                    var value = metadata != null ? metadata.get(column.getKey()) : null;
+                    if (value != null) {
+                        column.getValue().append(appender, value);
+                    } else {
+                        appender.appendNull();
+                    }
+                }
+                appender.endRow();
+            }
+            appender.flush();
+            checkpointIndex(connection);
+        } catch (SQLException | JsonProcessingException e) {
+            throw new DuckDBSQLException("Unable to bulk add embeddings in DuckDB", e);
+        }
+    }
+
+    /**
+     * @return the metadata entries stored in the JSON metadata column, that is without the keys having a column
+     */
+    private Map<String, Object> jsonMetadata(Map<String, Object> metadata) {
+        if (metadata == null || metadataColumns.isEmpty()) {
+            return metadata;
+        }
+        var jsonMetadata = new HashMap<>(metadata);
+        jsonMetadata.keySet().removeAll(metadataColumns.keySet());
+        return jsonMetadata;
+    }
+
+    /**
+     * @return false if there is nothing to add
+     */
+    private static boolean ensureAddable(List<String> ids, List<Embedding> embeddings, List<TextSegment> embedded) {
+        if (isNullOrEmpty(ids) || isNullOrEmpty(embeddings)) {
+            log.info("[no embeddings to add to DuckDB]");
+            return false;
+        }
+        ensureTrue(ids.size() == embeddings.size(), "ids size is not equal to embeddings size");
+        ensureTrue(
+                embedded == null || embeddings.size() == embedded.size(),
+                "embeddings size is not equal to embedded size");
+        return true;
+    }
+
+    /**
+     * Exports all the embeddings to a Parquet file, compressed with zstd, with the default row group size.
+     *
+     * @param file Parquet file to write, replaced if it exists
+     * @see #exportTo(Path, int)
+     */
+    public void exportTo(Path file) {
+        exportTo(file, DEFAULT_PARQUET_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Exports all the embeddings to a Parquet file, compressed with zstd. The file has the columns {@code id},
+     * {@code embedding}, {@code text} and {@code metadata} (as JSON), followed by the typed metadata columns.
+     * It can be imported into another DuckDB store with {@link #importFrom(Path)}, or loaded into any embedding
+     * store with {@link DuckDBParquetLoader}.
+     *
+     * @param file         Parquet file to write, replaced if it exists
+     * @param rowGroupSize Number of rows per row group. Smaller row groups are read with more parallelism, larger
+     *                     ones compress better
+     */
+    public void exportTo(Path file, int rowGroupSize) {
+        ensureNotNull(file, "file");
+        ensureGreaterThanZero(rowGroupSize, "rowGroupSize");
+        var sql = format(EXPORT_PARQUET_TEMPLATE, metadataColumnList, tableName, sqlPath(file), rowGroupSize);
+        try (var connection = duckDBConnection.duplicate();
+                var statement = connection.createStatement()) {
+            log.debug(sql);
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new DuckDBSQLException(format("Unable to export embeddings to '%s'", file), e);
+        }
+    }
+
+    /**
+     * Adds all the embeddings of a Parquet file written by {@link #exportTo(Path)}, to the existing ones. The file
+     * must have the typed metadata columns of this store. If the store has an HNSW index, the index is dropped
+     * before the import and rebuilt after it, which is much faster than updating it row by row.
+     *
+     * @param file Parquet file to read
+     */
+    public void importFrom(Path file) {
+        ensureNotNull(file, "file");
+        var sql = format(IMPORT_PARQUET_TEMPLATE, tableName, metadataColumnList, sqlPath(file));
+        try (var connection = duckDBConnection.duplicate();
+                var statement = connection.createStatement()) {
+            if (hnswIndex != null) {
+                statement.execute(format(DROP_INDEX_TEMPLATE, hnswIndexName()));
+            }
+            log.debug(sql);
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new DuckDBSQLException(format("Unable to import embeddings from '%s'", file), e);
+        } finally {
+            if (hnswIndex != null) {
+                initHnswIndex();
+            }
+        }
+    }
+
+    private static String sqlPath(Path file) {
+        return file.toAbsolutePath().toString().replace("'", "''");
+    }
+
     private void initTable() {
-        var sql = format(CREATE_TABLE_TEMPLATE, tableName);
+        var embeddingType = dimension != null ? format("FLOAT[%d]", dimension) : "FLOAT[]";
+        var sql = format(CREATE_TABLE_TEMPLATE, tableName, embeddingType);
         try (var connection = duckDBConnection.duplicate();
                 var statement = connection.createStatement()) {
             log.debug(sql);
             statement.execute(sql);
+            for (var column : metadataColumns.entrySet()) {
+                var alterSql = format(
+                        ADD_METADATA_COLUMN_TEMPLATE,
+                        tableName,
+                        DuckDBMetadataFilterMapper.formatColumn(column.getKey()),
+                        column.getValue().sqlType());
+                log.debug(alterSql);
+                statement.execute(alterSql);
+            }
         } catch (SQLException e) {
             throw new DuckDBSQLException(format("Failed to init duckDB table:  '%s'", sql), e);
         }
+        if (hnswIndex != null) {
+            initHnswIndex();
+        }
+    }
+
+    /**
+     * @return true if the table has the core columns followed by the metadata columns, in the order of
+     * {@code metadataColumns} and with their types, and no other column
+     */
+    private boolean hasAppenderColumnOrder() throws SQLException {
+        var coreColumns = List.of("id", "embedding", "text", "metadata");
+        var expectedColumns = new ArrayList<>(coreColumns);
+        expectedColumns.addAll(metadataColumns.keySet());
+        try (var connection = duckDBConnection.duplicate();
+                var statement = connection.createStatement();
+                var resultSet = statement.executeQuery(format(TABLE_COLUMNS_QUERY_TEMPLATE, tableName))) {
+            var resultSetMetaData = resultSet.getMetaData();
+            if (resultSetMetaData.getColumnCount() != expectedColumns.size()) {
+                return false;
+            }
+            for (int i = 0; i < expectedColumns.size(); i++) {
+                var column = expectedColumns.get(i);
+                if (!resultSetMetaData.getColumnName(i + 1).equalsIgnoreCase(column)) {
+                    return false;
+                }
+                if (i >= coreColumns.size()
+                        && !resultSetMetaData
+                                .getColumnTypeName(i + 1)
+                                .equalsIgnoreCase(metadataColumns.get(column).sqlType())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void initHnswIndex() {
+        var sql = format(CREATE_HNSW_INDEX_TEMPLATE, hnswIndexName(), tableName, hnswIndex.withClause());
+        try (var connection = duckDBConnection.duplicate();
+                var statement = connection.createStatement()) {
+            statement.execute("install vss");
+            statement.execute("load vss");
+            if (persistent) {
+                statement.execute("set global hnsw_enable_experimental_persistence = true");
+            }
+            log.debug(sql);
+            statement.execute(sql);
+            checkpointIndex(connection);
+        } catch (SQLException e) {
+            throw new DuckDBSQLException(format("Failed to init duckDB HNSW index:  '%s'", sql), e);
+        }
+    }
+
+    private String hnswIndexName() {
+        return tableName + "_embedding_hnsw";
+    }
+
+    /**
+     * Checkpoint a file-backed database with an HNSW index, so that index changes are not only in the write-ahead
+     * log, which the vss extension does not replay.
+     */
+    private void checkpointIndex(Connection connection) throws SQLException {
+        if (hnswIndex != null && persistent) {
+            try (var statement = connection.createStatement()) {
+                statement.execute("checkpoint");
+            }
+        }
     }
 
     protected String embeddingToParam(Embedding embedding) {
         return embedding.vectorAsList().stream()
                 .map(Object::toString)
                 .collect(Collectors.joining(",", "[", "]"))
-                .concat("::float[]");
+                .concat(dimension != null ? format("::FLOAT[%d]", dimension) : "::float[]");
     }
 }
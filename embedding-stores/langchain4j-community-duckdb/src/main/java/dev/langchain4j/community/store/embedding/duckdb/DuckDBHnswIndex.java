@@ -0,0 +1,123 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options of the HNSW index created with the <a href="https://duckdb.org/docs/extensions/vss">vss</a> extension
+ * on the embedding column. Options left null use the extension defaults.
+ */
+public class DuckDBHnswIndex {
+
+    /**
+     * Distance metric of the HNSW index. Searches are ordered by this metric, and scored with the cosine similarity.
+     * For normalized embeddings, all the metrics give the same order.
+     */
+    public enum Metric {
+        COSINE("cosine", "array_cosine_distance"),
+        L2SQ("l2sq", "array_distance"),
+        IP("ip", "array_negative_inner_product");
+
+        private final String optionValue;
+        private final String distanceFunction;
+
+        Metric(String optionValue, String distanceFunction) {
+            this.optionValue = optionValue;
+            this.distanceFunction = distanceFunction;
+        }
+
+        String distanceFunction() {
+            return distanceFunction;
+        }
+    }
+
+    private final Metric metric;
+    private final Integer m;
+    private final Integer efConstruction;
+    private final Integer efSearch;
+
+    private DuckDBHnswIndex(Builder builder) {
+        this.metric = ensureNotNull(builder.metric, "metric");
+        this.m = builder.m == null ? null : ensureGreaterThanZero(builder.m, "m");
+        this.efConstruction =
+                builder.efConstruction == null ? null : ensureGreaterThanZero(builder.efConstruction, "efConstruction");
+        this.efSearch = builder.efSearch == null ? null : ensureGreaterThanZero(builder.efSearch, "efSearch");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Metric metric() {
+        return metric;
+    }
+
+    /**
+     * @return the options of the `create index` statement, such as `metric = 'cosine', M = 16`
+     */
+    String withClause() {
+        List<String> options = new ArrayList<>();
+        options.add(format("metric = '%s'", metric.optionValue));
+        if (m != null) {
+            options.add("M = " + m);
+        }
+        if (efConstruction != null) {
+            options.add("ef_construction = " + efConstruction);
+        }
+        if (efSearch != null) {
+            options.add("ef_search = " + efSearch);
+        }
+        return String.join(", ", options);
+    }
+
+    public static class Builder {
+        private Metric metric = Metric.COSINE;
+        private Integer m;
+        private Integer efConstruction;
+        private Integer efSearch;
+
+        /**
+         * @param metric Distance metric of the index. Defaults to {@link Metric#COSINE}
+         * @return builder
+         */
+        public Builder metric(Metric metric) {
+            this.metric = metric;
+            return this;
+        }
+
+        /**
+         * @param m Maximum number of neighbors per node in the graph
+         * @return builder
+         */
+        public Builder m(Integer m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * @param efConstruction Number of candidates considered while building the graph
+         * @return builder
+         */
+        public Builder efConstruction(Integer efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * @param efSearch Number of candidates considered while searching the graph
+         * @return builder
+         */
+        public Builder efSearch(Integer efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        public DuckDBHnswIndex build() {
+            return new DuckDBHnswIndex(this);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import dev.langchain4j.store.embedding.filter.logical.Not;
 import dev.langchain4j.store.embedding.filter.logical.Or;
 import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,104 +28,146 @@ public class DuckDBMetadataFilterMapper {
                     new AbstractMap.SimpleEntry<>(Object.class, "text"))
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
+    private final Map<String, DuckDBMetadataType> metadataColumns;
+
+    public DuckDBMetadataFilterMapper() {
+        this(Map.of());
+    }
+
+    /**
+     * @param metadataColumns metadata keys stored in their own typed column, compared directly instead of being
+     *                        extracted from the JSON metadata column and cast
+     */
+    public DuckDBMetadataFilterMapper(Map<String, DuckDBMetadataType> metadataColumns) {
+        this.metadataColumns = Map.copyOf(metadataColumns);
+    }
+
     public String map(Filter filter) {
+        return map(filter, null);
+    }
+
+    /**
+     * Maps a filter to a SQL condition where the comparison values are replaced with {@code ?} placeholders, so
+     * that filters of the same shape map to the same SQL. The values are added to the parameters, in the order
+     * of their placeholders.
+     *
+     * @param filter     the filter to map
+     * @param parameters the list to add the comparison values to, or null to inline the values in the SQL
+     * @return the SQL condition
+     */
+    public String map(Filter filter, List<Object> parameters) {
         if (filter instanceof IsEqualTo eq) {
-            return mapEqual(eq);
+            return mapEqual(eq, parameters);
         } else if (filter instanceof IsNotEqualTo neq) {
-            return mapNotEqual(neq);
+            return mapNotEqual(neq, parameters);
         } else if (filter instanceof IsGreaterThan gt) {
-            return mapGreaterThan(gt);
+            return mapGreaterThan(gt, parameters);
         } else if (filter instanceof IsGreaterThanOrEqualTo gte) {
-            return mapGreaterThanOrEqual(gte);
+            return mapGreaterThanOrEqual(gte, parameters);
         } else if (filter instanceof IsLessThan lt) {
-            return mapLessThan(lt);
+            return mapLessThan(lt, parameters);
         } else if (filter instanceof IsLessThanOrEqualTo lte) {
-            return mapLessThanOrEqual(lte);
+            return mapLessThanOrEqual(lte, parameters);
         } else if (filter instanceof IsIn in) {
-            return mapIn(in);
+            return mapIn(in, parameters);
         } else if (filter instanceof IsNotIn nin) {
-            return mapNotIn(nin);
+            return mapNotIn(nin, parameters);
         } else if (filter instanceof And and) {
-            return mapAnd(and);
+            return mapAnd(and, parameters);
         } else if (filter instanceof Not not) {
-            return mapNot(not);
+            return mapNot(not, parameters);
         } else if (filter instanceof Or or) {
-            return mapOr(or);
+            return mapOr(or, parameters);
         } else {
             throw new UnsupportedOperationException(
                     "Unsupported filter type: " + filter.getClass().getName());
         }
     }
 
-    private String mapEqual(IsEqualTo isEqualTo) {
+    private String mapEqual(IsEqualTo isEqualTo, List<Object> parameters) {
         String key = formatKey(isEqualTo.key(), isEqualTo.comparisonValue().getClass());
-        return format("%s is not null and %s = %s", key, key, formatValue(isEqualTo.comparisonValue()));
+        return format(
+                "%s is not null and %s = %s", key, key, formatValue(isEqualTo.comparisonValue(), parameters));
     }
 
-    private String mapNotEqual(IsNotEqualTo isNotEqualTo) {
+    private String mapNotEqual(IsNotEqualTo isNotEqualTo, List<Object> parameters) {
         String key =
                 formatKey(isNotEqualTo.key(), isNotEqualTo.comparisonValue().getClass());
-        return format("%s is null or %s != %s", key, key, formatValue(isNotEqualTo.comparisonValue()));
+        return format(
+                "%s is null or %s != %s", key, key, formatValue(isNotEqualTo.comparisonValue(), parameters));
     }
 
-    private String mapGreaterThan(IsGreaterThan isGreaterThan) {
+    private String mapGreaterThan(IsGreaterThan isGreaterThan, List<Object> parameters) {
         return format(
                 "%s > %s",
                 formatKey(isGreaterThan.key(), isGreaterThan.comparisonValue().getClass()),
-                formatValue(isGreaterThan.comparisonValue()));
+                formatValue(isGreaterThan.comparisonValue(), parameters));
     }
 
-    private String mapGreaterThanOrEqual(IsGreaterThanOrEqualTo isGreaterThanOrEqualTo) {
+    private String mapGreaterThanOrEqual(IsGreaterThanOrEqualTo isGreaterThanOrEqualTo, List<Object> parameters) {
         return format(
                 "%s >= %s",
                 formatKey(
                         isGreaterThanOrEqualTo.key(),
                         isGreaterThanOrEqualTo.comparisonValue().getClass()),
-                formatValue(isGreaterThanOrEqualTo.comparisonValue()));
+                formatValue(isGreaterThanOrEqualTo.comparisonValue(), parameters));
     }
 
-    private String mapLessThan(IsLessThan isLessThan) {
+    private String mapLessThan(IsLessThan isLessThan, List<Object> parameters) {
         return format(
                 "%s < %s",
                 formatKey(isLessThan.key(), isLessThan.comparisonValue().getClass()),
-                formatValue(isLessThan.comparisonValue()));
+                formatValue(isLessThan.comparisonValue(), parameters));
     }
 
-    private String mapLessThanOrEqual(IsLessThanOrEqualTo isLessThanOrEqualTo) {
+    private String mapLessThanOrEqual(IsLessThanOrEqualTo isLessThanOrEqualTo, List<Object> parameters) {
         return format(
                 "%s <= %s",
                 formatKey(
                         isLessThanOrEqualTo.key(),
                         isLessThanOrEqualTo.comparisonValue().getClass()),
-                formatValue(isLessThanOrEqualTo.comparisonValue()));
+                formatValue(isLessThanOrEqualTo.comparisonValue(), parameters));
     }
 
-    private String mapIn(IsIn isIn) {
-        return format("%s in %s", formatKeyAsString(isIn.key()), formatValuesAsString(isIn.comparisonValues()));
+    private String mapIn(IsIn isIn, List<Object> parameters) {
+        return format(
+                "%s in %s",
+                formatKeyAsString(isIn.key()),
+                formatValues(isIn.key(), isIn.comparisonValues(), parameters));
     }
 
-    private String mapNotIn(IsNotIn isNotIn) {
+    private String mapNotIn(IsNotIn isNotIn, List<Object> parameters) {
         String key = formatKeyAsString(isNotIn.key());
-        return format("%s is null or %s not in %s", key, key, formatValuesAsString(isNotIn.comparisonValues()));
+        return format(
+                "%s is null or %s not in %s",
+                key,
+                key,
+                formatValues(isNotIn.key(), isNotIn.comparisonValues(), parameters));
     }
 
-    private String mapAnd(And and) {
-        return format("%s and %s", map(and.left()), map(and.right()));
+    private String mapAnd(And and, List<Object> parameters) {
+        return format("%s and %s", map(and.left(), parameters), map(and.right(), parameters));
     }
 
-    private String mapNot(Not not) {
-        return format("not(%s)", map(not.expression()));
+    private String mapNot(Not not, List<Object> parameters) {
+        return format("not(%s)", map(not.expression(), parameters));
     }
 
-    private String mapOr(Or or) {
-        return format("(%s or %s)", map(or.left()), map(or.right()));
+    private String mapOr(Or or, List<Object> parameters) {
+        return format("(%s or %s)", map(or.left(), parameters), map(or.right(), parameters));
     }
 
     String formatKey(String key, Class<?> valueType) {
+        if (metadataColumns.containsKey(key)) {
+            return formatColumn(key);
+        }
         return format("(metadata->>'%s')::%s", key, SQL_TYPE_MAP.get(valueType));
     }
 
     String formatKeyAsString(String key) {
+        if (metadataColumns.containsKey(key)) {
+            return formatColumn(key);
+        }
         return format("(metadata->>'%s')", key);
     }
 
@@ -136,7 +179,36 @@ public class DuckDBMetadataFilterMapper {
         }
     }
 
+    private String formatValue(Object value, List<Object> parameters) {
+        if (parameters == null) {
+            return formatValue(value);
+        }
+        parameters.add(value);
+        return "?";
+    }
+
+    /**
+     * Values of a typed column keep their type. Otherwise, they are compared as strings with the extracted JSON value.
+     */
+    private String formatValues(String key, Collection<?> values, List<Object> parameters) {
+        boolean typed = metadataColumns.containsKey(key);
+        if (parameters == null) {
+            return typed
+                    ? "(" + values.stream().map(this::formatValue).collect(Collectors.joining(",")) + ")"
+                    : formatValuesAsString(values);
+        }
+        values.forEach(value -> parameters.add(typed ? value : String.valueOf(value)));
+        return "(" + values.stream().map(v -> "?").collect(Collectors.joining(",")) + ")";
+    }
+
     String formatValuesAsString(Collection<?> values) {
         return "(" + values.stream().map(v -> format("'%s'", v)).collect(Collectors.joining(",")) + ")";
     }
+
+    /**
+     * @return the quoted name of the column of a metadata key
+     */
+    static String formatColumn(String key) {
+        return '"' + key.replace("\"", "\"\"") + '"';
+    }
 }
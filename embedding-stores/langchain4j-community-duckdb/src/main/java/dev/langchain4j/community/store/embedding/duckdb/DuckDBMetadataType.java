@@ -0,0 +1,103 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.duckdb.DuckDBAppender;
+
+/**
+ * SQL type of a metadata key stored in its own column rather than in the JSON metadata column.
+ * The types are the ones that {@link dev.langchain4j.data.document.Metadata} values can have.
+ */
+public enum DuckDBMetadataType {
+    TEXT("VARCHAR") {
+        @Override
+        Object read(ResultSet resultSet, String column) throws SQLException {
+            return resultSet.getString(column);
+        }
+
+        @Override
+        void append(DuckDBAppender appender, Object value) throws SQLException {
+            appender.append(String.valueOf(value));
+        }
+    },
+    INTEGER("INTEGER") {
+        @Override
+        Object read(ResultSet resultSet, String column) throws SQLException {
+            int value = resultSet.getInt(column);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        void append(DuckDBAppender appender, Object value) throws SQLException {
+            appender.append(((Number) value).intValue());
+        }
+    },
+    BIGINT("BIGINT") {
+        @Override
+        Object read(ResultSet resultSet, String column) throws SQLException {
+            long value = resultSet.getLong(column);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        void append(DuckDBAppender appender, Object value) throws SQLException {
+            appender.append(((Number) value).longValue());
+        }
+    },
+    FLOAT("FLOAT") {
+        @Override
+        Object read(ResultSet resultSet, String column) throws SQLException {
+            float value = resultSet.getFloat(column);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        void append(DuckDBAppender appender, Object value) throws SQLException {
+            appender.append(((Number) value).floatValue());
+        }
+    },
+    DOUBLE("DOUBLE") {
+        @Override
+        Object read(ResultSet resultSet, String column) throws SQLException {
+            double value = resultSet.getDouble(column);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        void append(DuckDBAppender appender, Object value) throws SQLException {
+            appender.append(((Number) value).doubleValue());
+        }
+    },
+    UUID("UUID") {
+        @Override
+        Object read(ResultSet resultSet, String column) throws SQLException {
+            String value = resultSet.getString(column);
+            return value == null ? null : java.util.UUID.fromString(value);
+        }
+
+        @Override
+        void append(DuckDBAppender appender, Object value) throws SQLException {
+            appender.append(value instanceof java.util.UUID uuid ? uuid : java.util.UUID.fromString(value.toString()));
+        }
+    };
+
+    private final String sqlType;
+
+    DuckDBMetadataType(String sqlType) {
+        this.sqlType = sqlType;
+    }
+
+    String sqlType() {
+        return sqlType;
+    }
+
+    /**
+     * @return the value of the column in the current row, or null
+     */
+    abstract Object read(ResultSet resultSet, String column) throws SQLException;
+
+    /**
+     * Appends a non-null value to the current row.
+     */
+    abstract void append(DuckDBAppender appender, Object value) throws SQLException;
+}
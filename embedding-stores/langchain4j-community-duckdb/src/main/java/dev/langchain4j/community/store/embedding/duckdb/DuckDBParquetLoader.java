@@ -0,0 +1,147 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads the Parquet files written by {@link DuckDBEmbeddingStore#exportTo(Path)} into any {@link EmbeddingStore},
+ * for instance to fill a store of another kind from a DuckDB snapshot. The file is read with an in-memory DuckDB
+ * database, and its rows are added to the store with {@link EmbeddingStore#addAll(List, List, List)}, in batches.
+ * <p>
+ * The columns after {@code id}, {@code embedding}, {@code text} and {@code metadata} are typed metadata columns,
+ * and are added to the metadata of each segment.
+ */
+public class DuckDBParquetLoader {
+
+    private static final String READ_PARQUET_TEMPLATE = """
+            select * from read_parquet('%s')
+            """;
+
+    private static final Set<String> CORE_COLUMNS = Set.of("id", "embedding", "text", "metadata");
+
+    private static final TypeReference<HashMap<String, Object>> METADATA_TYPE_REFERENCE = new TypeReference<>() {};
+
+    private final ObjectMapper jsonMetadataSerializer = new ObjectMapper();
+
+    /**
+     * Loads a Parquet file into a store, in batches of 1000 embeddings.
+     *
+     * @param file  Parquet file written by {@link DuckDBEmbeddingStore#exportTo(Path)}
+     * @param store Store to add the embeddings to
+     * @return the number of loaded embeddings
+     */
+    public long load(Path file, EmbeddingStore<TextSegment> store) {
+        return load(file, store, 1000);
+    }
+
+    /**
+     * Loads a Parquet file into a store.
+     *
+     * @param file      Parquet file written by {@link DuckDBEmbeddingStore#exportTo(Path)}
+     * @param store     Store to add the embeddings to
+     * @param batchSize Number of embeddings added to the store at once
+     * @return the number of loaded embeddings
+     */
+    public long load(Path file, EmbeddingStore<TextSegment> store, int batchSize) {
+        ensureNotNull(file, "file");
+        ensureNotNull(store, "store");
+        ensureGreaterThanZero(batchSize, "batchSize");
+        var sql = format(READ_PARQUET_TEMPLATE, file.toAbsolutePath().toString().replace("'", "''"));
+        try (var connection = DriverManager.getConnection("jdbc:duckdb:");
+                var statement = connection.createStatement();
+                var resultSet = statement.executeQuery(sql)) {
+            var metadataColumns = new ArrayList<String>();
+            var resultSetMetaData = resultSet.getMetaData();
+            for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+                var column = resultSetMetaData.getColumnLabel(i);
+                if (!CORE_COLUMNS.contains(column)) {
+                    metadataColumns.add(column);
+                }
+            }
+
+            long count = 0;
+            var ids = new ArrayList<String>(batchSize);
+            var embeddings = new ArrayList<Embedding>(batchSize);
+            var segments = new ArrayList<TextSegment>(batchSize);
+            while (resultSet.next()) {
+                ids.add(resultSet.getString("id"));
+                embeddings.add(toEmbedding(resultSet));
+                segments.add(toSegment(resultSet, metadataColumns));
+                if (ids.size() == batchSize) {
+                    count += addAll(store, ids, embeddings, segments);
+                }
+            }
+            return count + addAll(store, ids, embeddings, segments);
+        } catch (SQLException | JsonProcessingException e) {
+            throw new DuckDBSQLException(format("Unable to load embeddings from '%s'", file), e);
+        }
+    }
+
+    private static int addAll(
+            EmbeddingStore<TextSegment> store,
+            List<String> ids,
+            List<Embedding> embeddings,
+            List<TextSegment> segments) {
+        int size = ids.size();
+        if (size > 0) {
+            // Segments are null for embeddings added without content
+            store.addAll(new ArrayList<>(ids), new ArrayList<>(embeddings), new ArrayList<>(segments));
+            ids.clear();
+            embeddings.clear();
+            segments.clear();
+        }
+        return size;
+    }
+
+    private static Embedding toEmbedding(ResultSet resultSet) throws SQLException {
+        var sqlList = (Object[]) resultSet.getArray("embedding").getArray();
+        var vector = new float[sqlList.length];
+        for (int i = 0; i < sqlList.length; i++) {
+            vector[i] = (float) sqlList[i];
+        }
+        return new Embedding(vector);
+    }
+
+    private TextSegment toSegment(ResultSet resultSet, List<String> metadataColumns)
+            throws SQLException, JsonProcessingException {
+        var text = resultSet.getString("text");
+        if (text == null) {
+            return null;
+        }
+        var metadataJson = resultSet.getString("metadata");
+        var metadataMap = new HashMap<String, Object>();
+        if (metadataJson != null && !metadataJson.equals("{}") && !metadataJson.equals("null")) {
+            metadataMap.putAll(jsonMetadataSerializer.readValue(metadataJson, METADATA_TYPE_REFERENCE));
+        }
+        for (String column : metadataColumns) {
+            var value = resultSet.getObject(column);
+            if (value instanceof String
+                    || value instanceof UUID
+                    || value instanceof Integer
+                    || value instanceof Long
+                    || value instanceof Float
+                    || value instanceof Double) {
+                metadataMap.put(column, value);
+            }
+        }
+        return TextSegment.from(text, Metadata.from(metadataMap));
+    }
+}
@@ -0,0 +1,74 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A duplicated connection with its prepared statements, cached by SQL. Search statements bind the query vector and
+ * all the values as parameters, so their SQL only depends on the shape of the filter, and a statement is prepared
+ * once per filter shape. When the cache is full, the least recently used statement is closed.
+ * <p>
+ * A DuckDB connection must not be used by several threads at once, so a cache is only used by one search at a time.
+ */
+class DuckDBStatementCache implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DuckDBStatementCache.class);
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+
+    DuckDBStatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    /**
+     * @param sql SQL of the statement
+     * @return the cached statement for this SQL, prepared if it is not cached yet
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    @Override
+    public void close() {
+        statements.values().forEach(DuckDBStatementCache::closeQuietly);
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Unable to close duckDB connection", e);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.warn("Unable to close duckDB prepared statement", e);
+        }
+    }
+}
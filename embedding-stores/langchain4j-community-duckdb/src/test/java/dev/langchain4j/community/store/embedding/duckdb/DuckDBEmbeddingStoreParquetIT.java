@@ -0,0 +1,102 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DuckDBEmbeddingStoreParquetIT {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_import_exported_embeddings() {
+        var source = store(null);
+        add(source);
+        var file = tempDir.resolve("embeddings.parquet");
+
+        source.exportTo(file, 4);
+        var target = store(null);
+        target.importFrom(file);
+
+        assertThat(search(target)).containsExactlyElementsOf(search(source));
+        var metadata = matches(target).get(0).embedded().metadata();
+        assertThat(metadata.getInteger("category")).isZero();
+        assertThat(metadata.getString("comment")).isEqualTo("comment-0");
+    }
+
+    @Test
+    void should_rebuild_hnsw_index_after_import() {
+        var source = store(null);
+        add(source);
+        var file = tempDir.resolve("embeddings.parquet");
+        source.exportTo(file);
+
+        var target = store(DuckDBHnswIndex.builder().build());
+        target.importFrom(file);
+
+        assertThat(search(target)).containsExactlyElementsOf(search(source));
+    }
+
+    @Test
+    void should_load_exported_embeddings_into_another_store() {
+        var source = store(null);
+        add(source);
+        var file = tempDir.resolve("embeddings.parquet");
+        source.exportTo(file);
+
+        var target = new InMemoryEmbeddingStore<TextSegment>();
+        long count = new DuckDBParquetLoader().load(file, target, 3);
+
+        assertThat(count).isEqualTo(10);
+        assertThat(search(target)).containsExactlyElementsOf(search(source));
+    }
+
+    private static DuckDBEmbeddingStore store(DuckDBHnswIndex hnswIndex) {
+        return DuckDBEmbeddingStore.builder()
+                .dimension(2)
+                .hnswIndex(hnswIndex)
+                .metadataColumns(Map.of("category", DuckDBMetadataType.INTEGER))
+                .build();
+    }
+
+    private static void add(DuckDBEmbeddingStore store) {
+        var ids = new ArrayList<String>();
+        var embeddings = new ArrayList<Embedding>();
+        var segments = new ArrayList<TextSegment>();
+        for (int i = 0; i < 10; i++) {
+            var metadata = new Metadata().put("category", i).put("comment", "comment-" + i);
+            ids.add(UUID.randomUUID().toString());
+            embeddings.add(Embedding.from(new float[] {1, i}));
+            segments.add(TextSegment.from("segment " + i, metadata));
+        }
+        store.addAll(ids, embeddings, segments);
+    }
+
+    private static List<String> search(EmbeddingStore<TextSegment> store) {
+        return matches(store).stream()
+                .map(match -> match.embeddingId() + " " + match.embedded())
+                .toList();
+    }
+
+    private static List<EmbeddingMatch<TextSegment>> matches(EmbeddingStore<TextSegment> store) {
+        var request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {1, 0}))
+                .maxResults(10)
+                .build();
+        return store.search(request).matches();
+    }
+}
@@ -0,0 +1,95 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DuckDBEmbeddingStoreStatementCacheTest {
+
+    private DuckDBEmbeddingStore store;
+
+    @Test
+    void should_bind_new_values_to_statements_of_the_same_filter_shape() {
+        assertThat(search(metadataKey("category").isEqualTo(3))).containsExactly("segment 3");
+        assertThat(search(metadataKey("category").isEqualTo(7))).containsExactly("segment 7");
+        assertThat(search(metadataKey("category")
+                        .isGreaterThan(1)
+                        .and(metadataKey("comment").isNotEqualTo("comment-3"))))
+                .containsExactlyInAnyOrder(
+                        "segment 2", "segment 4", "segment 5", "segment 6", "segment 7", "segment 8", "segment 9");
+        assertThat(search(metadataKey("category")
+                        .isGreaterThan(7)
+                        .and(metadataKey("comment").isNotEqualTo("comment-9"))))
+                .containsExactly("segment 8");
+
+        assertThat(store.idleStatementCaches()).hasSize(1);
+    }
+
+    @Test
+    void should_bind_in_filters_with_different_value_counts() {
+        assertThat(search(metadataKey("category").isIn(1, 2))).containsExactlyInAnyOrder("segment 1", "segment 2");
+        assertThat(search(metadataKey("category").isIn(4, 5, 6)))
+                .containsExactlyInAnyOrder("segment 4", "segment 5", "segment 6");
+        assertThat(search(metadataKey("category").isIn(9))).containsExactly("segment 9");
+        assertThat(search(metadataKey("category").isIn(3, 8))).containsExactlyInAnyOrder("segment 3", "segment 8");
+        assertThat(search(metadataKey("comment").isNotIn("comment-0", "comment-1", "comment-2")))
+                .hasSize(7)
+                .doesNotContain("segment 0", "segment 1", "segment 2");
+    }
+
+    @Test
+    void should_close_statement_cache_of_failed_search() throws SQLException {
+        search(metadataKey("category").isEqualTo(1));
+        var statementCache = store.idleStatementCaches().get(0);
+
+        // comments are not numbers
+        assertThatThrownBy(() -> search(metadataKey("comment").isGreaterThan(5)))
+                .isInstanceOf(DuckDBSQLException.class);
+
+        assertThat(store.idleStatementCaches()).isEmpty();
+        assertThat(statementCache.connection().isClosed()).isTrue();
+        assertThat(search(metadataKey("category").isEqualTo(1))).containsExactly("segment 1");
+        assertThat(store.idleStatementCaches()).hasSize(1).doesNotContain(statementCache);
+    }
+
+    private List<String> search(Filter filter) {
+        var request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {1, 0}))
+                .maxResults(100)
+                .filter(filter)
+                .build();
+        return store.search(request).matches().stream()
+                .map(match -> match.embedded().text())
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        store = DuckDBEmbeddingStore.builder().dimension(2).statementCacheSize(2).build();
+        var embeddings = new ArrayList<Embedding>();
+        var segments = new ArrayList<TextSegment>();
+        for (int i = 0; i < 10; i++) {
+            embeddings.add(Embedding.from(new float[] {1, i}));
+            segments.add(TextSegment.from(
+                    "segment " + i, new Metadata().put("category", i).put("comment", "comment-" + i)));
+        }
+        store.addAll(embeddings, segments);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+}
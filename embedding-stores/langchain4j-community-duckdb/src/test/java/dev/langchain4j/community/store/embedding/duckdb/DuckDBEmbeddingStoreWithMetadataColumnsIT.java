@@ -0,0 +1,159 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DuckDBEmbeddingStoreWithMetadataColumnsIT {
+
+    private static final UUID OWNER = UUID.randomUUID();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_round_trip_typed_and_json_metadata(boolean bulk) {
+        var store = store();
+        add(store, bulk);
+
+        var matches = search(store, null);
+
+        assertThat(matches).hasSize(10);
+        var metadata = matches.stream()
+                .filter(match -> match.embedded().text().equals("segment 3"))
+                .findFirst()
+                .orElseThrow()
+                .embedded()
+                .metadata();
+        assertThat(metadata.getString("source")).isEqualTo("source-3");
+        assertThat(metadata.getInteger("category")).isEqualTo(3);
+        assertThat(metadata.getLong("position")).isEqualTo(3000L);
+        assertThat(metadata.getDouble("weight")).isEqualTo(1.5);
+        assertThat(metadata.getUUID("owner")).isEqualTo(OWNER);
+        assertThat(metadata.getString("comment")).isEqualTo("comment-3");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_filter_typed_columns(boolean bulk) {
+        var store = store();
+        add(store, bulk);
+
+        assertThat(texts(search(store, metadataKey("category").isGreaterThanOrEqualTo(8))))
+                .containsExactlyInAnyOrder("segment 8", "segment 9");
+        assertThat(texts(search(store, metadataKey("source").isIn("source-1", "source-2"))))
+                .containsExactlyInAnyOrder("segment 1", "segment 2");
+        assertThat(texts(search(store, metadataKey("category").isIn(4, 5))))
+                .containsExactlyInAnyOrder("segment 4", "segment 5");
+        assertThat(texts(search(
+                        store,
+                        metadataKey("category").isLessThan(2).or(metadataKey("comment").isEqualTo("comment-9")))))
+                .containsExactlyInAnyOrder("segment 0", "segment 1", "segment 9");
+        assertThat(search(store, metadataKey("owner").isNotEqualTo(OWNER))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void should_remove_by_typed_column(boolean bulk) {
+        var store = store();
+        add(store, bulk);
+
+        store.removeAll(metadataKey("category").isLessThan(5));
+
+        assertThat(texts(search(store, null)))
+                .containsExactlyInAnyOrder("segment 5", "segment 6", "segment 7", "segment 8", "segment 9");
+    }
+
+    @Test
+    void should_bulk_add_to_table_with_columns_in_another_order(@TempDir Path tempDir) {
+        var filePath = tempDir.resolve("embeddings.duckdb").toString();
+        DuckDBEmbeddingStore.builder()
+                .filePath(filePath)
+                .dimension(2)
+                .metadataColumns(Map.of("category", DuckDBMetadataType.INTEGER))
+                .build()
+                .close();
+
+        // The table already has the category column, the other ones are added after it
+        try (var store = DuckDBEmbeddingStore.builder()
+                .filePath(filePath)
+                .dimension(2)
+                .metadataColumns(metadataColumns())
+                .build()) {
+            add(store, true);
+
+            assertThat(texts(search(store, metadataKey("category").isEqualTo(3)))).containsExactly("segment 3");
+            assertThat(texts(search(store, metadataKey("source").isEqualTo("source-4"))))
+                    .containsExactly("segment 4");
+            assertThat(texts(search(store, metadataKey("position").isGreaterThan(7500L))))
+                    .containsExactlyInAnyOrder("segment 8", "segment 9");
+        }
+    }
+
+    private static DuckDBEmbeddingStore store() {
+        return DuckDBEmbeddingStore.builder()
+                .dimension(2)
+                .metadataColumns(metadataColumns())
+                .build();
+    }
+
+    private static Map<String, DuckDBMetadataType> metadataColumns() {
+        Map<String, DuckDBMetadataType> metadataColumns = new LinkedHashMap<>();
+        metadataColumns.put("source", DuckDBMetadataType.TEXT);
+        metadataColumns.put("category", DuckDBMetadataType.INTEGER);
+        metadataColumns.put("position", DuckDBMetadataType.BIGINT);
+        metadataColumns.put("weight", DuckDBMetadataType.DOUBLE);
+        metadataColumns.put("owner", DuckDBMetadataType.UUID);
+        return metadataColumns;
+    }
+
+    private static void add(DuckDBEmbeddingStore store, boolean bulk) {
+        var ids = new ArrayList<String>();
+        var embeddings = new ArrayList<Embedding>();
+        var segments = new ArrayList<TextSegment>();
+        for (int i = 0; i < 10; i++) {
+            var metadata = new Metadata()
+                    .put("source", "source-" + i)
+                    .put("category", i)
+                    .put("position", i * 1000L)
+                    .put("weight", 1.5)
+                    .put("owner", OWNER)
+                    .put("comment", "comment-" + i);
+            ids.add(UUID.randomUUID().toString());
+            embeddings.add(Embedding.from(new float[] {1, i}));
+            segments.add(TextSegment.from("segment " + i, metadata));
+        }
+        if (bulk) {
+            store.bulkAddAll(ids, embeddings, segments);
+        } else {
+            store.addAll(ids, embeddings, segments);
+        }
+    }
+
+    private static List<EmbeddingMatch<TextSegment>> search(DuckDBEmbeddingStore store, Filter filter) {
+        var request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {1, 0}))
+                .maxResults(100)
+                .filter(filter)
+                .build();
+        return store.search(request).matches();
+    }
+
+    private static List<String> texts(List<EmbeddingMatch<TextSegment>> matches) {
+        return matches.stream().map(match -> match.embedded().text()).toList();
+    }
+}
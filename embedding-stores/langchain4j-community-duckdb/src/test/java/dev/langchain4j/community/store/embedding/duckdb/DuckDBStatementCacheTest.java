@@ -0,0 +1,51 @@
+package dev.langchain4j.community.store.embedding.duckdb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+class DuckDBStatementCacheTest {
+
+    @Test
+    void should_reuse_statements_of_the_same_sql() throws SQLException {
+        try (var cache = new DuckDBStatementCache(DriverManager.getConnection("jdbc:duckdb:"), 2)) {
+            var statement = cache.prepare("select 1");
+
+            assertThat(cache.prepare("select 1")).isSameAs(statement);
+            assertThat(cache.prepare("select 2")).isNotSameAs(statement);
+        }
+    }
+
+    @Test
+    void should_close_least_recently_used_statement_when_full() throws SQLException {
+        try (var cache = new DuckDBStatementCache(DriverManager.getConnection("jdbc:duckdb:"), 2)) {
+            var first = cache.prepare("select 1");
+            var second = cache.prepare("select 2");
+            cache.prepare("select 1");
+
+            var third = cache.prepare("select 3");
+
+            assertThat(second.isClosed()).isTrue();
+            assertThat(first.isClosed()).isFalse();
+            assertThat(third.isClosed()).isFalse();
+            assertThat(cache.prepare("select 1")).isSameAs(first);
+            assertThat(cache.prepare("select 2")).isNotSameAs(second);
+            assertThat(third.isClosed()).isTrue();
+        }
+    }
+
+    @Test
+    void should_close_statements_and_connection() throws SQLException {
+        var cache = new DuckDBStatementCache(DriverManager.getConnection("jdbc:duckdb:"), 2);
+        var first = cache.prepare("select 1");
+        var second = cache.prepare("select 2");
+
+        cache.close();
+
+        assertThat(first.isClosed()).isTrue();
+        assertThat(second.isClosed()).isTrue();
+        assertThat(cache.connection().isClosed()).isTrue();
+    }
+}
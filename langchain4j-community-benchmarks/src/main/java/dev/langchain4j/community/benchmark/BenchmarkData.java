@@ -0,0 +1,89 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the same pseudo-random corpus on every run, so that results of different runs can be compared.
+ */
+public final class BenchmarkData {
+
+    private static final int VOCABULARY_SIZE = 5_000;
+    private static final String[] VOCABULARY = vocabulary();
+
+    private BenchmarkData() {}
+
+    /**
+     * @param count         The number of documents.
+     * @param wordsPerDocument The number of words of each document.
+     * @return Documents with a {@code source} and a {@code category} metadata entry.
+     */
+    public static List<Document> documents(int count, int wordsPerDocument) {
+        Random random = new Random(42);
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Metadata metadata = new Metadata().put("source", "document-" + i).put("category", i % 10);
+            documents.add(Document.from(text(random, wordsPerDocument), metadata));
+        }
+        return documents;
+    }
+
+    /**
+     * @param count          The number of segments.
+     * @param wordsPerSegment The number of words of each segment.
+     * @return Segments with a {@code source} and a {@code category} metadata entry.
+     */
+    public static List<TextSegment> segments(int count, int wordsPerSegment) {
+        Random random = new Random(7);
+        List<TextSegment> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Metadata metadata = new Metadata().put("source", "segment-" + i).put("category", i % 10);
+            segments.add(TextSegment.from(text(random, wordsPerSegment), metadata));
+        }
+        return segments;
+    }
+
+    /**
+     * @param count The number of queries.
+     * @return Short queries drawn from the same vocabulary as the corpus.
+     */
+    public static List<String> queries(int count) {
+        Random random = new Random(13);
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            queries.add(text(random, 8));
+        }
+        return queries;
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                text.append(w % 15 == 0 ? ". " : " ");
+            }
+            // Skewed towards frequent words, like natural language
+            int index = (int) Math.min(VOCABULARY_SIZE - 1, Math.abs(random.nextGaussian()) * VOCABULARY_SIZE / 4);
+            text.append(VOCABULARY[index]);
+        }
+        return text.append('.').toString();
+    }
+
+    private static String[] vocabulary() {
+        Random random = new Random(1);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            int length = 3 + random.nextInt(8);
+            StringBuilder word = new StringBuilder(length);
+            for (int c = 0; c < length; c++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+}
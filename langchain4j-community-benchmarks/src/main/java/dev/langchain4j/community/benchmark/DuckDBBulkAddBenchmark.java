@@ -0,0 +1,104 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the two ingestion paths of the DuckDB store, in segments per second: {@code addAll}, which binds every
+ * row to a batch of insert statements, and {@code bulkAddAll}, which writes rows with the native appender.
+ * Each iteration starts from an empty file-backed database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DuckDBBulkAddBenchmark {
+
+    static final int BATCH_SIZE = 1024;
+    private static final int DISTINCT_BATCHES = 8;
+
+    public enum IngestPath {
+        BATCH,
+        APPENDER
+    }
+
+    @Param({"BATCH", "APPENDER"})
+    public IngestPath ingestPath;
+
+    @Param({"false", "true"})
+    public boolean fixedSize;
+
+    @Param({"384"})
+    public int dimension;
+
+    private List<List<TextSegment>> segmentBatches;
+    private List<List<Embedding>> embeddingBatches;
+    private Path workDirectory;
+    private DuckDBEmbeddingStore embeddingStore;
+    private int nextBatch;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        StubEmbeddingModel embeddingModel = new StubEmbeddingModel(dimension);
+        List<TextSegment> segments = BenchmarkData.segments(BATCH_SIZE * DISTINCT_BATCHES, 80);
+        segmentBatches = new ArrayList<>();
+        embeddingBatches = new ArrayList<>();
+        for (int from = 0; from < segments.size(); from += BATCH_SIZE) {
+            List<TextSegment> batch = segments.subList(from, from + BATCH_SIZE);
+            segmentBatches.add(batch);
+            embeddingBatches.add(embeddingModel.embedAll(batch).content());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        workDirectory = WorkDirectory.create();
+        embeddingStore = DuckDBEmbeddingStore.builder()
+                .filePath(workDirectory.resolve("embeddings.duckdb").toString())
+                .dimension(fixedSize ? dimension : null)
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        embeddingStore.close();
+        WorkDirectory.delete(workDirectory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void add() {
+        int batch = nextBatch++ % DISTINCT_BATCHES;
+        List<String> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        if (ingestPath == IngestPath.APPENDER) {
+            embeddingStore.bulkAddAll(ids, embeddingBatches.get(batch), segmentBatches.get(batch));
+        } else {
+            embeddingStore.addAll(ids, embeddingBatches.get(batch), segmentBatches.get(batch));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many segments per second each in-process store accepts through {@code addAll},
+ * in batches of {@value #BATCH_SIZE} segments. Each iteration starts from an empty store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmbeddingStoreAddBenchmark {
+
+    static final int BATCH_SIZE = 256;
+    private static final int DISTINCT_BATCHES = 16;
+
+    @Param({"IN_MEMORY", "LUCENE", "DUCKDB"})
+    public StoreType storeType;
+
+    @Param({"384"})
+    public int dimension;
+
+    private List<List<TextSegment>> segmentBatches;
+    private List<List<Embedding>> embeddingBatches;
+    private Path workDirectory;
+    private StoreType.OpenStore openStore;
+    private EmbeddingStore<TextSegment> embeddingStore;
+    private int nextBatch;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        StubEmbeddingModel embeddingModel = new StubEmbeddingModel(dimension);
+        List<TextSegment> segments = BenchmarkData.segments(BATCH_SIZE * DISTINCT_BATCHES, 80);
+        segmentBatches = new ArrayList<>();
+        embeddingBatches = new ArrayList<>();
+        for (int from = 0; from < segments.size(); from += BATCH_SIZE) {
+            List<TextSegment> batch = segments.subList(from, from + BATCH_SIZE);
+            segmentBatches.add(batch);
+            embeddingBatches.add(embeddingModel.embedAll(batch).content());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        workDirectory = WorkDirectory.create();
+        openStore = storeType.open(workDirectory);
+        embeddingStore = openStore.store();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        openStore.close();
+        WorkDirectory.delete(workDirectory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void addAll() {
+        int batch = nextBatch++ % DISTINCT_BATCHES;
+        List<String> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        embeddingStore.addAll(ids, embeddingBatches.get(batch), segmentBatches.get(batch));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency distribution of a top-k vector search against each in-process store.
+ * JMH reports the p50, p90, p99 and p99.9 latencies of the sampled searches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmbeddingStoreSearchBenchmark {
+
+    private static final int QUERY_COUNT = 256;
+
+    @Param({"IN_MEMORY", "LUCENE", "DUCKDB"})
+    public StoreType storeType;
+
+    @Param({"10000"})
+    public int corpusSize;
+
+    @Param({"384"})
+    public int dimension;
+
+    @Param({"10"})
+    public int maxResults;
+
+    private Path workDirectory;
+    private StoreType.OpenStore openStore;
+    private EmbeddingStore<TextSegment> embeddingStore;
+    private List<Embedding> queryEmbeddings;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubEmbeddingModel embeddingModel = new StubEmbeddingModel(dimension);
+        workDirectory = WorkDirectory.create();
+        openStore = storeType.open(workDirectory);
+        embeddingStore = openStore.store();
+
+        List<TextSegment> segments = BenchmarkData.segments(corpusSize, 80);
+        int batchSize = 1_000;
+        for (int from = 0; from < segments.size(); from += batchSize) {
+            List<TextSegment> batch = segments.subList(from, Math.min(from + batchSize, segments.size()));
+            embeddingStore.addAll(embeddingModel.embedAll(batch).content(), batch);
+        }
+
+        queryEmbeddings = BenchmarkData.queries(QUERY_COUNT).stream()
+                .map(query -> embeddingModel.embed(query).content())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        openStore.close();
+        WorkDirectory.delete(workDirectory);
+    }
+
+    @Benchmark
+    public EmbeddingSearchResult<TextSegment> search() {
+        Embedding queryEmbedding = queryEmbeddings.get(nextQuery++ % QUERY_COUNT);
+        return embeddingStore.search(EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(maxResults)
+                .build());
+    }
+}
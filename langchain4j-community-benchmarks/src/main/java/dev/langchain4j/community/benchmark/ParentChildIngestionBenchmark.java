@@ -0,0 +1,111 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.community.store.embedding.ParentChildEmbeddingStoreIngestor;
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.splitter.DocumentSplitters;
+import dev.langchain4j.store.embedding.IngestionResult;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the ingestion throughput of {@link ParentChildEmbeddingStoreIngestor}, in ingestions of
+ * {@code documentCount} documents per second and in embedded segments per second, with the legacy per-parent
+ * path (no batch size) and with cross-parent batches, embedded one or several at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParentChildIngestionBenchmark {
+
+    /**
+     * The ingestion paths under measurement. The legacy path embeds one parent at a time, so it is only measured
+     * without concurrency.
+     */
+    public enum IngestionPath {
+        LEGACY(null, 1),
+        BATCHED(64, 1),
+        BATCHED_CONCURRENT(64, 4);
+
+        private final Integer batchSize;
+        private final int maxConcurrency;
+
+        IngestionPath(Integer batchSize, int maxConcurrency) {
+            this.batchSize = batchSize;
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+
+    @Param({"LEGACY", "BATCHED", "BATCHED_CONCURRENT"})
+    public IngestionPath ingestionPath;
+
+    @Param({"100"})
+    public int documentCount;
+
+    private List<Document> documents;
+    private StubEmbeddingModel embeddingModel;
+    private ExecutorService executor;
+    private ParentChildEmbeddingStoreIngestor ingestor;
+
+    /**
+     * Counts the stored segments, reported by JMH as segments per second next to the documents per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class SegmentCounter {
+
+        public long segments;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        documents = BenchmarkData.documents(documentCount, 1_000);
+        embeddingModel = new StubEmbeddingModel(384);
+        executor = Executors.newFixedThreadPool(ingestionPath.maxConcurrency);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        executor.shutdownNow();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentSplitter(DocumentSplitters.recursive(2_000, 0))
+                .documentChildSplitter(DocumentSplitters.recursive(400, 40))
+                .embeddingModel(embeddingModel)
+                .embeddingStore(new InMemoryEmbeddingStore<>())
+                .batchSize(ingestionPath.batchSize)
+                .maxConcurrency(ingestionPath.maxConcurrency)
+                .executor(executor)
+                .build();
+    }
+
+    @Benchmark
+    public IngestionResult ingest(SegmentCounter counter) {
+        long embeddedBefore = embeddingModel.embeddedSegments();
+        IngestionResult result = ingestor.ingest(documents);
+        counter.segments += embeddingModel.embeddedSegments() - embeddedBefore;
+        return result;
+    }
+}
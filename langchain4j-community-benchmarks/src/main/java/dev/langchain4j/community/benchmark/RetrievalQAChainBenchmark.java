@@ -0,0 +1,90 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.community.chain.RetrievalQAChain;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.rag.content.retriever.EmbeddingStoreContentRetriever;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of {@link RetrievalQAChain} around stub models: the latency of a single
+ * {@code execute}, and the throughput of {@code executeAll} over {@value #QUERY_COUNT} queries.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RetrievalQAChainBenchmark {
+
+    static final int QUERY_COUNT = 64;
+
+    @Param({"5000"})
+    public int corpusSize;
+
+    @Param({"4"})
+    public int maxConcurrency;
+
+    private ExecutorService executor;
+    private RetrievalQAChain chain;
+    private List<Query> queries;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubEmbeddingModel embeddingModel = new StubEmbeddingModel(384);
+        InMemoryEmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();
+        List<TextSegment> segments = BenchmarkData.segments(corpusSize, 80);
+        embeddingStore.addAll(embeddingModel.embedAll(segments).content(), segments);
+
+        executor = Executors.newFixedThreadPool(maxConcurrency);
+        chain = RetrievalQAChain.builder()
+                .chatModel(new StubChatModel())
+                .contentRetriever(EmbeddingStoreContentRetriever.builder()
+                        .embeddingModel(embeddingModel)
+                        .embeddingStore(embeddingStore)
+                        .maxResults(5)
+                        .build())
+                .executor(executor)
+                .maxConcurrency(maxConcurrency)
+                .build();
+        queries = BenchmarkData.queries(QUERY_COUNT).stream().map(Query::from).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public String execute() {
+        return chain.execute(queries.get(nextQuery++ % QUERY_COUNT));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(QUERY_COUNT)
+    public List<String> executeAll() {
+        return chain.executeAll(queries);
+    }
+}
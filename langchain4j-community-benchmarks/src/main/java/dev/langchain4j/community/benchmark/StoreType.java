@@ -0,0 +1,66 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.community.rag.content.retriever.lucene.LuceneEmbeddingStore;
+import dev.langchain4j.community.store.embedding.duckdb.DuckDBEmbeddingStore;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+
+/**
+ * The in-process embedding stores under measurement.
+ */
+public enum StoreType {
+    IN_MEMORY {
+        @Override
+        OpenStore open(Path workDirectory) {
+            return new OpenStore(new InMemoryEmbeddingStore<>(), () -> {});
+        }
+    },
+    LUCENE {
+        @Override
+        OpenStore open(Path workDirectory) {
+            try {
+                Directory directory = new MMapDirectory(workDirectory.resolve("lucene"));
+                return new OpenStore(LuceneEmbeddingStore.builder().directory(directory).build(), directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    },
+    DUCKDB {
+        @Override
+        OpenStore open(Path workDirectory) {
+            DuckDBEmbeddingStore store = DuckDBEmbeddingStore.builder()
+                    .filePath(workDirectory.resolve("embeddings.duckdb").toString())
+                    .build();
+            return new OpenStore(store, store);
+        }
+    };
+
+    /**
+     * @param workDirectory A fresh directory the store may write to.
+     * @return A new, empty store, to be closed before the directory is deleted.
+     */
+    abstract OpenStore open(Path workDirectory);
+
+    /**
+     * A store under measurement and the resource holding its files: the connection of a DuckDB store,
+     * the directory of a Lucene store.
+     */
+    record OpenStore(EmbeddingStore<TextSegment> store, AutoCloseable resource) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close the store", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.List;
+
+/**
+ * A deterministic, in-process {@link ChatModel} answering with the first characters of the last user message.
+ */
+public class StubChatModel implements ChatModel {
+
+    private static final int ANSWER_LENGTH = 64;
+
+    @Override
+    public ChatResponse doChat(ChatRequest chatRequest) {
+        List<ChatMessage> messages = chatRequest.messages();
+        String prompt = "";
+        if (messages.get(messages.size() - 1) instanceof UserMessage userMessage) {
+            prompt = userMessage.singleText();
+        }
+        String answer = prompt.substring(0, Math.min(ANSWER_LENGTH, prompt.length()));
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(answer))
+                .tokenUsage(new TokenUsage(prompt.length() / 4, answer.length() / 4))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.langchain4j.community.benchmark;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A deterministic, in-process {@link EmbeddingModel}.
+ * <p>
+ * Each word of a text is hashed into one of {@code dimension} buckets, and the resulting vector is normalized.
+ * Texts sharing words get similar vectors, so searches return meaningful neighbours, while the cost of
+ * embedding stays negligible next to the code under measurement.
+ * </p>
+ */
+public class StubEmbeddingModel implements EmbeddingModel {
+
+    private final int dimension;
+    private final LongAdder embeddedSegments = new LongAdder();
+
+    public StubEmbeddingModel(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        List<Embedding> embeddings = new ArrayList<>(textSegments.size());
+        int tokens = 0;
+        for (TextSegment textSegment : textSegments) {
+            float[] vector = new float[dimension];
+            int wordStart = -1;
+            String text = textSegment.text();
+            for (int i = 0; i <= text.length(); i++) {
+                boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (letter && wordStart < 0) {
+                    wordStart = i;
+                } else if (!letter && wordStart >= 0) {
+                    int hash = text.substring(wordStart, i).hashCode();
+                    vector[Math.floorMod(hash, dimension)] += (hash & 1) == 0 ? 1 : -1;
+                    wordStart = -1;
+                    tokens++;
+                }
+            }
+            embeddings.add(Embedding.from(normalize(vector)));
+        }
+        embeddedSegments.add(textSegments.size());
+        return Response.from(embeddings, new TokenUsage(tokens));
+    }
+
+    /**
+     * @return The number of segments embedded so far.
+     */
+    public long embeddedSegments() {
+        return embeddedSegments.sum();
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            vector[0] = 1;
+            return vector;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+}
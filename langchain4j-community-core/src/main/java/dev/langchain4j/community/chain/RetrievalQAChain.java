@@ -1,9 +1,19 @@
 package dev.langchain4j.community.chain;
 
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
 import dev.langchain4j.Experimental;
 import dev.langchain4j.chain.Chain;
+import dev.langchain4j.community.internal.DefaultExecutorProvider;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.input.PromptTemplate;
 import dev.langchain4j.rag.AugmentationRequest;
 import dev.langchain4j.rag.AugmentationResult;
@@ -13,6 +23,14 @@ import dev.langchain4j.rag.content.injector.DefaultContentInjector;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.rag.query.Metadata;
 import dev.langchain4j.rag.query.Query;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * A conversational chain that interacts with a specified {@link ChatModel},
@@ -22,6 +40,18 @@ import dev.langchain4j.rag.query.Query;
  * where relevant context is retrieved and injected into the conversation before
  * invoking the chat model.
  * </p>
+ * <p>
+ * Besides the blocking {@link #execute(Query)}, the chain can run on an {@link Executor}:
+ * {@link #executeAsync(Query)} returns immediately with a future answer,
+ * {@link #executeStreaming(Query, StreamingChatResponseHandler)} streams the answer of a
+ * {@link StreamingChatModel} as it is generated, and {@link #executeAll(List)} answers many queries
+ * concurrently, with at most {@link Builder#maxConcurrency(Integer) maxConcurrency} queries in flight.
+ * </p>
+ * <p>
+ * When a {@link SemanticAnswerCache} is configured, every execution first looks for the answer of a similar
+ * query in the cache, and only runs the retrieval and the chat model when none is found. New answers are
+ * added to the cache.
+ * </p>
  *
  * @since 1.1.0-beta7
  */
@@ -29,17 +59,205 @@ import dev.langchain4j.rag.query.Query;
 public class RetrievalQAChain implements Chain<Query, String> {
 
     private final ChatModel chatModel;
+    private final StreamingChatModel streamingChatModel;
     private final RetrievalAugmentor retrievalAugmentor;
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final SemanticAnswerCache semanticCache;
 
     public RetrievalQAChain(final ChatModel chatModel, final RetrievalAugmentor retrievalAugmentor) {
         this.chatModel = chatModel;
+        this.streamingChatModel = null;
+        this.retrievalAugmentor = retrievalAugmentor;
+        this.executor = DefaultExecutorProvider.defaultExecutorService();
+        this.maxConcurrency = Builder.DEFAULT_MAX_CONCURRENCY;
+        this.semanticCache = null;
+    }
+
+    private RetrievalQAChain(final Builder builder, final RetrievalAugmentor retrievalAugmentor) {
+        this.chatModel = builder.chatModel;
+        this.streamingChatModel = builder.streamingChatModel;
         this.retrievalAugmentor = retrievalAugmentor;
+        this.executor = getOrDefault(builder.executor, DefaultExecutorProvider::defaultExecutorService);
+        this.maxConcurrency = ensureGreaterThanZero(
+                getOrDefault(builder.maxConcurrency, Builder.DEFAULT_MAX_CONCURRENCY), "maxConcurrency");
+        this.semanticCache = builder.semanticCache;
     }
 
     @Override
     public String execute(final Query query) {
-        UserMessage userMessage = augment(query);
-        return chatModel.chat(userMessage.singleText());
+        ensureNotNull(chatModel, "chatModel");
+        if (semanticCache == null) {
+            return chatModel.chat(augment(query).singleText());
+        }
+
+        Embedding queryEmbedding = semanticCache.embed(query);
+        String cachedAnswer = semanticCache.get(queryEmbedding);
+        if (cachedAnswer != null) {
+            return cachedAnswer;
+        }
+        String answer = chatModel.chat(augment(query).singleText());
+        semanticCache.put(query, queryEmbedding, answer);
+        return answer;
+    }
+
+    /**
+     * Answers the given query on the configured executor.
+     *
+     * @param query The query.
+     * @return The future answer. It completes exceptionally if the retrieval or the chat model fails.
+     */
+    public CompletableFuture<String> executeAsync(final Query query) {
+        ensureNotNull(chatModel, "chatModel");
+        return CompletableFuture.supplyAsync(() -> execute(query), executor);
+    }
+
+    /**
+     * Answers the given query with the configured {@link StreamingChatModel}. The retrieval runs on the
+     * configured executor, then the answer is passed to the handler as it is generated.
+     * Failures of the retrieval are reported through {@link StreamingChatResponseHandler#onError(Throwable)}.
+     *
+     * @param query   The query.
+     * @param handler The handler receiving the partial and complete responses.
+     */
+    public void executeStreaming(final Query query, final StreamingChatResponseHandler handler) {
+        ensureNotNull(streamingChatModel, "streamingChatModel");
+        ensureNotNull(handler, "handler");
+        executor.execute(() -> {
+            Embedding queryEmbedding = null;
+            UserMessage userMessage;
+            try {
+                if (semanticCache != null) {
+                    queryEmbedding = semanticCache.embed(query);
+                    String cachedAnswer = semanticCache.get(queryEmbedding);
+                    if (cachedAnswer != null) {
+                        handler.onPartialResponse(cachedAnswer);
+                        handler.onCompleteResponse(ChatResponse.builder()
+                                .aiMessage(AiMessage.from(cachedAnswer))
+                                .build());
+                        return;
+                    }
+                }
+                userMessage = augment(query);
+            } catch (RuntimeException e) {
+                handler.onError(e);
+                return;
+            }
+            streamingChatModel.chat(
+                    userMessage.singleText(),
+                    semanticCache == null ? handler : new CachingResponseHandler(query, queryEmbedding, handler));
+        });
+    }
+
+    /**
+     * Answers the given query with the configured {@link StreamingChatModel}, passing each partial response
+     * to the given consumer as it arrives.
+     *
+     * @param query             The query.
+     * @param onPartialResponse Receives the answer, piece by piece.
+     * @return The future complete answer.
+     */
+    public CompletableFuture<String> executeStreaming(final Query query, final Consumer<String> onPartialResponse) {
+        ensureNotNull(onPartialResponse, "onPartialResponse");
+        CompletableFuture<String> answer = new CompletableFuture<>();
+        executeStreaming(query, new StreamingChatResponseHandler() {
+
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                onPartialResponse.accept(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                answer.complete(completeResponse.aiMessage().text());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                answer.completeExceptionally(error);
+            }
+        });
+        return answer;
+    }
+
+    /**
+     * Answers the given queries concurrently on the configured executor, running at most
+     * {@link Builder#maxConcurrency(Integer) maxConcurrency} queries at once.
+     *
+     * @param queries The queries.
+     * @return The answers, in the order of the queries.
+     */
+    public List<String> executeAll(final List<Query> queries) {
+        ensureNotNull(chatModel, "chatModel");
+        ensureNotNull(queries, "queries");
+
+        String[] answers = new String[queries.size()];
+        int workerCount = Math.min(maxConcurrency, queries.size());
+        if (workerCount <= 1) {
+            for (int i = 0; i < queries.size(); i++) {
+                answers[i] = execute(queries.get(i));
+            }
+            return Arrays.asList(answers);
+        }
+
+        AtomicInteger nextQuery = new AtomicInteger();
+        List<CompletableFuture<Void>> workers = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            workers.add(CompletableFuture.runAsync(
+                    () -> {
+                        int i;
+                        while ((i = nextQuery.getAndIncrement()) < queries.size()) {
+                            answers[i] = execute(queries.get(i));
+                        }
+                    },
+                    executor));
+        }
+        try {
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return Arrays.asList(answers);
+    }
+
+    /**
+     * Adds the complete answer to the semantic cache before handing it over.
+     */
+    private class CachingResponseHandler implements StreamingChatResponseHandler {
+
+        private final Query query;
+        private final Embedding queryEmbedding;
+        private final StreamingChatResponseHandler delegate;
+
+        CachingResponseHandler(Query query, Embedding queryEmbedding, StreamingChatResponseHandler delegate) {
+            this.query = query;
+            this.queryEmbedding = queryEmbedding;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            delegate.onPartialResponse(partialResponse);
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            try {
+                semanticCache.put(query, queryEmbedding, completeResponse.aiMessage().text());
+            } catch (RuntimeException e) {
+                delegate.onError(e);
+                return;
+            }
+            delegate.onCompleteResponse(completeResponse);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            delegate.onError(error);
+        }
     }
 
     private UserMessage augment(Query query) {
@@ -57,7 +275,14 @@ public class RetrievalQAChain implements Chain<Query, String> {
     }
 
     public static class Builder {
+
+        static final int DEFAULT_MAX_CONCURRENCY = 4;
+
         private ChatModel chatModel;
+        private StreamingChatModel streamingChatModel;
+        private Executor executor;
+        private Integer maxConcurrency;
+        private SemanticAnswerCache semanticCache;
         private final DefaultRetrievalAugmentor.DefaultRetrievalAugmentorBuilder augmentorBuilder =
                 DefaultRetrievalAugmentor.builder();
         private RetrievalAugmentor retrievalAugmentor;
@@ -67,6 +292,46 @@ public class RetrievalQAChain implements Chain<Query, String> {
             return this;
         }
 
+        /**
+         * @param streamingChatModel The model used by the {@code executeStreaming} methods.
+         * @return builder
+         */
+        public Builder streamingChatModel(StreamingChatModel streamingChatModel) {
+            this.streamingChatModel = streamingChatModel;
+            return this;
+        }
+
+        /**
+         * @param executor The executor running asynchronous, streaming and concurrent executions.
+         *                 If none is specified, an executor shared by all chains is used: virtual threads when
+         *                 the JVM supports them, otherwise a cached thread pool. The chain never shuts the
+         *                 executor down.
+         * @return builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrency The maximum number of queries answered at once by {@code executeAll}.
+         *                       Default value: 4.
+         * @return builder
+         */
+        public Builder maxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * @param semanticCache An optional cache of the answers to similar queries.
+         * @return builder
+         */
+        public Builder semanticCache(SemanticAnswerCache semanticCache) {
+            this.semanticCache = semanticCache;
+            return this;
+        }
+
         public Builder contentRetriever(ContentRetriever contentRetriever) {
             if (contentRetriever != null) {
                 augmentorBuilder.contentRetriever(contentRetriever);
@@ -89,9 +354,9 @@ public class RetrievalQAChain implements Chain<Query, String> {
 
         public RetrievalQAChain build() {
             if (retrievalAugmentor == null) {
-                return new RetrievalQAChain(chatModel, augmentorBuilder.build());
+                return new RetrievalQAChain(this, augmentorBuilder.build());
             }
-            return new RetrievalQAChain(chatModel, retrievalAugmentor);
+            return new RetrievalQAChain(this, retrievalAugmentor);
         }
     }
 }
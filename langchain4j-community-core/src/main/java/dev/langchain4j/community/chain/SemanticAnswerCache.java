@@ -0,0 +1,282 @@
+package dev.langchain4j.community.chain;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the answers of a {@link RetrievalQAChain} by the meaning of their query.
+ * <p>
+ * Each answer is stored in an {@link EmbeddingStore}, under the embedding of the query text. A later query whose
+ * embedding is at least {@link Builder#similarityThreshold(Double) similarityThreshold} similar to a cached one
+ * gets the cached answer, without retrieval nor chat model call. Only the query text is considered: two queries
+ * with the same text but a different chat history share their answer.
+ * </p>
+ * <p>
+ * Answers older than the optional {@link Builder#timeToLive(Duration) timeToLive} are ignored and removed when they
+ * are found. When {@link Builder#maxSize(Integer) maxSize} is set, the answers cached by this instance are evicted
+ * oldest first once there are more than that. The embedding store should be dedicated to the cache, since
+ * {@link #invalidateAll()} empties it.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class SemanticAnswerCache {
+
+    static final String ANSWER_KEY = "answer";
+    static final String CREATED_AT_KEY = "created_at";
+
+    private static final int DEFAULT_MAX_CANDIDATES = 4;
+
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final double similarityThreshold;
+    private final Duration timeToLive;
+    private final Integer maxSize;
+    private final Clock clock;
+
+    // Ids of the answers cached by this instance, oldest first
+    private final Set<String> cachedIds = new LinkedHashSet<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public SemanticAnswerCache(Builder builder) {
+        this.embeddingModel = ensureNotNull(builder.embeddingModel, "embeddingModel");
+        this.embeddingStore = ensureNotNull(builder.embeddingStore, "embeddingStore");
+        this.similarityThreshold = ensureBetween(
+                getOrDefault(builder.similarityThreshold, Builder.DEFAULT_SIMILARITY_THRESHOLD),
+                0,
+                1,
+                "similarityThreshold");
+        this.timeToLive = builder.timeToLive;
+        this.maxSize = builder.maxSize == null ? null : ensureGreaterThanZero(builder.maxSize, "maxSize");
+        this.clock = getOrDefault(builder.clock, Clock.systemUTC());
+    }
+
+    /**
+     * Looks up the answer of a query similar to the given one.
+     *
+     * @param query The query.
+     * @return The cached answer, or null if there is none.
+     */
+    public String get(Query query) {
+        return get(embed(query));
+    }
+
+    /**
+     * Caches the answer of the given query.
+     *
+     * @param query  The query.
+     * @param answer The answer.
+     */
+    public void put(Query query, String answer) {
+        put(query, embed(query), answer);
+    }
+
+    Embedding embed(Query query) {
+        ensureNotNull(query, "query");
+        return embeddingModel.embed(query.text()).content();
+    }
+
+    String get(Embedding queryEmbedding) {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(DEFAULT_MAX_CANDIDATES)
+                .minScore(similarityThreshold)
+                .build();
+        List<String> expiredIds = new ArrayList<>();
+        String answer = null;
+        for (EmbeddingMatch<TextSegment> match : embeddingStore.search(request).matches()) {
+            if (isExpired(match.embedded())) {
+                expiredIds.add(match.embeddingId());
+                continue;
+            }
+            answer = match.embedded().metadata().getString(ANSWER_KEY);
+            break;
+        }
+
+        if (!expiredIds.isEmpty()) {
+            embeddingStore.removeAll(expiredIds);
+            synchronized (cachedIds) {
+                expiredIds.forEach(cachedIds::remove);
+            }
+            expirations.add(expiredIds.size());
+        }
+        if (answer == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return answer;
+    }
+
+    void put(Query query, Embedding queryEmbedding, String answer) {
+        ensureNotNull(answer, "answer");
+        String id = idOf(query);
+        Metadata metadata = new Metadata()
+                .put(ANSWER_KEY, answer)
+                .put(CREATED_AT_KEY, clock.millis());
+
+        // A previous answer to the same query text is replaced, even if it was cached by another instance
+        List<String> idsToRemove = new ArrayList<>();
+        idsToRemove.add(id);
+        synchronized (cachedIds) {
+            cachedIds.remove(id);
+            cachedIds.add(id);
+            if (maxSize != null) {
+                Iterator<String> oldest = cachedIds.iterator();
+                while (cachedIds.size() > maxSize) {
+                    idsToRemove.add(oldest.next());
+                    oldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        embeddingStore.removeAll(idsToRemove);
+        embeddingStore.addAll(
+                List.of(id), List.of(queryEmbedding), List.of(TextSegment.from(query.text(), metadata)));
+    }
+
+    /**
+     * Removes the cached answer of the given query, if any.
+     *
+     * @param query The query, matched by its exact text.
+     */
+    public void invalidate(Query query) {
+        String id = idOf(query);
+        synchronized (cachedIds) {
+            cachedIds.remove(id);
+        }
+        embeddingStore.removeAll(List.of(id));
+    }
+
+    /**
+     * Removes every cached answer from the embedding store.
+     */
+    public void invalidateAll() {
+        synchronized (cachedIds) {
+            cachedIds.clear();
+        }
+        embeddingStore.removeAll();
+    }
+
+    /**
+     * @return The current counters of this cache.
+     */
+    public SemanticCacheStats stats() {
+        return new SemanticCacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private boolean isExpired(TextSegment cached) {
+        if (timeToLive == null) {
+            return false;
+        }
+        Long createdAt = cached.metadata().getLong(CREATED_AT_KEY);
+        return createdAt == null || clock.millis() - createdAt > timeToLive.toMillis();
+    }
+
+    private static String idOf(Query query) {
+        ensureNotNull(query, "query");
+        return UUID.nameUUIDFromBytes(query.text().getBytes(UTF_8)).toString();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        static final double DEFAULT_SIMILARITY_THRESHOLD = 0.95;
+
+        private EmbeddingModel embeddingModel;
+        private EmbeddingStore<TextSegment> embeddingStore;
+        private Double similarityThreshold;
+        private Duration timeToLive;
+        private Integer maxSize;
+        private Clock clock;
+
+        /**
+         * @param embeddingModel The model embedding the query texts.
+         * @return builder
+         */
+        public Builder embeddingModel(EmbeddingModel embeddingModel) {
+            this.embeddingModel = embeddingModel;
+            return this;
+        }
+
+        /**
+         * @param embeddingStore The store holding the cached answers. It should not be used for anything else.
+         * @return builder
+         */
+        public Builder embeddingStore(EmbeddingStore<TextSegment> embeddingStore) {
+            this.embeddingStore = embeddingStore;
+            return this;
+        }
+
+        /**
+         * @param similarityThreshold The minimum similarity score, between 0 and 1, for a cached answer to be
+         *                            returned. Default value: 0.95.
+         * @return builder
+         */
+        public Builder similarityThreshold(Double similarityThreshold) {
+            this.similarityThreshold = similarityThreshold;
+            return this;
+        }
+
+        /**
+         * @param timeToLive How long an answer stays valid. By default, answers never expire.
+         * @return builder
+         */
+        public Builder timeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * @param maxSize The maximum number of answers cached by this instance. By default, there is no limit.
+         * @return builder
+         */
+        public Builder maxSize(Integer maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * @param clock The clock used to date answers. Default value: {@link Clock#systemUTC()}.
+         * @return builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public SemanticAnswerCache build() {
+            return new SemanticAnswerCache(this);
+        }
+    }
+}
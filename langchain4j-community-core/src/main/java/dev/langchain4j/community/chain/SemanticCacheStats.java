@@ -0,0 +1,24 @@
+package dev.langchain4j.community.chain;
+
+import dev.langchain4j.Experimental;
+
+/**
+ * A snapshot of the counters of a {@link SemanticAnswerCache}.
+ *
+ * @param hits        The number of lookups answered from the cache.
+ * @param misses      The number of lookups that found no answer similar enough.
+ * @param evictions   The number of answers removed to stay within the maximum size.
+ * @param expirations The number of answers removed because they outlived the time to live.
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public record SemanticCacheStats(long hits, long misses, long evictions, long expirations) {
+
+    /**
+     * @return The share of lookups answered from the cache, or 0 if no lookup happened yet.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,190 @@
+package dev.langchain4j.community.data.document.transformer.graph;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.Utils.isNullOrEmpty;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.community.data.document.graph.GraphDocument;
+import dev.langchain4j.community.internal.DefaultExecutorProvider;
+import dev.langchain4j.data.document.Document;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link GraphTransformer} that transforms documents concurrently with another transformer,
+ * such as an {@code LLMGraphTransformer}.
+ * <p>
+ * Up to {@link Builder#parallelism(Integer) parallelism} documents are transformed at once on the configured
+ * {@link Executor}. An optional {@link TokenBucketRateLimiter} is consulted before each transformation, so that
+ * the calls to the underlying model stay within the quotas of the provider. Results keep the order of the input.
+ * </p>
+ * <p>
+ * A failing document does not abort the others: {@link #transformAllWithResults(Collection)} reports the outcome
+ * of every document, while {@link #transformAll(Collection)} returns the successfully transformed ones and logs
+ * the failures.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class ConcurrentGraphTransformer implements GraphTransformer {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentGraphTransformer.class);
+
+    private final GraphTransformer delegate;
+    private final Executor executor;
+    private final int parallelism;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    private ConcurrentGraphTransformer(Builder builder) {
+        this.delegate = ensureNotNull(builder.delegate, "delegate");
+        this.executor = getOrDefault(builder.executor, DefaultExecutorProvider::defaultExecutorService);
+        this.parallelism =
+                ensureGreaterThanZero(getOrDefault(builder.parallelism, Builder.DEFAULT_PARALLELISM), "parallelism");
+        this.rateLimiter = builder.rateLimiter;
+    }
+
+    @Override
+    public GraphDocument transform(Document document) {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        return delegate.transform(document);
+    }
+
+    /**
+     * Transforms all the provided documents concurrently.
+     *
+     * @param documents The documents to be transformed.
+     * @return The transformed graph-based documents, in the order of the input, without the documents that were
+     * filtered out or failed to transform.
+     */
+    @Override
+    public List<GraphDocument> transformAll(Collection<Document> documents) {
+        List<GraphDocument> graphDocuments = new ArrayList<>();
+        for (GraphTransformationResult result : transformAllWithResults(documents)) {
+            if (!result.isSuccess()) {
+                log.warn("Failed to transform document into a graph document, skipping it", result.error());
+            } else if (result.graphDocument() != null) {
+                graphDocuments.add(result.graphDocument());
+            }
+        }
+        return graphDocuments;
+    }
+
+    /**
+     * Transforms all the provided documents concurrently, reporting the outcome of each one.
+     *
+     * @param documents The documents to be transformed.
+     * @return One result per document, in the order of the input.
+     */
+    public List<GraphTransformationResult> transformAllWithResults(Collection<Document> documents) {
+        if (isNullOrEmpty(documents)) {
+            return new ArrayList<>();
+        }
+
+        List<Document> input = new ArrayList<>(documents);
+        GraphTransformationResult[] results = new GraphTransformationResult[input.size()];
+        AtomicInteger nextDocument = new AtomicInteger();
+        Runnable worker = () -> {
+            int i;
+            while ((i = nextDocument.getAndIncrement()) < input.size()) {
+                results[i] = tryTransform(input.get(i));
+            }
+        };
+
+        int workerCount = Math.min(parallelism, input.size());
+        if (workerCount == 1) {
+            worker.run();
+            return Arrays.asList(results);
+        }
+
+        List<CompletableFuture<Void>> workers = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            workers.add(CompletableFuture.runAsync(worker, executor));
+        }
+        try {
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    private GraphTransformationResult tryTransform(Document document) {
+        try {
+            return GraphTransformationResult.success(document, transform(document));
+        } catch (RuntimeException e) {
+            return GraphTransformationResult.failure(document, e);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        static final int DEFAULT_PARALLELISM = 4;
+
+        private GraphTransformer delegate;
+        private Executor executor;
+        private Integer parallelism;
+        private TokenBucketRateLimiter rateLimiter;
+
+        /**
+         * @param delegate The transformer applied to each document.
+         * @return builder
+         */
+        public Builder delegate(GraphTransformer delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * @param executor The executor running the transformations. If none is specified, an executor shared by all
+         *                 transformers is used: virtual threads when the JVM supports them, otherwise a cached
+         *                 thread pool. The transformer never shuts the executor down.
+         * @return builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param parallelism The maximum number of documents transformed at once. Default value: 4.
+         * @return builder
+         */
+        public Builder parallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * @param rateLimiter An optional rate limiter, taking one permit per transformed document.
+         * @return builder
+         */
+        public Builder rateLimiter(TokenBucketRateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        public ConcurrentGraphTransformer build() {
+            return new ConcurrentGraphTransformer(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.langchain4j.community.data.document.transformer.graph;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.community.data.document.graph.GraphDocument;
+import dev.langchain4j.data.document.Document;
+
+/**
+ * The outcome of transforming one document into a graph-based document.
+ *
+ * @param document      The transformed document.
+ * @param graphDocument The resulting graph-based document, or null if the document was filtered out or
+ *                      the transformation failed.
+ * @param error         The failure of the transformation, or null if it succeeded.
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public record GraphTransformationResult(Document document, GraphDocument graphDocument, Throwable error) {
+
+    public GraphTransformationResult {
+        ensureNotNull(document, "document");
+    }
+
+    public static GraphTransformationResult success(Document document, GraphDocument graphDocument) {
+        return new GraphTransformationResult(document, graphDocument, null);
+    }
+
+    public static GraphTransformationResult failure(Document document, Throwable error) {
+        return new GraphTransformationResult(document, null, ensureNotNull(error, "error"));
+    }
+
+    /**
+     * @return true if the transformation did not fail.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -28,7 +28,8 @@ public interface GraphTransformer {
     GraphDocument transform(Document document);
 
     /**
-     * Transforms all the provided documents.
+     * Transforms all the provided documents, one after the other.
+     * Wrap a transformer in a {@link ConcurrentGraphTransformer} to transform documents concurrently.
      *
      * @param documents A list of documents to be transformed.
      * @return A list of transformed graph-based documents. The length of this list may be shorter or longer than the original list. Returns an empty list if all documents were filtered out.
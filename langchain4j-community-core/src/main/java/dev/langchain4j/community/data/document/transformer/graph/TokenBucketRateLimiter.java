@@ -0,0 +1,83 @@
+package dev.langchain4j.community.data.document.transformer.graph;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+
+import dev.langchain4j.Experimental;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket limiting the rate of calls to a model provider.
+ * <p>
+ * The bucket holds up to {@code burst} permits and is refilled with {@code permitsPerSecond} permits per second.
+ * A caller that finds the bucket empty reserves its permits anyway and sleeps until they are refilled, so callers
+ * are served in the order in which they arrive and the long-run rate never exceeds {@code permitsPerSecond}.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoTime;
+
+    private double permits;
+    private long lastRefill;
+
+    /**
+     * @param permitsPerSecond The sustained rate, in permits per second.
+     * @param burst            The maximum number of permits that can be taken at once after an idle period.
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoTime) {
+        ensureGreaterThanZero(permitsPerSecond, "permitsPerSecond");
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = ensureGreaterThanZero(burst, "burst");
+        this.nanoTime = nanoTime;
+        this.permits = burst;
+        this.lastRefill = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes one permit, waiting until it is available.
+     */
+    public void acquire() {
+        acquire(1);
+    }
+
+    /**
+     * Takes the given number of permits, waiting until they are available.
+     *
+     * @param permits The number of permits.
+     */
+    public void acquire(int permits) {
+        long waitNanos = reserve(ensureGreaterThanZero(permits, "permits"));
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a rate limit permit", e);
+        }
+    }
+
+    /**
+     * Takes the given number of permits, possibly going into debt.
+     *
+     * @return How long the caller must wait before using the permits, in nanoseconds.
+     */
+    synchronized long reserve(int requested) {
+        long now = nanoTime.getAsLong();
+        permits = Math.min(burst, permits + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        permits -= requested;
+        return permits >= 0 ? 0 : (long) Math.ceil(-permits / permitsPerNano);
+    }
+}
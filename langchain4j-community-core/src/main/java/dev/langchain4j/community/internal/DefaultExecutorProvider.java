@@ -0,0 +1,92 @@
+package dev.langchain4j.community.internal;
+
+import dev.langchain4j.Internal;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the default {@link ExecutorService} used by community components that run work concurrently.
+ * <p>
+ * The code base targets Java 17, so virtual threads are looked up reflectively: when the running JVM
+ * supports them, a virtual-thread-per-task executor is returned, otherwise a cached pool of daemon threads.
+ * </p>
+ * <p>
+ * Components use the shared {@link #defaultExecutorService()} when no executor is configured, so that they do not
+ * own an executor they would have to shut down. It is only created the first time it is needed, and keeps no
+ * thread alive once idle.
+ * </p>
+ */
+@Internal
+public final class DefaultExecutorProvider {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadFactoryMethod();
+
+    private DefaultExecutorProvider() {}
+
+    /**
+     * Returns the executor shared by the components that are not given one. It must not be shut down.
+     *
+     * @return the shared executor service, created on first use.
+     */
+    public static ExecutorService defaultExecutorService() {
+        return DefaultExecutorServiceHolder.INSTANCE;
+    }
+
+    private static ExecutorService createDefaultExecutorService(String threadNamePrefix) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+            } catch (Throwable ignored) {
+                // fall back to platform threads
+            }
+        }
+        return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                1,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new DaemonThreadFactory(threadNamePrefix));
+    }
+
+    private static MethodHandle findVirtualThreadFactoryMethod() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findStatic(
+                            java.util.concurrent.Executors.class,
+                            "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static class DefaultExecutorServiceHolder {
+
+        private static final ExecutorService INSTANCE = createDefaultExecutorService("langchain4j-community");
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
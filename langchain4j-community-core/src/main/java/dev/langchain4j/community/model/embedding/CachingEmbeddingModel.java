@@ -0,0 +1,246 @@
+package dev.langchain4j.community.model.embedding;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link EmbeddingModel} that caches the embeddings computed by another model.
+ * <p>
+ * Embeddings are kept in a bounded, least-recently-used in-heap tier and, optionally, in a
+ * {@link MappedEmbeddingCache} on disk that survives restarts. Entries are keyed by the SHA-256 hash of
+ * the model name and the text, so the same cache files can be shared by several models.
+ * </p>
+ * <p>
+ * {@link #embedAll(List)} only sends the texts found in neither tier to the underlying model, once each,
+ * and returns the embeddings in the order of the given segments. The token usage of the returned
+ * response is the one reported for the cache misses, or null when every text was cached.
+ * </p>
+ * <p>
+ * Each returned embedding has its own vector, so callers can modify it, e.g. with {@link Embedding#normalize()},
+ * without altering the cached one.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private final EmbeddingModel delegate;
+    private final String modelName;
+    private final Map<EmbeddingCacheKey, Embedding> entries;
+    private final MappedEmbeddingCache diskCache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingEmbeddingModel(Builder builder) {
+        this.delegate = ensureNotNull(builder.delegate, "delegate");
+        // The disk tier outlives the delegate instance, its keys must not depend on a class name
+        this.modelName = builder.diskCache == null
+                ? getOrDefault(builder.modelName, () -> delegate.getClass().getName())
+                : ensureNotBlank(builder.modelName, "modelName");
+        int maxEntries = ensureGreaterThanZero(getOrDefault(builder.maxEntries, DEFAULT_MAX_ENTRIES), "maxEntries");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EmbeddingCacheKey, Embedding> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.diskCache = builder.diskCache;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        ensureNotNull(textSegments, "textSegments");
+
+        Embedding[] embeddings = new Embedding[textSegments.size()];
+        Map<EmbeddingCacheKey, List<Integer>> missPositions = new LinkedHashMap<>();
+        List<TextSegment> missSegments = new ArrayList<>();
+
+        for (int i = 0; i < textSegments.size(); i++) {
+            TextSegment segment = textSegments.get(i);
+            EmbeddingCacheKey key = EmbeddingCacheKey.of(modelName, segment.text());
+            List<Integer> positions = missPositions.get(key);
+            if (positions != null) {
+                // the same text appears more than once in the batch, it is embedded once
+                positions.add(i);
+                hits.increment();
+                continue;
+            }
+            Embedding cached = lookup(key);
+            if (cached != null) {
+                embeddings[i] = cached;
+                continue;
+            }
+            positions = new ArrayList<>(1);
+            positions.add(i);
+            missPositions.put(key, positions);
+            missSegments.add(segment);
+        }
+
+        if (missSegments.isEmpty()) {
+            return Response.from(Arrays.asList(embeddings));
+        }
+
+        misses.add(missSegments.size());
+        Response<List<Embedding>> response = delegate.embedAll(missSegments);
+        List<Embedding> computed = response.content();
+        if (computed.size() != missSegments.size()) {
+            throw new IllegalStateException("The underlying model returned " + computed.size()
+                    + " embeddings for " + missSegments.size() + " text segments");
+        }
+
+        int index = 0;
+        for (Map.Entry<EmbeddingCacheKey, List<Integer>> miss : missPositions.entrySet()) {
+            Embedding embedding = computed.get(index++);
+            store(miss.getKey(), embedding);
+            List<Integer> positions = miss.getValue();
+            embeddings[positions.get(0)] = embedding;
+            for (int i = 1; i < positions.size(); i++) {
+                embeddings[positions.get(i)] = copy(embedding);
+            }
+        }
+        return Response.from(Arrays.asList(embeddings), response.tokenUsage(), response.finishReason());
+    }
+
+    private Embedding lookup(EmbeddingCacheKey key) {
+        Embedding embedding;
+        synchronized (entries) {
+            embedding = entries.get(key);
+        }
+        if (embedding != null) {
+            hits.increment();
+            return copy(embedding);
+        }
+        if (diskCache == null) {
+            return null;
+        }
+        float[] vector = diskCache.get(key);
+        if (vector == null) {
+            return null;
+        }
+        diskHits.increment();
+        embedding = Embedding.from(vector);
+        synchronized (entries) {
+            entries.put(key, copy(embedding));
+        }
+        return embedding;
+    }
+
+    private void store(EmbeddingCacheKey key, Embedding embedding) {
+        synchronized (entries) {
+            entries.put(key, copy(embedding));
+        }
+        if (diskCache != null) {
+            diskCache.put(key, embedding.vector());
+        }
+    }
+
+    private static Embedding copy(Embedding embedding) {
+        return Embedding.from(embedding.vector().clone());
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+
+    /**
+     * @return The current counters of this cache.
+     */
+    public EmbeddingCacheStats stats() {
+        return new EmbeddingCacheStats(
+                hits.sum(),
+                diskHits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                diskCache == null ? 0 : diskCache.evictions());
+    }
+
+    /**
+     * Removes every entry from the in-heap tier. The on-disk tier is left untouched.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private EmbeddingModel delegate;
+        private String modelName;
+        private Integer maxEntries;
+        private MappedEmbeddingCache diskCache;
+
+        /**
+         * @param delegate The model that computes the embeddings not found in the cache.
+         * @return builder
+         */
+        public Builder delegate(EmbeddingModel delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * @param modelName The name of the model, part of the cache key. Required with a
+         *                  {@link #diskCache(MappedEmbeddingCache) disk cache}, otherwise defaults to the class name
+         *                  of the delegate, which should be overridden when the same class is used with different
+         *                  models.
+         * @return builder
+         */
+        public Builder modelName(String modelName) {
+            this.modelName = modelName;
+            return this;
+        }
+
+        /**
+         * @param maxEntries The maximum number of embeddings kept in heap. Default value: 10000.
+         * @return builder
+         */
+        public Builder maxEntries(Integer maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * @param diskCache An optional on-disk tier, consulted on in-heap misses. The caller remains responsible
+         *                  for closing it.
+         * @return builder
+         */
+        public Builder diskCache(MappedEmbeddingCache diskCache) {
+            this.diskCache = diskCache;
+            return this;
+        }
+
+        public CachingEmbeddingModel build() {
+            return new CachingEmbeddingModel(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.langchain4j.community.model.embedding;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A 256-bit key identifying a text embedded by a given model: the SHA-256 hash of the model name and the text.
+ */
+record EmbeddingCacheKey(long first, long second, long third, long fourth) {
+
+    static final int BYTES = 32;
+
+    static final EmbeddingCacheKey EMPTY = new EmbeddingCacheKey(0, 0, 0, 0);
+
+    static EmbeddingCacheKey of(String modelName, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(modelName.getBytes(UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(UTF_8));
+            return read(ByteBuffer.wrap(digest.digest()), 0);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static EmbeddingCacheKey read(ByteBuffer buffer, int offset) {
+        return new EmbeddingCacheKey(
+                buffer.getLong(offset),
+                buffer.getLong(offset + Long.BYTES),
+                buffer.getLong(offset + 2 * Long.BYTES),
+                buffer.getLong(offset + 3 * Long.BYTES));
+    }
+
+    void write(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset, first);
+        buffer.putLong(offset + Long.BYTES, second);
+        buffer.putLong(offset + 2 * Long.BYTES, third);
+        buffer.putLong(offset + 3 * Long.BYTES, fourth);
+    }
+
+    boolean isEmpty() {
+        return first == 0 && second == 0 && third == 0 && fourth == 0;
+    }
+}
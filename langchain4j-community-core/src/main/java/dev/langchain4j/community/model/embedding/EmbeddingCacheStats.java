@@ -0,0 +1,25 @@
+package dev.langchain4j.community.model.embedding;
+
+import dev.langchain4j.Experimental;
+
+/**
+ * A snapshot of the counters of a {@link CachingEmbeddingModel}.
+ *
+ * @param hits          The number of texts found in the in-heap tier.
+ * @param diskHits      The number of texts found in the on-disk tier.
+ * @param misses        The number of texts sent to the underlying model.
+ * @param evictions     The number of entries evicted from the in-heap tier.
+ * @param diskEvictions The number of entries overwritten in the on-disk tier.
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public record EmbeddingCacheStats(long hits, long diskHits, long misses, long evictions, long diskEvictions) {
+
+    /**
+     * @return The share of texts served from either tier, or 0 if no text was requested yet.
+     */
+    public double hitRate() {
+        long requests = hits + diskHits + misses;
+        return requests == 0 ? 0 : (double) (hits + diskHits) / requests;
+    }
+}
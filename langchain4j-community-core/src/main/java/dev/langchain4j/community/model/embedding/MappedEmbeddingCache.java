@@ -0,0 +1,216 @@
+package dev.langchain4j.community.model.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A fixed-capacity, memory-mapped file of embedding vectors, used as the on-disk tier of a
+ * {@link CachingEmbeddingModel}.
+ * <p>
+ * The file starts with a small header, followed by {@code capacity} slots. Each slot holds the 32-byte key
+ * of a cached text and its vector as raw little-endian {@code float}s, so an entry takes
+ * {@code 32 + 4 * dimension} bytes. Slots are written in a ring: once the file is full, each new entry
+ * replaces the oldest one. The vector dimension is taken from the first cached vector and recorded in
+ * the header; the file is reopened with its entries when the cache is opened again.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class MappedEmbeddingCache implements Closeable {
+
+    private static final int MAGIC = 0x4C34_4543; // "L4EC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int DIMENSION_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int NEXT_SLOT_OFFSET = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<EmbeddingCacheKey, Integer> slotsByKey = new HashMap<>();
+
+    private int capacity;
+    private int dimension;
+    private int slotSize;
+    private int slotsPerRegion;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] regions;
+    private int nextSlot;
+    private long evictions;
+
+    private MappedEmbeddingCache(Path file, int capacity) throws IOException {
+        this.file = file;
+        this.capacity = capacity;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() >= HEADER_SIZE) {
+            load();
+        }
+    }
+
+    /**
+     * Opens the cache file at the given path, creating it if it does not exist.
+     *
+     * @param file     The cache file.
+     * @param capacity The maximum number of vectors held by a new file. Ignored when the file already exists.
+     * @return The opened cache.
+     */
+    public static MappedEmbeddingCache open(Path file, int capacity) {
+        ensureNotNull(file, "file");
+        ensureGreaterThanZero(capacity, "capacity");
+        try {
+            return new MappedEmbeddingCache(file, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open embedding cache " + file, e);
+        }
+    }
+
+    /**
+     * @return The maximum number of vectors held by the file.
+     */
+    public synchronized int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of vectors currently held by the file.
+     */
+    public synchronized int size() {
+        return slotsByKey.size();
+    }
+
+    /**
+     * @return The number of vectors replaced by newer ones since the cache was opened.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    synchronized float[] get(EmbeddingCacheKey key) {
+        Integer slot = slotsByKey.get(key);
+        if (slot == null) {
+            return null;
+        }
+        float[] vector = new float[dimension];
+        MappedByteBuffer region = regions[slot / slotsPerRegion];
+        int offset = (slot % slotsPerRegion) * slotSize + EmbeddingCacheKey.BYTES;
+        region.slice(offset, dimension * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer()
+                .get(vector);
+        return vector;
+    }
+
+    synchronized void put(EmbeddingCacheKey key, float[] vector) {
+        if (regions == null) {
+            initialize(vector.length);
+        }
+        if (vector.length != dimension || slotsByKey.containsKey(key)) {
+            return;
+        }
+
+        int slot = nextSlot;
+        MappedByteBuffer region = regions[slot / slotsPerRegion];
+        int offset = (slot % slotsPerRegion) * slotSize;
+
+        EmbeddingCacheKey replacedKey = EmbeddingCacheKey.read(region, offset);
+        if (!replacedKey.isEmpty()) {
+            slotsByKey.remove(replacedKey);
+            evictions++;
+        }
+
+        // Clear the key before overwriting the vector and write the new key last, so that a process killed in
+        // between leaves an empty slot rather than a key in front of another vector
+        EmbeddingCacheKey.EMPTY.write(region, offset);
+        region.slice(offset + EmbeddingCacheKey.BYTES, dimension * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer()
+                .put(vector);
+        key.write(region, offset);
+        slotsByKey.put(key, slot);
+
+        nextSlot = (slot + 1) % capacity;
+        header.putInt(NEXT_SLOT_OFFSET, nextSlot);
+    }
+
+    /**
+     * Flushes the mapped file to disk and closes it.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (header != null) {
+                header.force();
+                for (MappedByteBuffer region : regions) {
+                    region.force();
+                }
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close embedding cache " + file, e);
+        }
+    }
+
+    private void initialize(int dimension) {
+        try {
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(DIMENSION_OFFSET, dimension);
+            header.putInt(CAPACITY_OFFSET, capacity);
+            header.putInt(NEXT_SLOT_OFFSET, 0);
+            mapRegions(dimension);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to initialize embedding cache " + file, e);
+        }
+    }
+
+    private void load() throws IOException {
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalStateException(file + " is not an embedding cache file");
+        }
+        capacity = header.getInt(CAPACITY_OFFSET);
+        nextSlot = header.getInt(NEXT_SLOT_OFFSET);
+        mapRegions(header.getInt(DIMENSION_OFFSET));
+
+        for (int slot = 0; slot < capacity; slot++) {
+            EmbeddingCacheKey key =
+                    EmbeddingCacheKey.read(regions[slot / slotsPerRegion], (slot % slotsPerRegion) * slotSize);
+            if (!key.isEmpty()) {
+                slotsByKey.put(key, slot);
+            }
+        }
+    }
+
+    private void mapRegions(int dimension) throws IOException {
+        this.dimension = dimension;
+        this.slotSize = EmbeddingCacheKey.BYTES + dimension * Float.BYTES;
+        this.slotsPerRegion = Math.min(capacity, Integer.MAX_VALUE / slotSize);
+        int regionCount = (capacity + slotsPerRegion - 1) / slotsPerRegion;
+        this.regions = new MappedByteBuffer[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            long position = HEADER_SIZE + (long) i * slotsPerRegion * slotSize;
+            long size = (long) Math.min(slotsPerRegion, capacity - i * slotsPerRegion) * slotSize;
+            regions[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        }
+    }
+}
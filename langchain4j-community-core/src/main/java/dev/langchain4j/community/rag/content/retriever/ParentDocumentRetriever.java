@@ -0,0 +1,199 @@
+package dev.langchain4j.community.rag.content.retriever;
+
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureBetween;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.community.store.embedding.ParentChildEmbeddingStoreIngestor;
+import dev.langchain4j.community.store.embedding.ParentDocumentStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.ContentMetadata;
+import dev.langchain4j.rag.content.retriever.ContentRetriever;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link ContentRetriever} that searches the child segments written by a {@link ParentChildEmbeddingStoreIngestor}
+ * and returns the parent segments they come from, read from a {@link ParentDocumentStore}.
+ * <p>
+ * Several children of the same parent often match a query, so the retriever asks the {@link EmbeddingStore} for
+ * {@link Builder#overFetchFactor(Integer) overFetchFactor} times {@link Builder#maxResults(Integer) maxResults}
+ * children. The matches are then deduplicated by their {@value ParentDocumentStore#PARENT_ID_KEY} metadata entry,
+ * keeping the best score of each parent, and the parents of the first {@code maxResults} distinct ids are fetched
+ * with a single {@link ParentDocumentStore#getAll(java.util.Collection)} call.
+ * </p>
+ * <p>
+ * A child segment without parent id, or whose parent is missing from the store, is returned as-is.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class ParentDocumentRetriever implements ContentRetriever {
+
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final ParentDocumentStore parentDocumentStore;
+    private final int maxResults;
+    private final double minScore;
+    private final int overFetchFactor;
+    private final Filter filter;
+
+    public ParentDocumentRetriever(Builder builder) {
+        this.embeddingModel = ensureNotNull(builder.embeddingModel, "embeddingModel");
+        this.embeddingStore = ensureNotNull(builder.embeddingStore, "embeddingStore");
+        this.parentDocumentStore = ensureNotNull(builder.parentDocumentStore, "parentDocumentStore");
+        this.maxResults =
+                ensureGreaterThanZero(getOrDefault(builder.maxResults, Builder.DEFAULT_MAX_RESULTS), "maxResults");
+        this.minScore = ensureBetween(getOrDefault(builder.minScore, Builder.DEFAULT_MIN_SCORE), 0, 1, "minScore");
+        this.overFetchFactor = ensureGreaterThanZero(
+                getOrDefault(builder.overFetchFactor, Builder.DEFAULT_OVER_FETCH_FACTOR), "overFetchFactor");
+        this.filter = builder.filter;
+    }
+
+    @Override
+    public List<Content> retrieve(Query query) {
+        ensureNotNull(query, "query");
+        Embedding queryEmbedding = embeddingModel.embed(query.text()).content();
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(maxResults * overFetchFactor)
+                .minScore(minScore)
+                .filter(filter)
+                .build();
+
+        // Best child match of each parent, in the order of the scores
+        List<EmbeddingMatch<TextSegment>> selected = new ArrayList<>();
+        Set<String> parentIds = new LinkedHashSet<>();
+        for (EmbeddingMatch<TextSegment> match : embeddingStore.search(request).matches()) {
+            if (match.embedded() == null) {
+                continue;
+            }
+            String parentId = parentIdOf(match);
+            if (parentId == null || parentIds.add(parentId)) {
+                selected.add(match);
+                if (selected.size() == maxResults) {
+                    break;
+                }
+            }
+        }
+
+        Map<String, TextSegment> parents = parentIds.isEmpty() ? Map.of() : parentDocumentStore.getAll(parentIds);
+
+        List<Content> contents = new ArrayList<>(selected.size());
+        for (EmbeddingMatch<TextSegment> match : selected) {
+            String parentId = parentIdOf(match);
+            TextSegment parent = parentId == null ? null : parents.get(parentId);
+            contents.add(Content.from(
+                    parent != null ? parent : match.embedded(),
+                    Map.of(
+                            ContentMetadata.SCORE, match.score(),
+                            ContentMetadata.EMBEDDING_ID, match.embeddingId())));
+        }
+        return contents;
+    }
+
+    private static String parentIdOf(EmbeddingMatch<TextSegment> match) {
+        return match.embedded().metadata().getString(ParentDocumentStore.PARENT_ID_KEY);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        static final int DEFAULT_MAX_RESULTS = 3;
+        static final double DEFAULT_MIN_SCORE = 0.0;
+        static final int DEFAULT_OVER_FETCH_FACTOR = 4;
+
+        private EmbeddingModel embeddingModel;
+        private EmbeddingStore<TextSegment> embeddingStore;
+        private ParentDocumentStore parentDocumentStore;
+        private Integer maxResults;
+        private Double minScore;
+        private Integer overFetchFactor;
+        private Filter filter;
+
+        /**
+         * @param embeddingModel The model embedding the queries, the same one that embedded the child segments.
+         * @return builder
+         */
+        public Builder embeddingModel(EmbeddingModel embeddingModel) {
+            this.embeddingModel = embeddingModel;
+            return this;
+        }
+
+        /**
+         * @param embeddingStore The store holding the embeddings of the child segments.
+         * @return builder
+         */
+        public Builder embeddingStore(EmbeddingStore<TextSegment> embeddingStore) {
+            this.embeddingStore = embeddingStore;
+            return this;
+        }
+
+        /**
+         * @param parentDocumentStore The store holding the parent segments.
+         * @return builder
+         */
+        public Builder parentDocumentStore(ParentDocumentStore parentDocumentStore) {
+            this.parentDocumentStore = parentDocumentStore;
+            return this;
+        }
+
+        /**
+         * @param maxResults The maximum number of distinct parent segments returned. Default value: 3.
+         * @return builder
+         */
+        public Builder maxResults(Integer maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        /**
+         * @param minScore The minimum score, between 0 and 1, of a child match. Default value: 0.
+         * @return builder
+         */
+        public Builder minScore(Double minScore) {
+            this.minScore = minScore;
+            return this;
+        }
+
+        /**
+         * @param overFetchFactor How many child segments are searched per returned parent, to make up for the
+         *                        children sharing a parent. Default value: 4.
+         * @return builder
+         */
+        public Builder overFetchFactor(Integer overFetchFactor) {
+            this.overFetchFactor = overFetchFactor;
+            return this;
+        }
+
+        /**
+         * @param filter An optional filter on the metadata of the child segments.
+         * @return builder
+         */
+        public Builder filter(Filter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        public ParentDocumentRetriever build() {
+            return new ParentDocumentRetriever(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dev.langchain4j.community.store.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import dev.langchain4j.Experimental;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * An {@link IngestionLedger} that keeps its entries in memory and persists them to a file on {@link #flush()}.
+ * <p>
+ * The file holds one tab-separated line per entry: the segment id, the parent segment id (empty for
+ * top-level segments) and the content hash. It is rewritten to a temporary file that then atomically
+ * replaces the previous one, so an interrupted flush leaves the last complete ledger in place.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class FileIngestionLedger extends InMemoryIngestionLedger {
+
+    private static final char SEPARATOR = '\t';
+
+    private final Path file;
+
+    /**
+     * Creates a ledger persisted to the given file, loading the entries already recorded in it, if any.
+     *
+     * @param file The ledger file.
+     */
+    public FileIngestionLedger(Path file) {
+        this.file = ensureNotNull(file, "file");
+        if (Files.exists(file)) {
+            load();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, UTF_8)) {
+                for (Map.Entry<String, Entry> entry : entries().entrySet()) {
+                    String parentId = entry.getValue().parentId();
+                    writer.write(entry.getKey());
+                    writer.write(SEPARATOR);
+                    writer.write(parentId == null ? "" : parentId);
+                    writer.write(SEPARATOR);
+                    writer.write(entry.getValue().hash());
+                    writer.newLine();
+                }
+            }
+            Files.move(
+                    temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write ingestion ledger " + file, e);
+        }
+    }
+
+    private void load() {
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] parts = line.split(String.valueOf(SEPARATOR), -1);
+                if (parts.length != 3) {
+                    throw new IllegalStateException("Malformed ingestion ledger line: " + line);
+                }
+                record(parts[0], parts[1].isEmpty() ? null : parts[1], parts[2]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read ingestion ledger " + file, e);
+        }
+    }
+}
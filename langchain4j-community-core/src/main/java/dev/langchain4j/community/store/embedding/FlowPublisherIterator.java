@@ -0,0 +1,94 @@
+package dev.langchain4j.community.store.embedding;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+
+/**
+ * Adapts a {@link Flow.Publisher} to a blocking {@link Iterator}.
+ * <p>
+ * At most {@code bufferSize} items are requested ahead of the consumer. Each consumed item
+ * is followed by a request for one more, so the publisher never gets ahead of the iterator
+ * by more than the buffer size.
+ * </p>
+ *
+ * @param <T> The type of the published items.
+ */
+class FlowPublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T> {
+
+    private static final Object COMPLETE = new Object();
+
+    private final int bufferSize;
+    private final BlockingQueue<Object> buffer;
+    private volatile Flow.Subscription subscription;
+    private Object next;
+    private Throwable error;
+
+    FlowPublisherIterator(int bufferSize) {
+        this.bufferSize = bufferSize;
+        // one extra slot for the completion signal
+        this.buffer = new ArrayBlockingQueue<>(bufferSize + 1);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(bufferSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        buffer.offer(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        buffer.offer(COMPLETE);
+    }
+
+    @Override
+    public void onComplete() {
+        buffer.offer(COMPLETE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next document", e);
+            }
+        }
+        if (next == COMPLETE) {
+            if (error != null) {
+                throw new IllegalStateException("Publisher failed: " + error.getMessage(), error);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = (T) next;
+        next = null;
+        subscription.request(1);
+        return item;
+    }
+
+    void cancel() {
+        Flow.Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.langchain4j.community.store.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotBlank;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An {@link IngestionLedger} that keeps its entries in memory.
+ * It is useful when the same ingestor instance re-ingests a corpus several times within one process.
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class InMemoryIngestionLedger implements IngestionLedger {
+
+    /**
+     * A recorded ledger entry.
+     *
+     * @param parentId The id of the parent segment, or null for a top-level segment.
+     * @param hash     The content hash of the segment.
+     */
+    protected record Entry(String parentId, String hash) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> childIdsByParentId = new ConcurrentHashMap<>();
+
+    @Override
+    public String hash(String id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.hash();
+    }
+
+    @Override
+    public void record(String id, String parentId, String hash) {
+        ensureNotBlank(id, "id");
+        ensureNotBlank(hash, "hash");
+        Entry previous = entries.put(id, new Entry(parentId, hash));
+        if (previous != null && previous.parentId() != null && !previous.parentId().equals(parentId)) {
+            removeChildId(previous.parentId(), id);
+        }
+        if (parentId != null) {
+            childIdsByParentId.compute(parentId, (ignored, childIds) -> {
+                Set<String> ids = childIds == null ? ConcurrentHashMap.newKeySet() : childIds;
+                ids.add(id);
+                return ids;
+            });
+        }
+    }
+
+    @Override
+    public Set<String> ids() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    @Override
+    public Set<String> childIds(String parentId) {
+        ensureNotNull(parentId, "parentId");
+        Set<String> childIds = childIdsByParentId.get(parentId);
+        return childIds == null ? Set.of() : Set.copyOf(childIds);
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        ensureNotNull(ids, "ids");
+        for (String id : ids) {
+            Entry removed = entries.remove(id);
+            if (removed != null && removed.parentId() != null) {
+                removeChildId(removed.parentId(), id);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of all the recorded entries, keyed by segment id.
+     *
+     * @return The recorded entries.
+     */
+    protected Map<String, Entry> entries() {
+        return Map.copyOf(entries);
+    }
+
+    private void removeChildId(String parentId, String id) {
+        childIdsByParentId.computeIfPresent(parentId, (ignored, childIds) -> {
+            childIds.remove(id);
+            return childIds.isEmpty() ? null : childIds;
+        });
+    }
+}
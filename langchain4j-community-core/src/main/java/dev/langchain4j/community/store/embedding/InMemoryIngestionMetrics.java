@@ -0,0 +1,178 @@
+package dev.langchain4j.community.store.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An {@link IngestionListener} recording, for each {@link IngestionStage}, the number of invocations and items,
+ * and a histogram of the durations of the invocations.
+ * <p>
+ * The metrics are kept in memory, without any dependency, and can be read at any time with {@link #stats()},
+ * for example to log them at the end of an ingestion or to find the stage where the time goes with
+ * {@link #slowestStage()}. The histogram takes a fixed amount of memory per stage, however long the ingestion.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class InMemoryIngestionMetrics implements IngestionListener {
+
+    private final Map<IngestionStage, StageRecorder> recorders = new EnumMap<>(IngestionStage.class);
+
+    public InMemoryIngestionMetrics() {
+        for (IngestionStage stage : IngestionStage.values()) {
+            recorders.put(stage, new StageRecorder());
+        }
+    }
+
+    @Override
+    public void onStageCompleted(IngestionStage stage, int inputCount, int outputCount, Duration duration) {
+        recorders.get(stage).record(inputCount, outputCount, duration.toNanos(), false);
+    }
+
+    @Override
+    public void onStageFailed(IngestionStage stage, int inputCount, Throwable error, Duration duration) {
+        recorders.get(stage).record(inputCount, 0, duration.toNanos(), true);
+    }
+
+    /**
+     * @param stage The stage.
+     * @return The metrics recorded so far for the given stage.
+     */
+    public IngestionStageStats stats(IngestionStage stage) {
+        ensureNotNull(stage, "stage");
+        return recorders.get(stage).stats(stage);
+    }
+
+    /**
+     * @return The metrics recorded so far for each stage that ran at least once, in the order of the stages.
+     */
+    public Map<IngestionStage, IngestionStageStats> stats() {
+        Map<IngestionStage, IngestionStageStats> stats = new EnumMap<>(IngestionStage.class);
+        for (Map.Entry<IngestionStage, StageRecorder> entry : recorders.entrySet()) {
+            IngestionStageStats stageStats = entry.getValue().stats(entry.getKey());
+            if (stageStats.invocations() > 0) {
+                stats.put(entry.getKey(), stageStats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * @return The stage with the longest total duration, or null if no stage ran yet.
+     */
+    public IngestionStage slowestStage() {
+        IngestionStage slowest = null;
+        Duration longest = Duration.ZERO;
+        for (IngestionStageStats stageStats : stats().values()) {
+            if (slowest == null || stageStats.totalDuration().compareTo(longest) > 0) {
+                slowest = stageStats.stage();
+                longest = stageStats.totalDuration();
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * Clears the metrics of all stages.
+     */
+    public void reset() {
+        recorders.values().forEach(StageRecorder::reset);
+    }
+
+    /**
+     * Records the invocations of one stage. Durations are counted in a histogram with 8 linear sub-buckets
+     * per power of two of nanoseconds, so that percentiles are estimated within 12.5%.
+     */
+    private static class StageRecorder {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final long[] histogram = new long[BUCKETS];
+        private long invocations;
+        private long failures;
+        private long inputCount;
+        private long outputCount;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void record(int input, int output, long nanos, boolean failed) {
+            nanos = Math.max(0, nanos);
+            invocations++;
+            if (failed) {
+                failures++;
+            }
+            inputCount += input;
+            outputCount += output;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            histogram[bucketOf(nanos)]++;
+        }
+
+        synchronized IngestionStageStats stats(IngestionStage stage) {
+            return new IngestionStageStats(
+                    stage,
+                    invocations,
+                    failures,
+                    inputCount,
+                    outputCount,
+                    Duration.ofNanos(totalNanos),
+                    Duration.ofNanos(maxNanos),
+                    Duration.ofNanos(percentile(0.50)),
+                    Duration.ofNanos(percentile(0.95)),
+                    Duration.ofNanos(percentile(0.99)));
+        }
+
+        synchronized void reset() {
+            Arrays.fill(histogram, 0);
+            invocations = 0;
+            failures = 0;
+            inputCount = 0;
+            outputCount = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+        }
+
+        private long percentile(double quantile) {
+            if (invocations == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * invocations));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(bucket), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        private static int bucketOf(long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) nanos;
+            }
+            int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+            int shift = exponent - SUB_BUCKET_BITS;
+            int subBucket = (int) (nanos >>> shift) - SUB_BUCKETS;
+            return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+        }
+
+        private static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+            int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+            long lowerBound = (long) (SUB_BUCKETS + subBucket) << shift;
+            return lowerBound + (1L << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package dev.langchain4j.community.store.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ParentDocumentStore} that keeps the parent segments in memory.
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class InMemoryParentDocumentStore implements ParentDocumentStore {
+
+    private final Map<String, TextSegment> segments = new ConcurrentHashMap<>();
+
+    @Override
+    public void putAll(List<String> ids, List<TextSegment> segments) {
+        ensureNotNull(ids, "ids");
+        ensureNotNull(segments, "segments");
+        if (ids.size() != segments.size()) {
+            throw new IllegalArgumentException("ids and segments must have the same size");
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            this.segments.put(ensureNotNull(ids.get(i), "id"), ensureNotNull(segments.get(i), "segment"));
+        }
+    }
+
+    @Override
+    public Map<String, TextSegment> getAll(Collection<String> ids) {
+        ensureNotNull(ids, "ids");
+        Map<String, TextSegment> found = new LinkedHashMap<>();
+        for (String id : ids) {
+            TextSegment segment = segments.get(id);
+            if (segment != null) {
+                found.put(id, segment);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        ensureNotNull(ids, "ids");
+        ids.forEach(segments::remove);
+    }
+
+    /**
+     * @return The number of parent segments in the store.
+     */
+    public int size() {
+        return segments.size();
+    }
+}
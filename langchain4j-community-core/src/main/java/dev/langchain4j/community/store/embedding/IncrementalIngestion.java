@@ -0,0 +1,205 @@
+package dev.langchain4j.community.store.embedding;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks one ingestion run against an {@link IngestionLedger}.
+ * <p>
+ * {@link #select(List)} decides which segments must be embedded: segments whose id is unknown to the ledger
+ * or whose content hash changed. Segments whose content changed are removed from the store right away, since
+ * they are written again with the same id. {@link #recordStored(List)} records stored segments as they are
+ * written, and {@link #finish()} removes the segments that were not seen during the run.
+ * </p>
+ */
+class IncrementalIngestion {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalIngestion.class);
+
+    private record PendingEntry(String parentId, String hash) {}
+
+    private final IngestionLedger ledger;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final Function<TextSegment, String> parentIdProvider;
+    private final Function<TextSegment, List<TextSegment>> childSplitter;
+    private final ParentDocumentStore parentDocumentStore;
+
+    private final Set<String> seenIds = new HashSet<>();
+    private final Map<String, String> parentHashesToRecord = new LinkedHashMap<>();
+    private final Map<String, PendingEntry> pendingEntries = new ConcurrentHashMap<>();
+
+    /**
+     * @param ledger           The ledger of the previous runs.
+     * @param embeddingStore   The store the segments are written to.
+     * @param parentIdProvider Provides the id of a parent segment.
+     * @param childSplitter    Splits a parent segment into child segments, or null if parents are embedded as-is.
+     * @param parentDocumentStore The store the new or changed parent segments are written to, can be null.
+     */
+    IncrementalIngestion(
+            IngestionLedger ledger,
+            EmbeddingStore<TextSegment> embeddingStore,
+            Function<TextSegment, String> parentIdProvider,
+            Function<TextSegment, List<TextSegment>> childSplitter,
+            ParentDocumentStore parentDocumentStore) {
+        this.ledger = ledger;
+        this.embeddingStore = embeddingStore;
+        this.parentIdProvider = parentIdProvider;
+        this.childSplitter = childSplitter;
+        this.parentDocumentStore = parentDocumentStore;
+    }
+
+    /**
+     * Selects the segments of the given parents that must be embedded and stored.
+     *
+     * @param parentSegments The parent segments.
+     * @return The new or changed segments, with their ids.
+     */
+    SegmentsToEmbed select(List<TextSegment> parentSegments) {
+        List<String> ids = new ArrayList<>();
+        List<TextSegment> segments = new ArrayList<>();
+        List<String> changedIds = new ArrayList<>();
+        List<String> changedParentIds = new ArrayList<>();
+        List<TextSegment> changedParents = new ArrayList<>();
+
+        for (TextSegment parentSegment : parentSegments) {
+            String parentId = parentIdProvider.apply(parentSegment);
+            String parentHash = hash(parentSegment);
+            seenIds.add(parentId);
+            boolean parentUnchanged = parentHash.equals(ledger.hash(parentId));
+
+            if (childSplitter == null) {
+                if (!parentUnchanged) {
+                    select(parentId, null, parentSegment, parentHash, ids, segments, changedIds);
+                }
+                continue;
+            }
+
+            if (parentUnchanged) {
+                seenIds.addAll(ledger.childIds(parentId));
+                continue;
+            }
+            List<TextSegment> childSegments = childSplitter.apply(parentSegment);
+            for (int i = 0; i < childSegments.size(); i++) {
+                TextSegment childSegment = childSegments.get(i);
+                String childId = childId(parentId, i);
+                seenIds.add(childId);
+                String childHash = hash(childSegment);
+                if (!childHash.equals(ledger.hash(childId))) {
+                    select(childId, parentId, childSegment, childHash, ids, segments, changedIds);
+                }
+            }
+            // Parents are recorded once all their children are stored
+            parentHashesToRecord.put(parentId, parentHash);
+            changedParentIds.add(parentId);
+            changedParents.add(parentSegment);
+        }
+
+        if (parentDocumentStore != null && !changedParentIds.isEmpty()) {
+            parentDocumentStore.putAll(changedParentIds, changedParents);
+        }
+
+        if (!changedIds.isEmpty()) {
+            log.debug("Removing {} changed text segments before storing them again", changedIds.size());
+            embeddingStore.removeAll(changedIds);
+        }
+        return new SegmentsToEmbed(ids, segments);
+    }
+
+    private void select(
+            String id,
+            String parentId,
+            TextSegment segment,
+            String hash,
+            List<String> ids,
+            List<TextSegment> segments,
+            List<String> changedIds) {
+        if (ledger.hash(id) != null) {
+            changedIds.add(id);
+        }
+        ids.add(id);
+        segments.add(segment);
+        pendingEntries.put(id, new PendingEntry(parentId, hash));
+    }
+
+    /**
+     * Records the given segments in the ledger, once they have been stored.
+     *
+     * @param ids The ids of the stored segments.
+     */
+    void recordStored(List<String> ids) {
+        for (String id : ids) {
+            PendingEntry entry = pendingEntries.remove(id);
+            if (entry != null) {
+                ledger.record(id, entry.parentId(), entry.hash());
+            }
+        }
+    }
+
+    /**
+     * Records the parent segments, removes the segments that disappeared since the previous run,
+     * and flushes the ledger.
+     */
+    void finish() {
+        parentHashesToRecord.forEach((parentId, hash) -> ledger.record(parentId, null, hash));
+
+        Set<String> disappearedIds = new HashSet<>(ledger.ids());
+        disappearedIds.removeAll(seenIds);
+        if (!disappearedIds.isEmpty()) {
+            log.debug("Removing {} text segments that disappeared since the previous ingestion", disappearedIds.size());
+            embeddingStore.removeAll(disappearedIds);
+            if (parentDocumentStore != null) {
+                parentDocumentStore.removeAll(disappearedIds);
+            }
+            ledger.removeAll(disappearedIds);
+        }
+        ledger.flush();
+    }
+
+    /**
+     * The default parent segment id: a name-based UUID of the segment metadata and text. The metadata includes
+     * the metadata of its document and its index within the document, but several documents can share it,
+     * so the text is always included: segments with the same metadata never collide, and an edited segment
+     * gets a new id, its previous children being removed by {@link #finish()}.
+     *
+     * @param parentSegment The parent segment.
+     * @return The id of the parent segment.
+     */
+    static String defaultParentId(TextSegment parentSegment) {
+        String name = new TreeMap<>(parentSegment.metadata().toMap()) + parentSegment.text();
+        return UUID.nameUUIDFromBytes(name.getBytes(UTF_8)).toString();
+    }
+
+    static String childId(String parentId, int childIndex) {
+        return UUID.nameUUIDFromBytes((parentId + "#" + childIndex).getBytes(UTF_8))
+                .toString();
+    }
+
+    static String hash(TextSegment segment) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(segment.text().getBytes(UTF_8));
+            digest.update((byte) 0);
+            digest.update(new TreeMap<>(segment.metadata().toMap()).toString().getBytes(UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package dev.langchain4j.community.store.embedding;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the stages of an ingestion, reporting them to an {@link IngestionListener} when there is one.
+ */
+final class IngestionInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionInstrumentation.class);
+
+    private final IngestionListener listener;
+
+    IngestionInstrumentation(IngestionListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Runs a stage.
+     *
+     * @param stage       The stage.
+     * @param inputCount  The number of items given to the stage.
+     * @param call        The stage itself.
+     * @param outputCount Counts the items of the result of the stage.
+     * @return The result of the stage.
+     */
+    <T> T run(IngestionStage stage, int inputCount, Supplier<T> call, ToIntFunction<T> outputCount) {
+        if (listener == null) {
+            return call.get();
+        }
+
+        notify(stage, () -> listener.onStageStarted(stage, inputCount));
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            notify(stage, () -> listener.onStageFailed(stage, inputCount, e, duration));
+            throw e;
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        int count = outputCount.applyAsInt(result);
+        notify(stage, () -> listener.onStageCompleted(stage, inputCount, count, duration));
+        return result;
+    }
+
+    /**
+     * Runs a stage that produces as many items as it is given, such as storing.
+     */
+    void run(IngestionStage stage, int inputCount, Runnable call) {
+        run(
+                stage,
+                inputCount,
+                () -> {
+                    call.run();
+                    return null;
+                },
+                ignored -> inputCount);
+    }
+
+    private static void notify(IngestionStage stage, Runnable notification) {
+        try {
+            notification.run();
+        } catch (RuntimeException e) {
+            log.warn("An exception occurred in the ingestion listener for stage {}, ignoring it", stage, e);
+        }
+    }
+}
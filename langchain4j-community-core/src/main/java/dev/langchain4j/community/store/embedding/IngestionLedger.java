@@ -0,0 +1,69 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Records a content hash for each segment id written by an ingestion, so that later ingestions of the same
+ * corpus can skip the segments that did not change and remove the segments that disappeared.
+ * <p>
+ * Entries of child segments reference the id of their parent segment, which lets an ingestor skip all the
+ * children of an unchanged parent without splitting it again.
+ * </p>
+ * <p>
+ * Implementations must be safe to call from multiple threads.
+ * </p>
+ *
+ * @see ParentChildEmbeddingStoreIngestor.Builder#ingestionLedger(IngestionLedger)
+ * @see InMemoryIngestionLedger
+ * @see FileIngestionLedger
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public interface IngestionLedger {
+
+    /**
+     * Returns the content hash recorded for the given segment id.
+     *
+     * @param id The segment id.
+     * @return The recorded content hash, or null if the id is unknown.
+     */
+    String hash(String id);
+
+    /**
+     * Records the content hash of a segment, replacing any previous entry with the same id.
+     *
+     * @param id       The segment id.
+     * @param parentId The id of the parent segment, or null for a top-level segment.
+     * @param hash     The content hash of the segment.
+     */
+    void record(String id, String parentId, String hash);
+
+    /**
+     * Returns the ids of all the recorded segments.
+     *
+     * @return The recorded ids.
+     */
+    Set<String> ids();
+
+    /**
+     * Returns the ids of the recorded segments whose parent is the given segment.
+     *
+     * @param parentId The id of the parent segment.
+     * @return The ids of the child segments.
+     */
+    Set<String> childIds(String parentId);
+
+    /**
+     * Removes the entries with the given ids.
+     *
+     * @param ids The ids of the entries to remove.
+     */
+    void removeAll(Collection<String> ids);
+
+    /**
+     * Persists the recorded entries, if the implementation is durable. Called at the end of each ingestion.
+     */
+    default void flush() {}
+}
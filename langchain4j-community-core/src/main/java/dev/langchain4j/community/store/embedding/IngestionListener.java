@@ -0,0 +1,48 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+import java.time.Duration;
+
+/**
+ * Receives the start and the end of each {@link IngestionStage} of an ingestion run by
+ * {@link ParentChildEmbeddingStoreIngestor}, with the number of items going in and out of the stage.
+ * <p>
+ * Batches are embedded concurrently, so the listener can be called from several threads at once.
+ * Exceptions thrown by the listener are logged and ignored.
+ * </p>
+ *
+ * @see InMemoryIngestionMetrics
+ * @see MicrometerIngestionListener
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public interface IngestionListener {
+
+    /**
+     * Called before a stage runs.
+     *
+     * @param stage      The stage.
+     * @param inputCount The number of documents or segments given to the stage.
+     */
+    default void onStageStarted(IngestionStage stage, int inputCount) {}
+
+    /**
+     * Called after a stage completed.
+     *
+     * @param stage       The stage.
+     * @param inputCount  The number of documents or segments given to the stage.
+     * @param outputCount The number of documents or segments produced by the stage.
+     * @param duration    How long the stage took.
+     */
+    default void onStageCompleted(IngestionStage stage, int inputCount, int outputCount, Duration duration) {}
+
+    /**
+     * Called after a stage failed. The error is then propagated to the caller of the ingestor.
+     *
+     * @param stage      The stage.
+     * @param inputCount The number of documents or segments given to the stage.
+     * @param error      The error thrown by the stage.
+     * @param duration   How long the stage ran before failing.
+     */
+    default void onStageFailed(IngestionStage stage, int inputCount, Throwable error, Duration duration) {}
+}
@@ -0,0 +1,16 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * A snapshot of the progress of a streaming ingestion, reported to an {@link IngestionProgressListener}.
+ *
+ * @param documentsRead   The number of documents read from the input so far.
+ * @param segmentsStored  The number of segments embedded and stored so far.
+ * @param batchesStored   The number of batches embedded and stored so far.
+ * @param tokenUsage      The token usage of all the batches embedded and stored so far.
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public record IngestionProgress(long documentsRead, long segmentsStored, long batchesStored, TokenUsage tokenUsage) {}
@@ -0,0 +1,24 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+
+/**
+ * Receives progress updates of a streaming ingestion run by {@link ParentChildEmbeddingStoreIngestor}.
+ * <p>
+ * The listener is called each time a batch of segments has been stored, one call at a time,
+ * from one of the threads of the ingestor's executor.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+@FunctionalInterface
+public interface IngestionProgressListener {
+
+    /**
+     * Called after a batch of segments has been embedded and stored.
+     *
+     * @param progress The progress of the ingestion so far.
+     */
+    void onProgress(IngestionProgress progress);
+}
@@ -0,0 +1,48 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+
+/**
+ * The stages of an ingestion run by {@link ParentChildEmbeddingStoreIngestor}, reported to an
+ * {@link IngestionListener}.
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public enum IngestionStage {
+
+    /**
+     * {@code DocumentTransformer.transformAll}, counted in documents.
+     */
+    DOCUMENT_TRANSFORM,
+
+    /**
+     * {@code DocumentSplitter.splitAll} on the documents, from documents to parent segments.
+     */
+    DOCUMENT_SPLIT,
+
+    /**
+     * {@code TextSegmentTransformer.transformAll} on the parent segments.
+     */
+    SEGMENT_TRANSFORM,
+
+    /**
+     * The child {@code DocumentSplitter} on one parent segment, from the parent segment to its child segments.
+     */
+    CHILD_SPLIT,
+
+    /**
+     * The child {@code TextSegmentTransformer} on the child segments of one parent segment.
+     */
+    CHILD_SEGMENT_TRANSFORM,
+
+    /**
+     * {@code EmbeddingModel.embedAll} on one batch of segments.
+     */
+    EMBED,
+
+    /**
+     * {@code EmbeddingStore.addAll} of one batch of embedded segments.
+     */
+    STORE
+}
@@ -0,0 +1,41 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+import java.time.Duration;
+
+/**
+ * A snapshot of the metrics recorded for one {@link IngestionStage} by {@link InMemoryIngestionMetrics}.
+ * Percentiles are estimated from a histogram, with a relative error below 12.5%.
+ *
+ * @param stage         The stage.
+ * @param invocations   The number of times the stage ran, including failures.
+ * @param failures      The number of times the stage failed.
+ * @param inputCount    The total number of items given to the stage.
+ * @param outputCount   The total number of items produced by the stage.
+ * @param totalDuration The time spent in the stage, summed over all invocations.
+ * @param maxDuration   The longest invocation.
+ * @param p50           The median duration of an invocation.
+ * @param p95           The 95th percentile of the duration of an invocation.
+ * @param p99           The 99th percentile of the duration of an invocation.
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public record IngestionStageStats(
+        IngestionStage stage,
+        long invocations,
+        long failures,
+        long inputCount,
+        long outputCount,
+        Duration totalDuration,
+        Duration maxDuration,
+        Duration p50,
+        Duration p95,
+        Duration p99) {
+
+    /**
+     * @return The mean duration of an invocation, or zero if the stage never ran.
+     */
+    public Duration meanDuration() {
+        return invocations == 0 ? Duration.ZERO : totalDuration.dividedBy(invocations);
+    }
+}
@@ -0,0 +1,495 @@
+package dev.langchain4j.community.store.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ParentDocumentStore} that keeps the parent segments in an append-only file, read through memory
+ * mappings, with only an index of ids to file positions held in memory.
+ * <p>
+ * Each parent segment is written once as a compact binary record: its id, its UTF-8 text and its typed
+ * metadata entries. Replacing or removing a segment appends a new record, and the space of the previous one
+ * is reclaimed by {@link #compact()}. When the file is opened again, the index is rebuilt by scanning the
+ * records; a record truncated by a crash is dropped.
+ * </p>
+ * <p>
+ * The file grows ahead of the records, doubling up to a whole mapped region and then a region at a time, so that
+ * each region is only mapped again a bounded number of times. The spare space is trimmed on {@link #close()}.
+ * </p>
+ * <p>
+ * Reads are served concurrently from the mapped file, so that fetching the parents of a query costs no
+ * system call; writes are serialized.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class MappedFileParentDocumentStore implements ParentDocumentStore, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileParentDocumentStore.class);
+
+    private static final int MAGIC = 0x4C34_5044; // "L4PD"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + 1;
+    private static final long REGION_SIZE = 1L << 30;
+    private static final long MIN_CAPACITY = 1L << 20;
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private static final byte STRING = 1;
+    private static final byte UUID_VALUE = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+
+    /**
+     * The position and length of the payload of a record.
+     */
+    private record Location(long position, int length) {}
+
+    private final Path file;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+    private FileChannel channel;
+    private Map<String, Location> index = new HashMap<>();
+    private long size;
+    private long capacity;
+
+    private MappedFileParentDocumentStore(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE) {
+            writeHeader(channel);
+            size = HEADER_SIZE;
+        } else {
+            load();
+        }
+        capacity = size;
+        map();
+    }
+
+    /**
+     * Opens the store file at the given path, creating it if it does not exist.
+     *
+     * @param file The store file.
+     * @return The opened store.
+     */
+    public static MappedFileParentDocumentStore open(Path file) {
+        ensureNotNull(file, "file");
+        try {
+            return new MappedFileParentDocumentStore(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open parent document store " + file, e);
+        }
+    }
+
+    @Override
+    public void putAll(List<String> ids, List<TextSegment> segments) {
+        ensureNotNull(ids, "ids");
+        ensureNotNull(segments, "segments");
+        if (ids.size() != segments.size()) {
+            throw new IllegalArgumentException("ids and segments must have the same size");
+        }
+        List<byte[]> records = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            records.add(encodePut(ensureNotNull(ids.get(i), "id"), ensureNotNull(segments.get(i), "segment")));
+        }
+
+        lock.writeLock().lock();
+        try {
+            long position = append(records);
+            for (int i = 0; i < ids.size(); i++) {
+                int length = records.get(i).length - RECORD_HEADER_SIZE;
+                index.put(ids.get(i), new Location(position + RECORD_HEADER_SIZE, length));
+                position += records.get(i).length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write parent document store " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, TextSegment> getAll(Collection<String> ids) {
+        ensureNotNull(ids, "ids");
+        Map<String, TextSegment> found = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String id : ids) {
+                Location location = index.get(id);
+                if (location != null && !found.containsKey(id)) {
+                    found.put(id, decodePut(read(location.position(), location.length())));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        ensureNotNull(ids, "ids");
+        lock.writeLock().lock();
+        try {
+            List<byte[]> records = new ArrayList<>();
+            for (String id : ids) {
+                if (index.remove(id) != null) {
+                    records.add(encodeRemove(id));
+                }
+            }
+            if (!records.isEmpty()) {
+                append(records);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write parent document store " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of parent segments in the store.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file with only the current version of each parent segment, reclaiming the space of the
+     * replaced and removed ones. The new file atomically replaces the previous one.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Map<String, Location> compactedIndex = new HashMap<>();
+            try (FileChannel compacted = FileChannel.open(
+                    temporaryFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                writeHeader(compacted);
+                long position = HEADER_SIZE;
+                for (Map.Entry<String, Location> entry : index.entrySet()) {
+                    Location location = entry.getValue();
+                    byte[] record = read(
+                            location.position() - RECORD_HEADER_SIZE, location.length() + RECORD_HEADER_SIZE);
+                    writeFully(compacted, ByteBuffer.wrap(record), position);
+                    compactedIndex.put(entry.getKey(), new Location(position + RECORD_HEADER_SIZE, location.length()));
+                    position += record.length;
+                }
+                compacted.force(true);
+            }
+
+            log.debug("Compacted parent document store {} from {} to {} bytes", file, size, sizeOf(compactedIndex));
+            regions.clear();
+            channel.close();
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            index = compactedIndex;
+            size = channel.size();
+            capacity = size;
+            map();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compact parent document store " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the written records to the storage device and closes the file.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            regions.clear();
+            if (channel.isOpen()) {
+                channel.truncate(size);
+                channel.force(true);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close parent document store " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(List<byte[]> records) throws IOException {
+        int length = 0;
+        for (byte[] record : records) {
+            length += record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        records.forEach(buffer::put);
+        buffer.flip();
+
+        long position = size;
+        ensureCapacity(position + length);
+        writeFully(channel, buffer, position);
+        size += length;
+        return position;
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required <= capacity) {
+            return;
+        }
+        if (required >= REGION_SIZE) {
+            capacity = (required + REGION_SIZE - 1) / REGION_SIZE * REGION_SIZE;
+        } else {
+            capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(required - 1) << 1);
+        }
+        writeFully(channel, ByteBuffer.allocate(1), capacity - 1);
+        map();
+    }
+
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IllegalStateException(file + " is not a parent document store file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported parent document store version " + version + " in " + file);
+        }
+
+        long fileSize = channel.size();
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE + Integer.BYTES);
+        long position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE + Integer.BYTES <= fileSize) {
+            recordHeader.clear();
+            channel.read(recordHeader, position);
+            recordHeader.flip();
+            int length = recordHeader.getInt();
+            byte type = recordHeader.get();
+            int idLength = recordHeader.getInt();
+            long end = position + RECORD_HEADER_SIZE + length;
+            if (length < Integer.BYTES || idLength < 0 || idLength > length - Integer.BYTES || end > fileSize) {
+                break;
+            }
+            ByteBuffer idBytes = ByteBuffer.allocate(idLength);
+            channel.read(idBytes, position + RECORD_HEADER_SIZE + Integer.BYTES);
+            String id = new String(idBytes.array(), UTF_8);
+            if (type == PUT) {
+                index.put(id, new Location(position + RECORD_HEADER_SIZE, length));
+            } else if (type == REMOVE) {
+                index.remove(id);
+            } else {
+                break;
+            }
+            position = end;
+        }
+
+        if (position < fileSize) {
+            log.warn(
+                    "Dropping {} bytes of spare space or incomplete records at the end of {}",
+                    fileSize - position,
+                    file);
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    private void map() throws IOException {
+        int regionCount = (int) ((capacity + REGION_SIZE - 1) / REGION_SIZE);
+        for (int i = Math.max(0, regions.size() - 1); i < regionCount; i++) {
+            long start = i * REGION_SIZE;
+            long length = Math.min(REGION_SIZE, capacity - start);
+            if (i < regions.size() && regions.get(i).capacity() >= length) {
+                continue;
+            }
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            if (i < regions.size()) {
+                regions.set(i, region);
+            } else {
+                regions.add(region);
+            }
+        }
+    }
+
+    private byte[] read(long position, int length) {
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            long offset = position + copied;
+            MappedByteBuffer region = regions.get((int) (offset / REGION_SIZE));
+            int regionOffset = (int) (offset % REGION_SIZE);
+            int count = Math.min(length - copied, region.capacity() - regionOffset);
+            region.get(regionOffset, bytes, copied, count);
+            copied += count;
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(Map<String, Location> index) {
+        long size = HEADER_SIZE;
+        for (Location location : index.values()) {
+            size += RECORD_HEADER_SIZE + location.length();
+        }
+        return size;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        writeFully(channel, header, 0);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static byte[] encodePut(String id, TextSegment segment) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0); // length, set below
+            out.writeByte(PUT);
+            writeString(out, id);
+            writeString(out, segment.text());
+            Map<String, Object> metadata = segment.metadata().toMap();
+            out.writeInt(metadata.size());
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return withLength(bytes.toByteArray());
+    }
+
+    private static byte[] encodeRemove(String id) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0); // length, set below
+            out.writeByte(REMOVE);
+            writeString(out, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return withLength(bytes.toByteArray());
+    }
+
+    private static byte[] withLength(byte[] record) {
+        ByteBuffer.wrap(record).putInt(record.length - RECORD_HEADER_SIZE);
+        return record;
+    }
+
+    private static TextSegment decodePut(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            readString(in); // id
+            String text = readString(in);
+            int entryCount = in.readInt();
+            Map<String, Object> metadata = new HashMap<>();
+            for (int i = 0; i < entryCount; i++) {
+                String key = readString(in);
+                metadata.put(key, readValue(in));
+            }
+            return TextSegment.from(text, Metadata.from(metadata));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof Integer integer) {
+            out.writeByte(INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Float floatValue) {
+            out.writeByte(FLOAT);
+            out.writeFloat(floatValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(doubleValue);
+        } else {
+            throw new IllegalArgumentException("Unsupported metadata value type: " + value.getClass());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case STRING -> readString(in);
+            case UUID_VALUE -> new UUID(in.readLong(), in.readLong());
+            case INTEGER -> in.readInt();
+            case LONG -> in.readLong();
+            case FLOAT -> in.readFloat();
+            case DOUBLE -> in.readDouble();
+            default -> throw new IllegalStateException("Unknown metadata value type: " + type);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
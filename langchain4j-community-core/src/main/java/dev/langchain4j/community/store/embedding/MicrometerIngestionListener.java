@@ -0,0 +1,93 @@
+package dev.langchain4j.community.store.embedding;
+
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
+
+import dev.langchain4j.Experimental;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An {@link IngestionListener} publishing the stages of an ingestion to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Each stage gets a timer {@value #DURATION_METRIC}, tagged with the {@code stage} and its {@code outcome}
+ * ({@code success} or {@code failure}), and two distribution summaries {@value #INPUT_METRIC} and
+ * {@value #OUTPUT_METRIC} counting the items going in and out of the stage. The timers and summaries publish
+ * percentile histograms, so that percentiles can be aggregated across instances by the monitoring system.
+ * </p>
+ * <p>
+ * {@code io.micrometer:micrometer-core} is an optional dependency: it must be added to the application
+ * to use this listener.
+ * </p>
+ *
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public class MicrometerIngestionListener implements IngestionListener {
+
+    static final String DURATION_METRIC = "langchain4j.ingestion.stage.duration";
+    static final String INPUT_METRIC = "langchain4j.ingestion.stage.input";
+    static final String OUTPUT_METRIC = "langchain4j.ingestion.stage.output";
+
+    private final Map<IngestionStage, Timer> successTimers = new EnumMap<>(IngestionStage.class);
+    private final Map<IngestionStage, Timer> failureTimers = new EnumMap<>(IngestionStage.class);
+    private final Map<IngestionStage, DistributionSummary> inputSummaries = new EnumMap<>(IngestionStage.class);
+    private final Map<IngestionStage, DistributionSummary> outputSummaries = new EnumMap<>(IngestionStage.class);
+
+    public MicrometerIngestionListener(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param registry The registry the meters are registered in.
+     * @param tags     Additional tags added to every meter, for example the name of the ingested corpus.
+     */
+    public MicrometerIngestionListener(MeterRegistry registry, Iterable<Tag> tags) {
+        ensureNotNull(registry, "registry");
+        ensureNotNull(tags, "tags");
+        for (IngestionStage stage : IngestionStage.values()) {
+            Tags stageTags = Tags.of(tags).and("stage", stage.name().toLowerCase(Locale.ROOT));
+            successTimers.put(stage, timer(registry, stageTags.and("outcome", "success")));
+            failureTimers.put(stage, timer(registry, stageTags.and("outcome", "failure")));
+            inputSummaries.put(stage, summary(registry, INPUT_METRIC, "Items given to an ingestion stage", stageTags));
+            outputSummaries.put(
+                    stage, summary(registry, OUTPUT_METRIC, "Items produced by an ingestion stage", stageTags));
+        }
+    }
+
+    @Override
+    public void onStageCompleted(IngestionStage stage, int inputCount, int outputCount, Duration duration) {
+        successTimers.get(stage).record(duration);
+        inputSummaries.get(stage).record(inputCount);
+        outputSummaries.get(stage).record(outputCount);
+    }
+
+    @Override
+    public void onStageFailed(IngestionStage stage, int inputCount, Throwable error, Duration duration) {
+        failureTimers.get(stage).record(duration);
+        inputSummaries.get(stage).record(inputCount);
+    }
+
+    private static Timer timer(MeterRegistry registry, Tags tags) {
+        return Timer.builder(DURATION_METRIC)
+                .description("Duration of an ingestion stage")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static DistributionSummary summary(MeterRegistry registry, String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("items")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -1,8 +1,19 @@
 package dev.langchain4j.community.store.embedding;
 
+import static dev.langchain4j.community.store.embedding.IngestionStage.CHILD_SEGMENT_TRANSFORM;
+import static dev.langchain4j.community.store.embedding.IngestionStage.CHILD_SPLIT;
+import static dev.langchain4j.community.store.embedding.IngestionStage.DOCUMENT_SPLIT;
+import static dev.langchain4j.community.store.embedding.IngestionStage.DOCUMENT_TRANSFORM;
+import static dev.langchain4j.community.store.embedding.IngestionStage.EMBED;
+import static dev.langchain4j.community.store.embedding.IngestionStage.SEGMENT_TRANSFORM;
+import static dev.langchain4j.community.store.embedding.IngestionStage.STORE;
+import static dev.langchain4j.internal.Utils.getOrDefault;
+import static dev.langchain4j.internal.ValidationUtils.ensureGreaterThanZero;
+import static dev.langchain4j.internal.ValidationUtils.ensureNotNull;
 import static java.util.stream.Collectors.toList;
 
 import dev.langchain4j.Experimental;
+import dev.langchain4j.community.internal.DefaultExecutorProvider;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentSplitter;
 import dev.langchain4j.data.document.DocumentTransformer;
@@ -17,7 +28,17 @@ import dev.langchain4j.spi.model.embedding.EmbeddingModelFactory;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.EmbeddingStoreIngestor;
 import dev.langchain4j.store.embedding.IngestionResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +56,28 @@ import org.slf4j.LoggerFactory;
  * embedding generation and storage—for example, splitting chapters into paragraphs and then embedding
  * both levels separately.
  * </p>
+ * <p>
+ * By default, the child segments of each parent segment are embedded and stored one parent at a time.
+ * When a {@link Builder#batchSize(Integer) batch size} is configured, child segments are instead collected
+ * across parents into batches of that size. Up to {@link Builder#maxConcurrency(Integer) maxConcurrency}
+ * batches are embedded at once on the configured {@link Executor}, and the resulting embeddings are
+ * written to the {@link EmbeddingStore} with a single {@code addAll} call per round of batches.
+ * </p>
+ * <p>
+ * With an {@link IngestionLedger}, repeated ingestions of the same corpus are incremental: only the segments
+ * that are new or whose content changed since the previous ingestion are embedded and stored, and the segments
+ * that disappeared are removed from the store.
+ * </p>
+ * <p>
+ * With a {@link ParentDocumentStore}, only the child segments are embedded: the parent segments are written to
+ * the parent document store, and each child segment references its parent in its
+ * {@value ParentDocumentStore#PARENT_ID_KEY} metadata entry, so that the parent text can be retrieved for the best
+ * matching children.
+ * </p>
+ * <p>
+ * An {@link IngestionListener} can be notified of the start and the end of each {@link IngestionStage}
+ * (transformation, splitting, embedding and storing), to find out where the time of an ingestion goes.
+ * </p>
  *
  * @see EmbeddingStoreIngestor
  * @since 1.1.0-beta7
@@ -52,6 +95,16 @@ public class ParentChildEmbeddingStoreIngestor extends EmbeddingStoreIngestor {
 
     private final DocumentSplitter documentChildSplitter;
 
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final int queueCapacity;
+    private final int documentBatchSize;
+    private final IngestionLedger ingestionLedger;
+    private final Function<TextSegment, String> parentIdProvider;
+    private final IngestionInstrumentation instrumentation;
+    private final ParentDocumentStore parentDocumentStore;
+
     /**
      * Create an instance of ParentChildEmbeddingStoreIngestor, which processes documents through a pipeline
      * that includes transformation, hierarchical splitting into parent and child segments, and embedding generation
@@ -81,61 +134,403 @@ public class ParentChildEmbeddingStoreIngestor extends EmbeddingStoreIngestor {
         this.embeddingModel = embeddingModel;
         this.embeddingStore = embeddingStore;
         this.documentChildSplitter = documentChildSplitter;
+        this.batchSize = 0;
+        this.maxConcurrency = 1;
+        this.executor = null;
+        this.queueCapacity = Builder.DEFAULT_QUEUE_CAPACITY;
+        this.documentBatchSize = Builder.DEFAULT_DOCUMENT_BATCH_SIZE;
+        this.ingestionLedger = null;
+        this.parentIdProvider = IncrementalIngestion::defaultParentId;
+        this.instrumentation = new IngestionInstrumentation(null);
+        this.parentDocumentStore = null;
+    }
+
+    /**
+     * Create an instance of ParentChildEmbeddingStoreIngestor from the values of the given builder.
+     *
+     * @param builder The builder holding the configuration of the ingestor.
+     */
+    protected ParentChildEmbeddingStoreIngestor(Builder<?> builder) {
+        super(
+                builder.documentTransformer,
+                builder.documentSplitter,
+                builder.textSegmentTransformer,
+                builder.embeddingModel,
+                builder.embeddingStore);
+        this.documentTransformer = builder.documentTransformer;
+        this.documentSplitter = builder.documentSplitter;
+        this.textSegmentTransformer = builder.textSegmentTransformer;
+        this.childTextSegmentTransformer = builder.childTextSegmentTransformer;
+        this.embeddingModel = builder.embeddingModel;
+        this.embeddingStore = builder.embeddingStore;
+        this.documentChildSplitter = builder.documentChildSplitter;
+        this.batchSize = builder.batchSize == null ? 0 : ensureGreaterThanZero(builder.batchSize, "batchSize");
+        this.maxConcurrency = ensureGreaterThanZero(
+                getOrDefault(builder.maxConcurrency, Builder.DEFAULT_MAX_CONCURRENCY), "maxConcurrency");
+        this.executor = builder.executor;
+        this.queueCapacity = ensureGreaterThanZero(
+                getOrDefault(builder.queueCapacity, Builder.DEFAULT_QUEUE_CAPACITY), "queueCapacity");
+        this.documentBatchSize = ensureGreaterThanZero(
+                getOrDefault(builder.documentBatchSize, Builder.DEFAULT_DOCUMENT_BATCH_SIZE), "documentBatchSize");
+        this.ingestionLedger = builder.ingestionLedger;
+        this.parentIdProvider = getOrDefault(builder.parentIdProvider, IncrementalIngestion::defaultParentId);
+        this.instrumentation = new IngestionInstrumentation(builder.ingestionListener);
+        this.parentDocumentStore = builder.parentDocumentStore;
+        if (parentDocumentStore != null && documentChildSplitter == null) {
+            throw new IllegalArgumentException("A parentDocumentStore requires a documentChildSplitter");
+        }
+    }
+
+    private Executor executor() {
+        return executor != null ? executor : DefaultExecutorProvider.defaultExecutorService();
     }
 
     @Override
     public IngestionResult ingest(List<Document> documents) {
         log.debug("Starting to ingest {} documents", documents.size());
 
-        if (documentTransformer != null) {
-            documents = documentTransformer.transformAll(documents);
-            log.debug("Documents were transformed into {} documents", documents.size());
-        }
-        List<TextSegment> segments;
-        if (documentSplitter != null) {
-            segments = documentSplitter.splitAll(documents);
+        List<TextSegment> segments = splitIntoParentSegments(documents);
 
-            log.debug("Documents were split into {} text segments", segments.size());
-        } else {
-            segments = documents.stream().map(Document::toTextSegment).collect(toList());
-        }
-        if (textSegmentTransformer != null) {
-            segments = textSegmentTransformer.transformAll(segments);
-            log.debug("Text segments were transformed into {} text segments", documents.size());
+        if (ingestionLedger != null) {
+            IncrementalIngestion incrementalIngestion = newIncrementalIngestion();
+            SegmentsToEmbed segmentsToEmbed = incrementalIngestion.select(segments);
+            log.debug("{} text segments are new or changed", segmentsToEmbed.segments().size());
+            IngestionResult result = embedAndStoreInBatches(
+                    segmentsToEmbed.ids(),
+                    segmentsToEmbed.segments(),
+                    batchSize > 0 ? batchSize : Math.max(1, segmentsToEmbed.segments().size()),
+                    incrementalIngestion::recordStored);
+            incrementalIngestion.finish();
+            return result;
         }
 
         if (documentChildSplitter != null) {
+            storeParents(segments);
+            if (batchSize > 0) {
+                List<TextSegment> childSegments = new ArrayList<>();
+                for (TextSegment segment : segments) {
+                    childSegments.addAll(splitIntoChildSegments(segment));
+                }
+                log.debug("Parent segments were split into {} child segments", childSegments.size());
+                return embedAndStoreInBatches(null, childSegments, batchSize, null);
+            }
+
             TokenUsage totalUsage = new TokenUsage();
             for (TextSegment segment : segments) {
-                // Convert back to Document to apply DocumentSplitter
-                Document parentDoc = Document.from(segment.text(), segment.metadata());
-                List<TextSegment> childSegments = documentChildSplitter.split(parentDoc).stream()
-                        .map(i -> {
-                            assert childTextSegmentTransformer != null;
-                            return childTextSegmentTransformer.transform(i);
-                        })
-                        .toList();
+                List<TextSegment> childSegments = splitIntoChildSegments(segment);
 
-                Response<List<Embedding>> embeddingsResponse = embeddingModel.embedAll(childSegments);
+                Response<List<Embedding>> embeddingsResponse = embed(childSegments);
 
-                embeddingStore.addAll(embeddingsResponse.content(), childSegments);
+                store(null, embeddingsResponse.content(), childSegments);
 
                 totalUsage = totalUsage.add(embeddingsResponse.tokenUsage());
             }
             return new IngestionResult(totalUsage);
         }
 
+        if (batchSize > 0) {
+            return embedAndStoreInBatches(null, segments, batchSize, null);
+        }
+
         log.debug("Starting to embed {} text segments", segments.size());
-        Response<List<Embedding>> embeddingsResponse = embeddingModel.embedAll(segments);
+        Response<List<Embedding>> embeddingsResponse = embed(segments);
         log.debug("Finished embedding {} text segments", segments.size());
 
         log.debug("Starting to store {} text segments into the embedding store", segments.size());
-        embeddingStore.addAll(embeddingsResponse.content(), segments);
+        store(null, embeddingsResponse.content(), segments);
         log.debug("Finished storing {} text segments into the embedding store", segments.size());
 
         return new IngestionResult(embeddingsResponse.tokenUsage());
     }
 
+    /**
+     * Ingests the documents of the given iterator as a pipeline, without holding the whole input in memory.
+     * <p>
+     * Documents are read, transformed and split a few at a time (see {@link Builder#documentBatchSize(Integer)}).
+     * The resulting segments are embedded in batches of {@link Builder#batchSize(Integer) batchSize}, with up to
+     * {@link Builder#maxConcurrency(Integer) maxConcurrency} batches embedded at once, and stored in the order in
+     * which they were produced. Reading stops while {@link Builder#queueCapacity(Integer) queueCapacity} batches
+     * are waiting to be embedded or stored, so the memory used stays flat regardless of the size of the input.
+     * </p>
+     *
+     * @param documents The documents to ingest.
+     * @return The ingestion result, with the token usage summed over all batches.
+     */
+    public IngestionResult ingest(Iterator<? extends Document> documents) {
+        return ingest(documents, null);
+    }
+
+    /**
+     * Ingests the documents of the given iterator as a pipeline, reporting progress to the given listener.
+     *
+     * @param documents        The documents to ingest.
+     * @param progressListener The listener notified each time a batch has been stored. Can be null.
+     * @return The ingestion result, with the token usage summed over all batches.
+     * @see #ingest(Iterator)
+     */
+    public IngestionResult ingest(
+            Iterator<? extends Document> documents, IngestionProgressListener progressListener) {
+        ensureNotNull(documents, "documents");
+        IncrementalIngestion incrementalIngestion = ingestionLedger != null ? newIncrementalIngestion() : null;
+        IngestionResult result = new StreamingIngestionPipeline(
+                        chunk -> incrementalIngestion != null
+                                ? incrementalIngestion.select(splitIntoParentSegments(chunk))
+                                : new SegmentsToEmbed(null, splitIntoSegmentsToEmbed(chunk)),
+                        embeddingModel,
+                        embeddingStore,
+                        instrumentation,
+                        executor(),
+                        batchSize > 0 ? batchSize : Builder.DEFAULT_STREAMING_BATCH_SIZE,
+                        maxConcurrency,
+                        queueCapacity,
+                        documentBatchSize,
+                        progressListener,
+                        incrementalIngestion != null ? incrementalIngestion::recordStored : null)
+                .run(documents);
+        if (incrementalIngestion != null) {
+            incrementalIngestion.finish();
+        }
+        return result;
+    }
+
+    /**
+     * Ingests the documents of the given stream as a pipeline.
+     *
+     * @param documents The documents to ingest.
+     * @return The ingestion result, with the token usage summed over all batches.
+     * @see #ingest(Iterator)
+     */
+    public IngestionResult ingest(Stream<? extends Document> documents) {
+        return ingest(documents, null);
+    }
+
+    /**
+     * Ingests the documents of the given stream as a pipeline, reporting progress to the given listener.
+     *
+     * @param documents        The documents to ingest.
+     * @param progressListener The listener notified each time a batch has been stored. Can be null.
+     * @return The ingestion result, with the token usage summed over all batches.
+     * @see #ingest(Iterator)
+     */
+    public IngestionResult ingest(Stream<? extends Document> documents, IngestionProgressListener progressListener) {
+        ensureNotNull(documents, "documents");
+        return ingest(documents.iterator(), progressListener);
+    }
+
+    /**
+     * Ingests the documents published by the given publisher as a pipeline.
+     * Documents are requested from the publisher only as fast as the pipeline can process them.
+     *
+     * @param documents The publisher of the documents to ingest.
+     * @return The ingestion result, with the token usage summed over all batches.
+     * @see #ingest(Iterator)
+     */
+    public IngestionResult ingest(Flow.Publisher<? extends Document> documents) {
+        return ingest(documents, null);
+    }
+
+    /**
+     * Ingests the documents published by the given publisher as a pipeline, reporting progress to the given listener.
+     *
+     * @param documents        The publisher of the documents to ingest.
+     * @param progressListener The listener notified each time a batch has been stored. Can be null.
+     * @return The ingestion result, with the token usage summed over all batches.
+     * @see #ingest(Iterator)
+     */
+    public IngestionResult ingest(
+            Flow.Publisher<? extends Document> documents, IngestionProgressListener progressListener) {
+        ensureNotNull(documents, "documents");
+        FlowPublisherIterator<Document> iterator = new FlowPublisherIterator<>(documentBatchSize);
+        documents.subscribe(iterator);
+        try {
+            return ingest(iterator, progressListener);
+        } finally {
+            iterator.cancel();
+        }
+    }
+
+    private IncrementalIngestion newIncrementalIngestion() {
+        return new IncrementalIngestion(
+                ingestionLedger,
+                embeddingStore,
+                parentIdProvider,
+                documentChildSplitter != null ? this::splitIntoChildSegments : null,
+                parentDocumentStore);
+    }
+
+    /**
+     * Transforms and splits the given documents into the segments that are embedded:
+     * the child segments when a child splitter is configured, the parent segments otherwise.
+     *
+     * @param documents The documents to split.
+     * @return The segments to embed.
+     */
+    private List<TextSegment> splitIntoSegmentsToEmbed(List<Document> documents) {
+        List<TextSegment> segments = splitIntoParentSegments(documents);
+        if (documentChildSplitter == null) {
+            return segments;
+        }
+        storeParents(segments);
+        List<TextSegment> childSegments = new ArrayList<>();
+        for (TextSegment segment : segments) {
+            childSegments.addAll(splitIntoChildSegments(segment));
+        }
+        return childSegments;
+    }
+
+    /**
+     * Applies the document transformer, the document splitter and the text segment transformer, if any.
+     *
+     * @param documents The documents to split.
+     * @return The parent segments.
+     */
+    private List<TextSegment> splitIntoParentSegments(List<Document> documents) {
+        if (documentTransformer != null) {
+            List<Document> input = documents;
+            documents = instrumentation.run(
+                    DOCUMENT_TRANSFORM, input.size(), () -> documentTransformer.transformAll(input), List::size);
+            log.debug("Documents were transformed into {} documents", documents.size());
+        }
+        List<TextSegment> segments;
+        if (documentSplitter != null) {
+            List<Document> input = documents;
+            segments = instrumentation.run(
+                    DOCUMENT_SPLIT, input.size(), () -> documentSplitter.splitAll(input), List::size);
+
+            log.debug("Documents were split into {} text segments", segments.size());
+        } else {
+            segments = documents.stream().map(Document::toTextSegment).collect(toList());
+        }
+        if (textSegmentTransformer != null) {
+            List<TextSegment> input = segments;
+            segments = instrumentation.run(
+                    SEGMENT_TRANSFORM, input.size(), () -> textSegmentTransformer.transformAll(input), List::size);
+            log.debug("Text segments were transformed into {} text segments", documents.size());
+        }
+        return segments;
+    }
+
+    /**
+     * Splits a parent segment into child segments and applies the child transformer, if any.
+     *
+     * @param parentSegment The parent segment.
+     * @return The child segments of the parent segment.
+     */
+    private List<TextSegment> splitIntoChildSegments(TextSegment parentSegment) {
+        // Convert back to Document to apply DocumentSplitter
+        Document parentDoc = Document.from(parentSegment.text(), parentSegment.metadata());
+        List<TextSegment> childSegments =
+                instrumentation.run(CHILD_SPLIT, 1, () -> documentChildSplitter.split(parentDoc), List::size);
+        if (childTextSegmentTransformer != null) {
+            List<TextSegment> input = childSegments;
+            childSegments = instrumentation.run(
+                    CHILD_SEGMENT_TRANSFORM,
+                    input.size(),
+                    () -> input.stream().map(childTextSegmentTransformer::transform).toList(),
+                    List::size);
+        }
+        if (parentDocumentStore == null) {
+            return childSegments;
+        }
+        String parentId = parentIdProvider.apply(parentSegment);
+        return childSegments.stream()
+                .map(child -> TextSegment.from(
+                        child.text(), child.metadata().copy().put(ParentDocumentStore.PARENT_ID_KEY, parentId)))
+                .toList();
+    }
+
+    /**
+     * Writes the given parent segments to the parent document store, if any.
+     *
+     * @param parentSegments The parent segments.
+     */
+    private void storeParents(List<TextSegment> parentSegments) {
+        if (parentDocumentStore == null || parentSegments.isEmpty()) {
+            return;
+        }
+        List<String> parentIds =
+                parentSegments.stream().map(parentIdProvider).toList();
+        parentDocumentStore.putAll(parentIds, parentSegments);
+    }
+
+    private Response<List<Embedding>> embed(List<TextSegment> segments) {
+        return instrumentation.run(
+                EMBED,
+                segments.size(),
+                () -> embeddingModel.embedAll(segments),
+                response -> response.content().size());
+    }
+
+    private void store(List<String> ids, List<Embedding> embeddings, List<TextSegment> segments) {
+        instrumentation.run(STORE, segments.size(), () -> {
+            if (ids == null) {
+                embeddingStore.addAll(embeddings, segments);
+            } else {
+                embeddingStore.addAll(ids, embeddings, segments);
+            }
+        });
+    }
+
+    /**
+     * Embeds the given segments in batches, running up to {@link #maxConcurrency} batches at once,
+     * and stores the embeddings of each round of batches with a single store call.
+     *
+     * @param ids               The ids of the segments, or null to let the store generate them.
+     * @param segments          The segments to embed and store.
+     * @param batchSize         The number of segments per batch.
+     * @param storedIdsConsumer Receives the ids of each stored round of batches, can be null.
+     * @return The ingestion result, with the token usage summed over all batches.
+     */
+    private IngestionResult embedAndStoreInBatches(
+            List<String> ids, List<TextSegment> segments, int batchSize, Consumer<List<String>> storedIdsConsumer) {
+        TokenUsage totalUsage = new TokenUsage();
+        int roundSize = batchSize * maxConcurrency;
+        for (int from = 0; from < segments.size(); from += roundSize) {
+            int to = Math.min(from + roundSize, segments.size());
+            List<TextSegment> round = new ArrayList<>(segments.subList(from, to));
+
+            List<CompletableFuture<Response<List<Embedding>>>> futures = new ArrayList<>();
+            for (int i = 0; i < round.size(); i += batchSize) {
+                List<TextSegment> batch = round.subList(i, Math.min(i + batchSize, round.size()));
+                if (round.size() <= batchSize) {
+                    // A single batch is embedded on the calling thread
+                    futures.add(CompletableFuture.completedFuture(embed(batch)));
+                } else {
+                    futures.add(CompletableFuture.supplyAsync(() -> embed(batch), executor()));
+                }
+            }
+
+            List<Embedding> embeddings = new ArrayList<>(round.size());
+            for (CompletableFuture<Response<List<Embedding>>> future : futures) {
+                Response<List<Embedding>> embeddingsResponse = join(future);
+                embeddings.addAll(embeddingsResponse.content());
+                totalUsage = totalUsage.add(embeddingsResponse.tokenUsage());
+            }
+            log.debug("Finished embedding {} text segments in {} batches", round.size(), futures.size());
+
+            if (ids == null) {
+                store(null, embeddings, round);
+            } else {
+                List<String> roundIds = new ArrayList<>(ids.subList(from, to));
+                store(roundIds, embeddings, round);
+                storedIdsConsumer.accept(roundIds);
+            }
+            log.debug("Finished storing {} text segments into the embedding store", round.size());
+        }
+        return new IngestionResult(totalUsage);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     public static ParentChildEmbeddingStoreIngestor.Builder builder() {
         return new ParentChildEmbeddingStoreIngestor.Builder();
     }
@@ -150,6 +545,20 @@ public class ParentChildEmbeddingStoreIngestor extends EmbeddingStoreIngestor {
         protected TextSegmentTransformer childTextSegmentTransformer;
         protected EmbeddingModel embeddingModel;
         protected EmbeddingStore<TextSegment> embeddingStore;
+        protected Integer batchSize;
+        protected Integer maxConcurrency;
+        protected Executor executor;
+        protected Integer queueCapacity;
+        protected Integer documentBatchSize;
+        protected IngestionLedger ingestionLedger;
+        protected Function<TextSegment, String> parentIdProvider;
+        protected IngestionListener ingestionListener;
+        protected ParentDocumentStore parentDocumentStore;
+
+        static final int DEFAULT_MAX_CONCURRENCY = 4;
+        static final int DEFAULT_STREAMING_BATCH_SIZE = 64;
+        static final int DEFAULT_QUEUE_CAPACITY = 8;
+        static final int DEFAULT_DOCUMENT_BATCH_SIZE = 16;
 
         protected B self() {
             return (B) this;
@@ -241,6 +650,140 @@ public class ParentChildEmbeddingStoreIngestor extends EmbeddingStoreIngestor {
             return self();
         }
 
+        /**
+         * Sets the number of segments embedded per {@code embedAll} call. Optional.
+         * When set, segments are collected across parent segments into batches of this size,
+         * instead of being embedded one parent segment at a time.
+         * When ingesting an {@link Iterator}, a {@link Stream} or a {@link Flow.Publisher},
+         * segments are always batched, with a default batch size of 64.
+         *
+         * @param batchSize the batch size.
+         * @return {@code this}
+         */
+        public B batchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+            return self();
+        }
+
+        /**
+         * Sets the maximum number of batches embedded at once. Optional, defaults to 4.
+         * Only used when a {@link #batchSize(Integer) batch size} is set, or when ingesting an {@link Iterator},
+         * a {@link Stream} or a {@link Flow.Publisher}.
+         *
+         * @param maxConcurrency the maximum number of concurrent {@code embedAll} calls.
+         * @return {@code this}
+         */
+        public B maxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return self();
+        }
+
+        /**
+         * Sets the executor used to embed batches concurrently. Optional.
+         * If none is specified, an executor shared by all ingestors is used: virtual threads when the JVM
+         * supports them, otherwise a cached thread pool. The ingestor never shuts the executor down.
+         *
+         * @param executor the executor.
+         * @return {@code this}
+         */
+        public B executor(Executor executor) {
+            this.executor = executor;
+            return self();
+        }
+
+        /**
+         * Sets the maximum number of batches waiting to be embedded or stored when ingesting
+         * an {@link Iterator}, a {@link Stream} or a {@link Flow.Publisher}. Optional, defaults to 8.
+         * Reading documents stops while this many batches are pending.
+         *
+         * @param queueCapacity the maximum number of pending batches.
+         * @return {@code this}
+         */
+        public B queueCapacity(Integer queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return self();
+        }
+
+        /**
+         * Sets the number of documents read, transformed and split at once when ingesting
+         * an {@link Iterator}, a {@link Stream} or a {@link Flow.Publisher}. Optional, defaults to 16.
+         *
+         * @param documentBatchSize the number of documents processed at once.
+         * @return {@code this}
+         */
+        public B documentBatchSize(Integer documentBatchSize) {
+            this.documentBatchSize = documentBatchSize;
+            return self();
+        }
+
+        /**
+         * Sets the ingestion ledger. Optional.
+         * <p>
+         * When set, segments get stable ids (see {@link #parentIdProvider(Function)}) and the ledger records a
+         * content hash per id. Each ingestion then treats its input as a complete snapshot of the corpus:
+         * unchanged segments are not embedded nor stored again, changed segments replace their previous version,
+         * and segments that are no longer produced are removed with {@link EmbeddingStore#removeAll(Collection)}.
+         * The embedding store must therefore support removal by ids.
+         * </p>
+         *
+         * @param ingestionLedger the ingestion ledger.
+         * @return {@code this}
+         */
+        public B ingestionLedger(IngestionLedger ingestionLedger) {
+            this.ingestionLedger = ingestionLedger;
+            return self();
+        }
+
+        /**
+         * Sets the function providing the id of a parent segment. Optional, only used with an
+         * {@link #ingestionLedger(IngestionLedger) ingestion ledger} or a
+         * {@link #parentDocumentStore(ParentDocumentStore) parent document store}. With a ledger, the ids of child
+         * segments are derived from the id of their parent and their position within it.
+         * <p>
+         * By default, the id is a name-based UUID of the segment metadata, which holds the metadata of the
+         * document (file name, URL, ...) and the index of the segment within it, and of the segment text.
+         * An edited parent segment thus gets a new id, and all its children are embedded again. A provider
+         * returning ids that are stable across edits, such as the file name and the index, only re-embeds the
+         * children that changed, provided that no two parent segments share an id.
+         * </p>
+         *
+         * @param parentIdProvider the function providing the id of a parent segment.
+         * @return {@code this}
+         */
+        public B parentIdProvider(Function<TextSegment, String> parentIdProvider) {
+            this.parentIdProvider = parentIdProvider;
+            return self();
+        }
+
+        /**
+         * Sets the listener notified of the start and the end of each {@link IngestionStage}. Optional.
+         * {@link InMemoryIngestionMetrics} records timers and histograms per stage in memory,
+         * {@link MicrometerIngestionListener} publishes them to a Micrometer registry.
+         *
+         * @param ingestionListener the ingestion listener.
+         * @return {@code this}
+         */
+        public B ingestionListener(IngestionListener ingestionListener) {
+            this.ingestionListener = ingestionListener;
+            return self();
+        }
+
+        /**
+         * Sets the store the parent segments are written to. Optional, requires a
+         * {@link #documentChildSplitter(DocumentSplitter) child splitter}.
+         * <p>
+         * Parent segments are identified by the {@link #parentIdProvider(Function) parent id provider}, and each
+         * child segment gets the id of its parent in its {@value ParentDocumentStore#PARENT_ID_KEY} metadata entry.
+         * </p>
+         *
+         * @param parentDocumentStore the parent document store.
+         * @return {@code this}
+         */
+        public B parentDocumentStore(ParentDocumentStore parentDocumentStore) {
+            this.parentDocumentStore = parentDocumentStore;
+            return self();
+        }
+
         /**
          * Builds the EmbeddingStoreIngestor.
          *
@@ -248,14 +791,7 @@ public class ParentChildEmbeddingStoreIngestor extends EmbeddingStoreIngestor {
          */
         @Override
         public ParentChildEmbeddingStoreIngestor build() {
-            return new ParentChildEmbeddingStoreIngestor(
-                    documentTransformer,
-                    documentSplitter,
-                    textSegmentTransformer,
-                    childTextSegmentTransformer,
-                    embeddingModel,
-                    embeddingStore,
-                    documentChildSplitter);
+            return new ParentChildEmbeddingStoreIngestor(this);
         }
     }
 }
@@ -0,0 +1,66 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.Experimental;
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the parent segments of a parent-child ingestion, keyed by parent id, so that only the child segments
+ * need to be embedded and the parent text is kept once instead of being copied into the metadata of every child.
+ * <p>
+ * {@link ParentChildEmbeddingStoreIngestor} writes the parent segments here and records the id of the parent in
+ * the {@value #PARENT_ID_KEY} metadata entry of each child segment. A retriever can then search the child
+ * segments and fetch the parents of the best matches with a single {@link #getAll(Collection)} call.
+ * </p>
+ * <p>
+ * Implementations must be safe to call from multiple threads.
+ * </p>
+ *
+ * @see ParentChildEmbeddingStoreIngestor.Builder#parentDocumentStore(ParentDocumentStore)
+ * @see InMemoryParentDocumentStore
+ * @see MappedFileParentDocumentStore
+ * @since 1.1.0-beta7
+ */
+@Experimental
+public interface ParentDocumentStore {
+
+    /**
+     * The metadata key holding the id of the parent of a child segment.
+     */
+    String PARENT_ID_KEY = "parent_id";
+
+    /**
+     * Stores the given parent segments, replacing any previous segment with the same id.
+     *
+     * @param ids      The ids of the parent segments.
+     * @param segments The parent segments, in the order of the ids.
+     */
+    void putAll(List<String> ids, List<TextSegment> segments);
+
+    /**
+     * Returns the parent segments with the given ids.
+     *
+     * @param ids The ids of the parent segments.
+     * @return The parent segments found, keyed by id, in the order of the given ids. Unknown ids are left out.
+     */
+    Map<String, TextSegment> getAll(Collection<String> ids);
+
+    /**
+     * Returns the parent segment with the given id.
+     *
+     * @param id The id of the parent segment.
+     * @return The parent segment, or null if the id is unknown.
+     */
+    default TextSegment get(String id) {
+        return getAll(List.of(id)).get(id);
+    }
+
+    /**
+     * Removes the parent segments with the given ids. Unknown ids are ignored.
+     *
+     * @param ids The ids of the parent segments to remove.
+     */
+    void removeAll(Collection<String> ids);
+}
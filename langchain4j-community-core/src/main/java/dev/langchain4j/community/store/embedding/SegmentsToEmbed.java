@@ -0,0 +1,12 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.data.segment.TextSegment;
+import java.util.List;
+
+/**
+ * Segments to embed and store, with their ids.
+ *
+ * @param ids      The ids of the segments, or null to let the store generate them.
+ * @param segments The segments.
+ */
+record SegmentsToEmbed(List<String> ids, List<TextSegment> segments) {}
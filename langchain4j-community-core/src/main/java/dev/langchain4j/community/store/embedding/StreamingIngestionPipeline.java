@@ -0,0 +1,206 @@
+package dev.langchain4j.community.store.embedding;
+
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.IngestionResult;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs split → embed → store as a pipeline over an {@link Iterator} of documents.
+ * <p>
+ * The calling thread reads and splits the documents, a few at a time, and cuts the resulting segments
+ * into batches. Each batch is embedded on the executor, and stored once it has been embedded and the
+ * previous batch has been stored, so that stores are never called concurrently.
+ * Two semaphores bound the pipeline: one limits the number of batches being embedded at once,
+ * the other the number of batches that are not stored yet. When either is exhausted, the calling
+ * thread stops reading documents until a batch moves on.
+ * </p>
+ */
+class StreamingIngestionPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingIngestionPipeline.class);
+
+    private final Function<List<Document>, SegmentsToEmbed> splitter;
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final IngestionInstrumentation instrumentation;
+    private final Executor executor;
+    private final int batchSize;
+    private final int documentBatchSize;
+    private final IngestionProgressListener progressListener;
+    private final Consumer<List<String>> storedIdsConsumer;
+
+    private final Semaphore embeddingPermits;
+    private final Semaphore pendingPermits;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong documentsRead = new AtomicLong();
+
+    // Only accessed from the store stage, which is serialized
+    private long segmentsStored;
+    private long batchesStored;
+    private TokenUsage tokenUsage = new TokenUsage();
+
+    StreamingIngestionPipeline(
+            Function<List<Document>, SegmentsToEmbed> splitter,
+            EmbeddingModel embeddingModel,
+            EmbeddingStore<TextSegment> embeddingStore,
+            IngestionInstrumentation instrumentation,
+            Executor executor,
+            int batchSize,
+            int maxConcurrency,
+            int queueCapacity,
+            int documentBatchSize,
+            IngestionProgressListener progressListener,
+            Consumer<List<String>> storedIdsConsumer) {
+        this.splitter = splitter;
+        this.embeddingModel = embeddingModel;
+        this.embeddingStore = embeddingStore;
+        this.instrumentation = instrumentation;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.documentBatchSize = documentBatchSize;
+        this.progressListener = progressListener;
+        this.storedIdsConsumer = storedIdsConsumer;
+        this.embeddingPermits = new Semaphore(maxConcurrency);
+        this.pendingPermits = new Semaphore(Math.max(queueCapacity, maxConcurrency));
+    }
+
+    IngestionResult run(Iterator<? extends Document> documents) {
+        CompletableFuture<Void> lastStored = CompletableFuture.completedFuture(null);
+        List<String> batchIds = new ArrayList<>(batchSize);
+        List<TextSegment> batch = new ArrayList<>(batchSize);
+        List<Document> chunk = new ArrayList<>(documentBatchSize);
+
+        while (failure.get() == null && documents.hasNext()) {
+            chunk.add(documents.next());
+            if (chunk.size() < documentBatchSize && documents.hasNext()) {
+                continue;
+            }
+            documentsRead.addAndGet(chunk.size());
+            SegmentsToEmbed segments = splitter.apply(chunk);
+            chunk = new ArrayList<>(documentBatchSize);
+
+            for (int i = 0; i < segments.segments().size(); i++) {
+                batch.add(segments.segments().get(i));
+                if (segments.ids() != null) {
+                    batchIds.add(segments.ids().get(i));
+                }
+                if (batch.size() == batchSize) {
+                    lastStored = submit(batchIds.isEmpty() ? null : batchIds, batch, lastStored);
+                    batchIds = new ArrayList<>(batchSize);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty() && failure.get() == null) {
+            lastStored = submit(batchIds.isEmpty() ? null : batchIds, batch, lastStored);
+        }
+
+        try {
+            lastStored.join();
+        } catch (CompletionException e) {
+            failure.compareAndSet(null, e.getCause());
+        }
+        rethrowFailure();
+
+        log.debug("Finished ingesting {} documents into {} text segments", documentsRead.get(), segmentsStored);
+        return new IngestionResult(tokenUsage);
+    }
+
+    private CompletableFuture<Void> submit(
+            List<String> ids, List<TextSegment> batch, CompletableFuture<Void> previousStored) {
+        acquire(pendingPermits);
+        try {
+            acquire(embeddingPermits);
+        } catch (RuntimeException e) {
+            pendingPermits.release();
+            throw e;
+        }
+
+        CompletableFuture<Response<List<Embedding>>> embedded =
+                CompletableFuture.supplyAsync(() -> embed(batch), executor);
+        embedded.whenComplete((response, error) -> embeddingPermits.release());
+
+        CompletableFuture<Void> stored = previousStored.thenCombineAsync(
+                embedded, (ignored, response) -> store(ids, batch, response), executor);
+        stored.whenComplete((ignored, error) -> {
+            if (error != null) {
+                failure.compareAndSet(null, error instanceof CompletionException ? error.getCause() : error);
+            }
+            pendingPermits.release();
+        });
+        return stored;
+    }
+
+    private Void store(List<String> ids, List<TextSegment> batch, Response<List<Embedding>> embeddingsResponse) {
+        instrumentation.run(IngestionStage.STORE, batch.size(), () -> {
+            if (ids == null) {
+                embeddingStore.addAll(embeddingsResponse.content(), batch);
+            } else {
+                embeddingStore.addAll(ids, embeddingsResponse.content(), batch);
+            }
+        });
+        if (ids != null) {
+            storedIdsConsumer.accept(ids);
+        }
+
+        segmentsStored += batch.size();
+        batchesStored++;
+        tokenUsage = tokenUsage.add(embeddingsResponse.tokenUsage());
+        log.debug("Stored batch {} of {} text segments", batchesStored, batch.size());
+
+        if (progressListener != null) {
+            progressListener.onProgress(
+                    new IngestionProgress(documentsRead.get(), segmentsStored, batchesStored, tokenUsage));
+        }
+        return null;
+    }
+
+    private Response<List<Embedding>> embed(List<TextSegment> batch) {
+        return instrumentation.run(
+                IngestionStage.EMBED,
+                batch.size(),
+                () -> embeddingModel.embedAll(batch),
+                response -> response.content().size());
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pending batch", e);
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable error = failure.get();
+        if (error == null) {
+            return;
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        throw new IllegalStateException(error.getMessage(), error);
+    }
+}
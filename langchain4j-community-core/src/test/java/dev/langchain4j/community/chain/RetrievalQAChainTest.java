@@ -6,7 +6,9 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +16,9 @@ import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.input.PromptTemplate;
 import dev.langchain4j.rag.DefaultRetrievalAugmentor;
 import dev.langchain4j.rag.content.Content;
@@ -21,7 +26,14 @@ import dev.langchain4j.rag.content.injector.DefaultContentInjector;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.rag.query.Metadata;
 import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -51,6 +63,9 @@ public class RetrievalQAChainTest {
     @Mock
     ChatModel chatModel;
 
+    @Mock
+    StreamingChatModel streamingChatModel;
+
     @Mock
     ContentRetriever contentRetriever;
 
@@ -219,4 +234,147 @@ public class RetrievalQAChainTest {
             assertThat(e.getMessage()).contains("queryRouter cannot be null");
         }
     }
+
+    @Test
+    void should_execute_asynchronously() throws Exception {
+
+        // given
+        when(contentRetriever.retrieve(any())).thenReturn(asList(Content.from("Segment 1")));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        RetrievalQAChain chain = RetrievalQAChain.builder()
+                .chatModel(chatModel)
+                .contentRetriever(contentRetriever)
+                .executor(executor)
+                .build();
+
+        // when
+        CompletableFuture<String> answer = chain.executeAsync(QUERY);
+
+        // then
+        assertThat(answer.get(5, TimeUnit.SECONDS)).isEqualTo(ANSWER);
+        verify(chatModel).chat(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).contains("Segment 1");
+        executor.shutdown();
+    }
+
+    @Test
+    void should_stream_answer() throws Exception {
+
+        // given
+        when(contentRetriever.retrieve(any())).thenReturn(asList(Content.from("Segment 1")));
+        doAnswer(invocation -> {
+                    StreamingChatResponseHandler handler = invocation.getArgument(1);
+                    handler.onPartialResponse("ans");
+                    handler.onPartialResponse("wer");
+                    handler.onCompleteResponse(ChatResponse.builder()
+                            .aiMessage(AiMessage.from(ANSWER))
+                            .build());
+                    return null;
+                })
+                .when(streamingChatModel)
+                .chat(anyString(), any(StreamingChatResponseHandler.class));
+
+        RetrievalQAChain chain = RetrievalQAChain.builder()
+                .streamingChatModel(streamingChatModel)
+                .contentRetriever(contentRetriever)
+                .build();
+        List<String> partialResponses = new ArrayList<>();
+
+        // when
+        CompletableFuture<String> answer = chain.executeStreaming(QUERY, partialResponses::add);
+
+        // then
+        assertThat(answer.get(5, TimeUnit.SECONDS)).isEqualTo(ANSWER);
+        assertThat(partialResponses).containsExactly("ans", "wer");
+        verify(streamingChatModel).chat(argThat(message -> message.contains("Segment 1")), any());
+    }
+
+    @Test
+    void should_report_retrieval_failure_to_streaming_handler() {
+
+        // given
+        when(contentRetriever.retrieve(any())).thenThrow(new IllegalStateException("retrieval failed"));
+
+        RetrievalQAChain chain = RetrievalQAChain.builder()
+                .streamingChatModel(streamingChatModel)
+                .contentRetriever(contentRetriever)
+                .build();
+
+        // when
+        CompletableFuture<String> answer = chain.executeStreaming(QUERY, partialResponse -> {});
+
+        // then
+        assertThat(answer)
+                .failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableThat()
+                .withMessageContaining("retrieval failed");
+    }
+
+    @Test
+    void should_execute_all_queries_concurrently_in_order() {
+
+        // given
+        when(contentRetriever.retrieve(any())).thenReturn(List.of());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(chatModel.chat(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return "answer to " + invocation.getArgument(0);
+        });
+
+        RetrievalQAChain chain = RetrievalQAChain.builder()
+                .chatModel(chatModel)
+                .contentRetriever(contentRetriever)
+                .maxConcurrency(2)
+                .build();
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            queries.add(Query.from("query " + i));
+        }
+
+        // when
+        List<String> answers = chain.executeAll(queries);
+
+        // then
+        assertThat(answers)
+                .containsExactly(
+                        "answer to query 0",
+                        "answer to query 1",
+                        "answer to query 2",
+                        "answer to query 3",
+                        "answer to query 4",
+                        "answer to query 5");
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void should_answer_similar_queries_from_semantic_cache() {
+
+        // given
+        when(contentRetriever.retrieve(any())).thenReturn(asList(Content.from("Segment 1")));
+        SemanticAnswerCache semanticCache = SemanticAnswerCache.builder()
+                .embeddingModel(new SemanticAnswerCacheTest.NormalizingEmbeddingModel())
+                .embeddingStore(new InMemoryEmbeddingStore<>())
+                .build();
+
+        RetrievalQAChain chain = RetrievalQAChain.builder()
+                .chatModel(chatModel)
+                .contentRetriever(contentRetriever)
+                .semanticCache(semanticCache)
+                .build();
+
+        // when
+        String firstAnswer = chain.execute(Query.from("What is the refund policy?"));
+        String secondAnswer = chain.execute(Query.from("what is the refund policy"));
+
+        // then
+        assertThat(firstAnswer).isEqualTo(ANSWER);
+        assertThat(secondAnswer).isEqualTo(ANSWER);
+        verify(chatModel, times(1)).chat(anyString());
+        verify(contentRetriever, times(1)).retrieve(any());
+        assertThat(semanticCache.stats().hits()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,188 @@
+package dev.langchain4j.community.chain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SemanticAnswerCacheTest {
+
+    private final InMemoryEmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void should_return_answer_of_similar_query() {
+
+        // given
+        SemanticAnswerCache cache = cacheBuilder().build();
+        cache.put(Query.from("What is the refund policy?"), "30 days");
+
+        // when
+        String similar = cache.get(Query.from("what is the refund policy"));
+        String different = cache.get(Query.from("How do I reset my password?"));
+
+        // then
+        assertThat(similar).isEqualTo("30 days");
+        assertThat(different).isNull();
+        SemanticCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_replace_answer_of_same_query() {
+
+        // given
+        SemanticAnswerCache cache = cacheBuilder().build();
+        cache.put(Query.from("question"), "old answer");
+
+        // when
+        cache.put(Query.from("question"), "new answer");
+
+        // then
+        assertThat(cache.get(Query.from("question"))).isEqualTo("new answer");
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    @Test
+    void should_expire_answers_after_time_to_live() {
+
+        // given
+        SemanticAnswerCache cache = cacheBuilder().timeToLive(Duration.ofMinutes(10)).build();
+        cache.put(Query.from("question"), "answer");
+
+        // when
+        clock.advance(Duration.ofMinutes(5));
+        String fresh = cache.get(Query.from("question"));
+        clock.advance(Duration.ofMinutes(6));
+        String expired = cache.get(Query.from("question"));
+
+        // then
+        assertThat(fresh).isEqualTo("answer");
+        assertThat(expired).isNull();
+        assertThat(cache.stats().expirations()).isEqualTo(1);
+        assertThat(embeddingStore.search(searchAll()).matches()).isEmpty();
+    }
+
+    @Test
+    void should_evict_oldest_answers_above_max_size() {
+
+        // given
+        SemanticAnswerCache cache = cacheBuilder().maxSize(2).build();
+        cache.put(Query.from("first"), "1");
+        cache.put(Query.from("second"), "2");
+
+        // when
+        cache.put(Query.from("third"), "3");
+
+        // then
+        assertThat(cache.get(Query.from("first"))).isNull();
+        assertThat(cache.get(Query.from("second"))).isEqualTo("2");
+        assertThat(cache.get(Query.from("third"))).isEqualTo("3");
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void should_invalidate_answers() {
+
+        // given
+        SemanticAnswerCache cache = cacheBuilder().build();
+        cache.put(Query.from("first"), "1");
+        cache.put(Query.from("second"), "2");
+
+        // when
+        cache.invalidate(Query.from("first"));
+
+        // then
+        assertThat(cache.get(Query.from("first"))).isNull();
+        assertThat(cache.get(Query.from("second"))).isEqualTo("2");
+
+        // when
+        cache.invalidateAll();
+
+        // then
+        assertThat(cache.get(Query.from("second"))).isNull();
+    }
+
+    private SemanticAnswerCache.Builder cacheBuilder() {
+        return SemanticAnswerCache.builder()
+                .embeddingModel(new NormalizingEmbeddingModel())
+                .embeddingStore(embeddingStore)
+                .similarityThreshold(0.9)
+                .clock(clock);
+    }
+
+    private static EmbeddingSearchRequest searchAll() {
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(new NormalizingEmbeddingModel().embed("any").content())
+                .maxResults(100)
+                .minScore(0.0)
+                .build();
+    }
+
+    /**
+     * Embeds texts that only differ by case and punctuation to the same vector, and other texts to unrelated ones.
+     */
+    static class NormalizingEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            return Response.from(textSegments.stream()
+                    .map(segment -> vectorOf(segment.text().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9 ]", "")))
+                    .toList());
+        }
+
+        private static Embedding vectorOf(String normalizedText) {
+            Random random = new Random(normalizedText.hashCode());
+            float[] vector = new float[32];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+            return Embedding.from(vector);
+        }
+
+        @Override
+        public int dimension() {
+            return 32;
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dev.langchain4j.community.data.document.transformer.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.community.data.document.graph.GraphDocument;
+import dev.langchain4j.data.document.Document;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentGraphTransformerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_transform_concurrently_and_keep_input_order() {
+
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        GraphTransformer slowTransformer = document -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return GraphDocument.from(document);
+        };
+        ConcurrentGraphTransformer transformer = ConcurrentGraphTransformer.builder()
+                .delegate(slowTransformer)
+                .executor(executor)
+                .parallelism(3)
+                .build();
+        List<Document> documents = List.of(
+                Document.from("doc 0"),
+                Document.from("doc 1"),
+                Document.from("doc 2"),
+                Document.from("doc 3"),
+                Document.from("doc 4"),
+                Document.from("doc 5"));
+
+        // when
+        List<GraphDocument> graphDocuments = transformer.transformAll(documents);
+
+        // then
+        assertThat(graphDocuments).extracting(GraphDocument::source).containsExactlyElementsOf(documents);
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void should_report_failures_per_document() {
+
+        // given
+        ConcurrentGraphTransformer transformer = ConcurrentGraphTransformer.builder()
+                .delegate(new FailingGraphTransformer())
+                .executor(executor)
+                .build();
+        Document valid = Document.from("This is a valid document.");
+        Document filtered = Document.from("This should be filtered out.");
+        Document failing = Document.from("This one fails.");
+
+        // when
+        List<GraphTransformationResult> results =
+                transformer.transformAllWithResults(List.of(valid, failing, filtered));
+
+        // then
+        assertThat(results).extracting(GraphTransformationResult::document).containsExactly(valid, failing, filtered);
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(0).graphDocument().source()).isEqualTo(valid);
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).error()).hasMessage("LLM call failed");
+        assertThat(results.get(2).isSuccess()).isTrue();
+        assertThat(results.get(2).graphDocument()).isNull();
+
+        // when
+        List<GraphDocument> graphDocuments = transformer.transformAll(List.of(valid, failing, filtered));
+
+        // then
+        assertThat(graphDocuments).extracting(GraphDocument::source).containsExactly(valid);
+    }
+
+    @Test
+    void should_return_empty_when_empty() {
+
+        ConcurrentGraphTransformer transformer = ConcurrentGraphTransformer.builder()
+                .delegate(new FailingGraphTransformer())
+                .build();
+
+        assertThat(transformer.transformAll(null)).isEmpty();
+        assertThat(transformer.transformAllWithResults(List.of())).isEmpty();
+    }
+
+    @Test
+    void should_take_a_rate_limit_permit_per_document() {
+
+        // given
+        AtomicInteger reservations = new AtomicInteger();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1000, 1000) {
+            @Override
+            synchronized long reserve(int requested) {
+                reservations.addAndGet(requested);
+                return super.reserve(requested);
+            }
+        };
+        ConcurrentGraphTransformer transformer = ConcurrentGraphTransformer.builder()
+                .delegate(new FailingGraphTransformer())
+                .executor(executor)
+                .rateLimiter(rateLimiter)
+                .build();
+
+        // when
+        transformer.transformAll(
+                List.of(Document.from("valid 1"), Document.from("valid 2"), Document.from("valid 3")));
+
+        // then
+        assertThat(reservations.get()).isEqualTo(3);
+    }
+
+    static class FailingGraphTransformer implements GraphTransformer {
+
+        @Override
+        public GraphDocument transform(Document document) {
+            if (document.text().contains("fails")) {
+                throw new IllegalStateException("LLM call failed");
+            }
+            if (document.text().contains("valid")) {
+                return GraphDocument.from(document);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.langchain4j.community.data.document.transformer.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void should_allow_burst_then_throttle() {
+
+        // given
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 2, now::get);
+
+        // when
+        long first = rateLimiter.reserve(1);
+        long second = rateLimiter.reserve(1);
+        long third = rateLimiter.reserve(1);
+        long fourth = rateLimiter.reserve(1);
+
+        // then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1_000L));
+        assertThat(fourth).isCloseTo(TimeUnit.MILLISECONDS.toNanos(200), within(1_000L));
+    }
+
+    @Test
+    void should_refill_up_to_burst() {
+
+        // given
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 2, now::get);
+        rateLimiter.reserve(2);
+
+        // when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // then
+        assertThat(rateLimiter.reserve(2)).isZero();
+        assertThat(rateLimiter.reserve(1)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1_000L));
+    }
+}
@@ -2,15 +2,29 @@ package dev.langchain4j.community.embedding;
 
 import static dev.langchain4j.data.segment.TextSegment.textSegment;
 import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import dev.langchain4j.community.store.embedding.InMemoryIngestionLedger;
+import dev.langchain4j.community.store.embedding.InMemoryIngestionMetrics;
+import dev.langchain4j.community.store.embedding.InMemoryParentDocumentStore;
+import dev.langchain4j.community.store.embedding.IngestionListener;
+import dev.langchain4j.community.store.embedding.IngestionProgress;
+import dev.langchain4j.community.store.embedding.IngestionStage;
+import dev.langchain4j.community.store.embedding.IngestionStageStats;
 import dev.langchain4j.community.store.embedding.ParentChildEmbeddingStoreIngestor;
+import dev.langchain4j.community.store.embedding.ParentDocumentStore;
 import dev.langchain4j.data.document.Document;
 import dev.langchain4j.data.document.DocumentSplitter;
 import dev.langchain4j.data.document.DocumentTransformer;
@@ -23,9 +37,15 @@ import dev.langchain4j.model.output.Response;
 import dev.langchain4j.model.output.TokenUsage;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.IngestionResult;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SubmissionPublisher;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 public class ParentChildEmbeddingStoreIngestorTest {
 
@@ -230,7 +250,7 @@ public class ParentChildEmbeddingStoreIngestorTest {
         when(embeddingModel.embedAll(singletonList(expectedTextSegment)))
                 .thenReturn(Response.from(singletonList(Embedding.from(new float[] {1})), tokenUsage));
 
-        EmbeddingStore<TextSegment> embeddingStore = mock(EmbeddingStore.class);
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
 
         ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
                 .embeddingModel(embeddingModel)
@@ -247,4 +267,426 @@ public class ParentChildEmbeddingStoreIngestorTest {
 
         assertThat(ingestionResult.tokenUsage()).isEqualTo(tokenUsage);
     }
+
+    @Test
+    void should_embed_child_segments_across_parents_in_concurrent_batches() {
+
+        // given
+        Document document = Document.from("one two three. four five. six seven eight nine.");
+
+        DocumentSplitter documentSplitter = mock(DocumentSplitter.class);
+        when(documentSplitter.splitAll(any()))
+                .thenReturn(asList(
+                        textSegment("one two three."), textSegment("four five."), textSegment("six seven eight nine.")));
+
+        DocumentSplitter documentChildSplitter = wordSplitter();
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentSplitter(documentSplitter)
+                .documentChildSplitter(documentChildSplitter)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .batchSize(2)
+                .maxConcurrency(2)
+                .build();
+
+        // when
+        IngestionResult ingestionResult = ingestor.ingest(document);
+
+        // then
+        verify(embeddingModel).embedAll(asList(textSegment("one"), textSegment("two")));
+        verify(embeddingModel).embedAll(asList(textSegment("three."), textSegment("four")));
+        verify(embeddingModel).embedAll(asList(textSegment("five."), textSegment("six")));
+        verify(embeddingModel).embedAll(asList(textSegment("seven"), textSegment("eight")));
+        verify(embeddingModel).embedAll(singletonList(textSegment("nine.")));
+        verifyNoMoreInteractions(embeddingModel);
+
+        verify(embeddingStore)
+                .addAll(
+                        embeddings(4),
+                        asList(textSegment("one"), textSegment("two"), textSegment("three."), textSegment("four")));
+        verify(embeddingStore)
+                .addAll(
+                        embeddings(4),
+                        asList(textSegment("five."), textSegment("six"), textSegment("seven"), textSegment("eight")));
+        verify(embeddingStore).addAll(embeddings(1), singletonList(textSegment("nine.")));
+        verifyNoMoreInteractions(embeddingStore);
+
+        assertThat(ingestionResult.tokenUsage()).isEqualTo(new TokenUsage(9, 0));
+    }
+
+    @Test
+    void should_ingest_document_iterator_as_pipeline_and_report_progress() {
+
+        // given
+        DocumentSplitter documentChildSplitter = wordSplitter();
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentChildSplitter(documentChildSplitter)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .batchSize(3)
+                .maxConcurrency(2)
+                .queueCapacity(2)
+                .documentBatchSize(2)
+                .build();
+
+        List<IngestionProgress> progress = new CopyOnWriteArrayList<>();
+
+        // when
+        IngestionResult ingestionResult = ingestor.ingest(
+                Stream.of(Document.from("a b"), Document.from("c d e"), Document.from("f g"))
+                        .iterator(),
+                progress::add);
+
+        // then
+        verify(embeddingModel).embedAll(asList(textSegment("a"), textSegment("b"), textSegment("c")));
+        verify(embeddingModel).embedAll(asList(textSegment("d"), textSegment("e"), textSegment("f")));
+        verify(embeddingModel).embedAll(singletonList(textSegment("g")));
+        verifyNoMoreInteractions(embeddingModel);
+
+        InOrder inOrder = inOrder(embeddingStore);
+        inOrder.verify(embeddingStore)
+                .addAll(embeddings(3), asList(textSegment("a"), textSegment("b"), textSegment("c")));
+        inOrder.verify(embeddingStore)
+                .addAll(embeddings(3), asList(textSegment("d"), textSegment("e"), textSegment("f")));
+        inOrder.verify(embeddingStore).addAll(embeddings(1), singletonList(textSegment("g")));
+        verifyNoMoreInteractions(embeddingStore);
+
+        assertThat(ingestionResult.tokenUsage()).isEqualTo(new TokenUsage(7, 0));
+        assertThat(progress).hasSize(3);
+        assertThat(progress.get(2).documentsRead()).isEqualTo(3);
+        assertThat(progress.get(2).segmentsStored()).isEqualTo(7);
+        assertThat(progress.get(2).batchesStored()).isEqualTo(3);
+        assertThat(progress.get(2).tokenUsage()).isEqualTo(new TokenUsage(7, 0));
+    }
+
+    @Test
+    void should_ingest_documents_from_publisher() {
+
+        // given
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .batchSize(10)
+                .documentBatchSize(4)
+                .build();
+
+        SubmissionPublisher<Document> publisher = new SubmissionPublisher<>();
+        new Thread(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        publisher.submit(Document.from("document " + i));
+                    }
+                    publisher.close();
+                })
+                .start();
+
+        // when
+        IngestionResult ingestionResult = ingestor.ingest(publisher);
+
+        // then
+        verify(embeddingStore, times(3)).addAll(any(), any());
+        assertThat(ingestionResult.tokenUsage()).isEqualTo(new TokenUsage(25, 0));
+    }
+
+    @Test
+    void should_propagate_embedding_failure_when_ingesting_iterator() {
+
+        // given
+        EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+        when(embeddingModel.embedAll(any())).thenThrow(new IllegalArgumentException("embedding failed"));
+
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .batchSize(1)
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> ingestor.ingest(Stream.of(Document.from("a"), Document.from("b"))))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("embedding failed");
+        verifyNoMoreInteractions(embeddingStore);
+    }
+
+    @Test
+    void should_only_embed_new_and_changed_segments_when_ingesting_with_ledger() {
+
+        // given
+        DocumentSplitter documentChildSplitter = wordSplitter();
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        InMemoryIngestionLedger ledger = new InMemoryIngestionLedger();
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentChildSplitter(documentChildSplitter)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .ingestionLedger(ledger)
+                .parentIdProvider(parent ->
+                        parent.metadata().getString("file_name") + "#" + parent.metadata().getString("index"))
+                .build();
+
+        Document first = Document.from("a1 a2", Metadata.from("file_name", "a.txt"));
+        Document second = Document.from("b1", Metadata.from("file_name", "b.txt"));
+
+        // when
+        IngestionResult firstResult = ingestor.ingest(first, second);
+
+        // then
+        ArgumentCaptor<List<String>> firstIds = ArgumentCaptor.forClass(List.class);
+        verify(embeddingStore).addAll(firstIds.capture(), any(), any());
+        assertThat(firstIds.getValue()).hasSize(3).doesNotHaveDuplicates();
+        assertThat(firstResult.tokenUsage()).isEqualTo(new TokenUsage(3, 0));
+        // 2 parents and 3 children
+        assertThat(ledger.ids()).hasSize(5);
+
+        // given
+        Document changedFirst = Document.from("a1 a3", Metadata.from("file_name", "a.txt"));
+        Document third = Document.from("c1", Metadata.from("file_name", "c.txt"));
+        clearInvocations(embeddingModel, embeddingStore);
+
+        // when
+        IngestionResult secondResult = ingestor.ingest(changedFirst, third);
+
+        // then
+        verify(embeddingModel).embedAll(asList(textSegment("a3"), textSegment("c1")));
+        verifyNoMoreInteractions(embeddingModel);
+
+        String changedId = firstIds.getValue().get(1);
+        String removedId = firstIds.getValue().get(2);
+        InOrder inOrder = inOrder(embeddingStore);
+        inOrder.verify(embeddingStore).removeAll(singletonList(changedId));
+        ArgumentCaptor<List<String>> secondIds = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(embeddingStore).addAll(secondIds.capture(), any(), any());
+        ArgumentCaptor<Collection<String>> disappearedIds = ArgumentCaptor.forClass(Collection.class);
+        inOrder.verify(embeddingStore).removeAll(disappearedIds.capture());
+        verifyNoMoreInteractions(embeddingStore);
+
+        assertThat(secondIds.getValue()).hasSize(2).startsWith(changedId);
+        assertThat(disappearedIds.getValue()).hasSize(2).contains(removedId);
+        assertThat(secondResult.tokenUsage()).isEqualTo(new TokenUsage(2, 0));
+        assertThat(ledger.ids()).hasSize(5).doesNotContain(removedId);
+
+        // when
+        clearInvocations(embeddingModel, embeddingStore);
+        ingestor.ingest(Stream.of(changedFirst, third));
+
+        // then
+        verifyNoInteractions(embeddingModel, embeddingStore);
+    }
+
+    @Test
+    void should_not_mix_up_documents_sharing_metadata_when_ingesting_with_default_parent_ids() {
+
+        // given
+        DocumentSplitter documentChildSplitter = wordSplitter();
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        InMemoryIngestionLedger ledger = new InMemoryIngestionLedger();
+        InMemoryParentDocumentStore parentDocumentStore = new InMemoryParentDocumentStore();
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentChildSplitter(documentChildSplitter)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .ingestionLedger(ledger)
+                .parentDocumentStore(parentDocumentStore)
+                .build();
+
+        Document first = Document.from("a1 a2", Metadata.from("source", "web"));
+        Document second = Document.from("b1", Metadata.from("source", "web"));
+
+        // when
+        ingestor.ingest(first, second);
+
+        // then
+        ArgumentCaptor<List<String>> ids = ArgumentCaptor.forClass(List.class);
+        verify(embeddingStore).addAll(ids.capture(), any(), any());
+        verifyNoMoreInteractions(embeddingStore);
+        assertThat(ids.getValue()).hasSize(3).doesNotHaveDuplicates();
+        // 2 parents and 3 children
+        assertThat(ledger.ids()).hasSize(5);
+        assertThat(parentDocumentStore.size()).isEqualTo(2);
+
+        // when
+        clearInvocations(embeddingModel, embeddingStore);
+        ingestor.ingest(first, second);
+
+        // then
+        verifyNoInteractions(embeddingModel, embeddingStore);
+    }
+
+    @Test
+    void should_report_each_stage_to_ingestion_listener() {
+
+        // given
+        DocumentSplitter documentSplitter = mock(DocumentSplitter.class);
+        when(documentSplitter.splitAll(any())).thenReturn(asList(textSegment("a b"), textSegment("c")));
+
+        DocumentSplitter documentChildSplitter = wordSplitter();
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        InMemoryIngestionMetrics metrics = new InMemoryIngestionMetrics();
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentSplitter(documentSplitter)
+                .documentChildSplitter(documentChildSplitter)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .batchSize(2)
+                .maxConcurrency(1)
+                .ingestionListener(metrics)
+                .build();
+
+        // when
+        ingestor.ingest(Document.from("a b. c"));
+
+        // then
+        assertThat(metrics.stats())
+                .containsOnlyKeys(
+                        IngestionStage.DOCUMENT_SPLIT,
+                        IngestionStage.CHILD_SPLIT,
+                        IngestionStage.EMBED,
+                        IngestionStage.STORE);
+
+        IngestionStageStats split = metrics.stats(IngestionStage.DOCUMENT_SPLIT);
+        assertThat(split.invocations()).isEqualTo(1);
+        assertThat(split.inputCount()).isEqualTo(1);
+        assertThat(split.outputCount()).isEqualTo(2);
+
+        IngestionStageStats childSplit = metrics.stats(IngestionStage.CHILD_SPLIT);
+        assertThat(childSplit.invocations()).isEqualTo(2);
+        assertThat(childSplit.outputCount()).isEqualTo(3);
+
+        IngestionStageStats embed = metrics.stats(IngestionStage.EMBED);
+        assertThat(embed.invocations()).isEqualTo(2);
+        assertThat(embed.outputCount()).isEqualTo(3);
+
+        assertThat(metrics.stats(IngestionStage.STORE).inputCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_report_failed_stage_and_ignore_listener_failures() {
+
+        // given
+        EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+        when(embeddingModel.embedAll(any())).thenThrow(new IllegalArgumentException("embedding failed"));
+
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        List<IngestionStage> failedStages = new CopyOnWriteArrayList<>();
+        IngestionListener listener = new IngestionListener() {
+
+            @Override
+            public void onStageStarted(IngestionStage stage, int inputCount) {
+                throw new IllegalStateException("listener failed");
+            }
+
+            @Override
+            public void onStageFailed(IngestionStage stage, int inputCount, Throwable error, Duration duration) {
+                failedStages.add(stage);
+            }
+        };
+
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .ingestionListener(listener)
+                .build();
+
+        // when-then
+        assertThatThrownBy(() -> ingestor.ingest(Stream.of(Document.from("a"))))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("embedding failed");
+        assertThat(failedStages).containsExactly(IngestionStage.EMBED);
+        verifyNoInteractions(embeddingStore);
+    }
+
+    @Test
+    void should_store_parents_in_parent_document_store_and_reference_them_from_children() {
+
+        // given
+        DocumentSplitter documentSplitter = mock(DocumentSplitter.class);
+        when(documentSplitter.splitAll(any()))
+                .thenReturn(asList(
+                        TextSegment.from("a1 a2", Metadata.from("index", "0")),
+                        TextSegment.from("b1", Metadata.from("index", "1"))));
+
+        DocumentSplitter documentChildSplitter = wordSplitter();
+        EmbeddingModel embeddingModel = constantEmbeddingModel();
+        EmbeddingStore<TextSegment> embeddingStore = mockStore();
+
+        InMemoryParentDocumentStore parentDocumentStore = new InMemoryParentDocumentStore();
+        ParentChildEmbeddingStoreIngestor ingestor = ParentChildEmbeddingStoreIngestor.builder()
+                .documentSplitter(documentSplitter)
+                .documentChildSplitter(documentChildSplitter)
+                .embeddingModel(embeddingModel)
+                .embeddingStore(embeddingStore)
+                .parentIdProvider(parent -> "parent-" + parent.metadata().getString("index"))
+                .parentDocumentStore(parentDocumentStore)
+                .build();
+
+        // when
+        ingestor.ingest(Document.from("a1 a2. b1"));
+
+        // then
+        assertThat(parentDocumentStore.size()).isEqualTo(2);
+        assertThat(parentDocumentStore.get("parent-1").text()).isEqualTo("b1");
+
+        ArgumentCaptor<List<TextSegment>> storedChildren = ArgumentCaptor.forClass(List.class);
+        verify(embeddingStore, times(2)).addAll(any(), storedChildren.capture());
+        assertThat(storedChildren.getAllValues().stream().flatMap(List::stream))
+                .extracting(child -> child.metadata().getString(ParentDocumentStore.PARENT_ID_KEY))
+                .containsExactly("parent-0", "parent-0", "parent-1");
+    }
+
+    @Test
+    void should_require_child_splitter_with_parent_document_store() {
+
+        // when-then
+        assertThatThrownBy(() -> ParentChildEmbeddingStoreIngestor.builder()
+                        .embeddingModel(mock(EmbeddingModel.class))
+                        .embeddingStore(mock(EmbeddingStore.class))
+                        .parentDocumentStore(new InMemoryParentDocumentStore())
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("documentChildSplitter");
+    }
+
+    private static DocumentSplitter wordSplitter() {
+        DocumentSplitter splitter = mock(DocumentSplitter.class);
+        when(splitter.split(any())).thenAnswer(invocation -> {
+            Document parent = invocation.getArgument(0);
+            return Stream.of(parent.text().split(" ")).map(TextSegment::from).toList();
+        });
+        return splitter;
+    }
+
+    private static EmbeddingModel constantEmbeddingModel() {
+        EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+        when(embeddingModel.embedAll(any())).thenAnswer(invocation -> {
+            List<TextSegment> segments = invocation.getArgument(0);
+            return Response.from(embeddings(segments.size()), new TokenUsage(segments.size(), 0));
+        });
+        return embeddingModel;
+    }
+
+    private static List<Embedding> embeddings(int count) {
+        return nCopies(count, Embedding.from(new float[] {1}));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EmbeddingStore<TextSegment> mockStore() {
+        return mock(EmbeddingStore.class);
+    }
 }
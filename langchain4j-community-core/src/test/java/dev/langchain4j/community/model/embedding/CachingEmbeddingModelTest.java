@@ -0,0 +1,243 @@
+package dev.langchain4j.community.model.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CachingEmbeddingModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_send_only_distinct_misses_to_delegate_and_keep_order() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model =
+                CachingEmbeddingModel.builder().delegate(delegate).build();
+        model.embed("b");
+
+        // when
+        Response<List<Embedding>> response = model.embedAll(segments("a", "b", "c", "a"));
+
+        // then
+        assertThat(delegate.requests).containsExactly(List.of("b"), List.of("a", "c"));
+        assertThat(response.content()).containsExactly(vector("a"), vector("b"), vector("c"), vector("a"));
+        assertThat(response.tokenUsage().inputTokenCount()).isEqualTo(2);
+
+        EmbeddingCacheStats stats = model.stats();
+        assertThat(stats.misses()).isEqualTo(3);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.hitRate()).isEqualTo(0.4);
+    }
+
+    @Test
+    void should_not_call_delegate_when_every_text_is_cached() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model =
+                CachingEmbeddingModel.builder().delegate(delegate).build();
+        model.embedAll(segments("a", "b"));
+
+        // when
+        Response<List<Embedding>> response = model.embedAll(segments("b", "a"));
+
+        // then
+        assertThat(delegate.requests).hasSize(1);
+        assertThat(response.content()).containsExactly(vector("b"), vector("a"));
+        assertThat(response.tokenUsage()).isNull();
+    }
+
+    @Test
+    void should_evict_least_recently_used_entries() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        CachingEmbeddingModel model =
+                CachingEmbeddingModel.builder().delegate(delegate).maxEntries(2).build();
+        model.embed("a");
+        model.embed("b");
+        model.embed("a");
+
+        // when
+        model.embed("c");
+        model.embed("a");
+        model.embed("b");
+
+        // then
+        assertThat(delegate.requests).containsExactly(List.of("a"), List.of("b"), List.of("c"), List.of("b"));
+        assertThat(model.stats().evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void should_keep_model_names_apart() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        MappedEmbeddingCache diskCache = MappedEmbeddingCache.open(tempDir.resolve("cache.bin"), 10);
+        CachingEmbeddingModel first = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .modelName("first")
+                .diskCache(diskCache)
+                .build();
+        CachingEmbeddingModel second = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .modelName("second")
+                .diskCache(diskCache)
+                .build();
+
+        // when
+        first.embed("a");
+        second.embed("a");
+
+        // then
+        assertThat(delegate.requests).hasSize(2);
+        diskCache.close();
+    }
+
+    @Test
+    void should_serve_embeddings_from_disk_after_reopening() {
+
+        // given
+        Path file = tempDir.resolve("cache.bin");
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        try (MappedEmbeddingCache diskCache = MappedEmbeddingCache.open(file, 10)) {
+            CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                    .delegate(delegate)
+                    .modelName("recording")
+                    .diskCache(diskCache)
+                    .build();
+            model.embedAll(segments("a", "b"));
+        }
+
+        // when
+        Response<List<Embedding>> response;
+        CachingEmbeddingModel reopened;
+        try (MappedEmbeddingCache diskCache = MappedEmbeddingCache.open(file, 10)) {
+            assertThat(diskCache.size()).isEqualTo(2);
+            reopened = CachingEmbeddingModel.builder()
+                    .delegate(delegate)
+                    .modelName("recording")
+                    .diskCache(diskCache)
+                    .build();
+            response = reopened.embedAll(segments("a", "b", "c"));
+        }
+
+        // then
+        assertThat(delegate.requests).containsExactly(List.of("a", "b"), List.of("c"));
+        assertThat(response.content()).containsExactly(vector("a"), vector("b"), vector("c"));
+        assertThat(reopened.stats().diskHits()).isEqualTo(2);
+    }
+
+    @Test
+    void should_overwrite_oldest_disk_entries_when_full() {
+
+        // given
+        Path file = tempDir.resolve("cache.bin");
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        MappedEmbeddingCache diskCache = MappedEmbeddingCache.open(file, 2);
+        CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .modelName("recording")
+                .maxEntries(1)
+                .diskCache(diskCache)
+                .build();
+
+        // when
+        model.embedAll(segments("a", "b", "c"));
+        diskCache.close();
+
+        // then
+        try (MappedEmbeddingCache reopened = MappedEmbeddingCache.open(file, 2)) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.get(EmbeddingCacheKey.of("recording", "a")))
+                    .isNull();
+            assertThat(reopened.get(EmbeddingCacheKey.of("recording", "c")))
+                    .containsExactly(vector("c").vector());
+        }
+        assertThat(model.stats().diskEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_share_vectors_with_callers() {
+
+        // given
+        RecordingEmbeddingModel delegate = new RecordingEmbeddingModel();
+        MappedEmbeddingCache diskCache = MappedEmbeddingCache.open(tempDir.resolve("cache.bin"), 10);
+        diskCache.put(EmbeddingCacheKey.of("recording", "b"), vector("b").vector());
+        CachingEmbeddingModel model = CachingEmbeddingModel.builder()
+                .delegate(delegate)
+                .modelName("recording")
+                .diskCache(diskCache)
+                .build();
+
+        // when
+        List<Embedding> computed = model.embedAll(segments("a", "a", "b")).content();
+        computed.forEach(Embedding::normalize);
+        model.embed("a").content().normalize();
+
+        // then
+        assertThat(model.embedAll(segments("a", "b")).content()).containsExactly(vector("a"), vector("b"));
+        assertThat(delegate.requests).containsExactly(List.of("a"));
+        diskCache.close();
+    }
+
+    @Test
+    void should_require_model_name_with_disk_cache() {
+
+        // given
+        MappedEmbeddingCache diskCache = MappedEmbeddingCache.open(tempDir.resolve("cache.bin"), 10);
+
+        // when-then
+        assertThatThrownBy(() -> CachingEmbeddingModel.builder()
+                        .delegate(new RecordingEmbeddingModel())
+                        .diskCache(diskCache)
+                        .build())
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("modelName");
+        diskCache.close();
+    }
+
+    private static List<TextSegment> segments(String... texts) {
+        List<TextSegment> segments = new ArrayList<>();
+        for (String text : texts) {
+            segments.add(TextSegment.from(text));
+        }
+        return segments;
+    }
+
+    private static Embedding vector(String text) {
+        return Embedding.from(new float[] {text.charAt(0), text.length(), 1});
+    }
+
+    private static class RecordingEmbeddingModel implements EmbeddingModel {
+
+        private final List<List<String>> requests = new ArrayList<>();
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            List<String> texts = textSegments.stream().map(TextSegment::text).toList();
+            requests.add(texts);
+            List<Embedding> embeddings =
+                    texts.stream().map(CachingEmbeddingModelTest::vector).toList();
+            return Response.from(embeddings, new TokenUsage(texts.size()));
+        }
+
+        @Override
+        public int dimension() {
+            return 3;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dev.langchain4j.community.rag.content.retriever;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import dev.langchain4j.community.store.embedding.InMemoryParentDocumentStore;
+import dev.langchain4j.community.store.embedding.ParentDocumentStore;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.ContentMetadata;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ParentDocumentRetrieverTest {
+
+    private final InMemoryEmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();
+    private final ParentDocumentStore parentDocumentStore = spy(new InMemoryParentDocumentStore());
+
+    @Test
+    void should_return_distinct_parents_of_best_children_with_one_lookup() {
+
+        // given
+        parentDocumentStore.putAll(
+                List.of("a", "b", "c"),
+                List.of(TextSegment.from("parent a"), TextSegment.from("parent b"), TextSegment.from("parent c")));
+        addChild("a", 1.0f);
+        addChild("a", 0.95f);
+        addChild("b", 0.9f);
+        addChild("a", 0.85f);
+        addChild("c", 0.1f);
+
+        ParentDocumentRetriever retriever = ParentDocumentRetriever.builder()
+                .embeddingModel(new AxisEmbeddingModel())
+                .embeddingStore(embeddingStore)
+                .parentDocumentStore(parentDocumentStore)
+                .maxResults(2)
+                .build();
+
+        // when
+        List<Content> contents = retriever.retrieve(Query.from("query"));
+
+        // then
+        assertThat(contents)
+                .extracting(content -> content.textSegment().text())
+                .containsExactly("parent a", "parent b");
+        assertThat((Double) contents.get(0).metadata().get(ContentMetadata.SCORE))
+                .isGreaterThan((Double) contents.get(1).metadata().get(ContentMetadata.SCORE));
+        verify(parentDocumentStore, times(1)).getAll(any());
+    }
+
+    @Test
+    void should_return_children_without_parent_as_is() {
+
+        // given
+        embeddingStore.add(embedding(1.0f), TextSegment.from("orphan child"));
+        addChild("missing", 0.5f);
+
+        ParentDocumentRetriever retriever = ParentDocumentRetriever.builder()
+                .embeddingModel(new AxisEmbeddingModel())
+                .embeddingStore(embeddingStore)
+                .parentDocumentStore(parentDocumentStore)
+                .build();
+
+        // when
+        List<Content> contents = retriever.retrieve(Query.from("query"));
+
+        // then
+        assertThat(contents)
+                .extracting(content -> content.textSegment().text())
+                .containsExactly("orphan child", "child of missing");
+    }
+
+    private void addChild(String parentId, float similarity) {
+        TextSegment child = TextSegment.from(
+                "child of " + parentId, Metadata.from(ParentDocumentStore.PARENT_ID_KEY, parentId));
+        embeddingStore.add(embedding(similarity), child);
+    }
+
+    /**
+     * A unit vector whose cosine similarity with the query vector {@code (1, 0)} is the given value.
+     */
+    private static Embedding embedding(float similarity) {
+        return Embedding.from(new float[] {similarity, (float) Math.sqrt(1 - similarity * similarity)});
+    }
+
+    private static class AxisEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            return Response.from(textSegments.stream()
+                    .map(segment -> Embedding.from(new float[] {1, 0}))
+                    .toList());
+        }
+
+        @Override
+        public int dimension() {
+            return 2;
+        }
+    }
+}
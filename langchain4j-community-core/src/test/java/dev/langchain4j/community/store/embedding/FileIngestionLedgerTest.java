@@ -0,0 +1,65 @@
+package dev.langchain4j.community.store.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileIngestionLedgerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_persist_entries_on_flush() {
+
+        // given
+        Path file = tempDir.resolve("ledger.tsv");
+        FileIngestionLedger ledger = new FileIngestionLedger(file);
+        ledger.record("parent", null, "parent-hash");
+        ledger.record("child-1", "parent", "child-1-hash");
+        ledger.record("child-2", "parent", "child-2-hash");
+
+        // when
+        ledger.flush();
+        FileIngestionLedger reloaded = new FileIngestionLedger(file);
+
+        // then
+        assertThat(reloaded.ids()).containsExactlyInAnyOrder("parent", "child-1", "child-2");
+        assertThat(reloaded.hash("parent")).isEqualTo("parent-hash");
+        assertThat(reloaded.hash("child-2")).isEqualTo("child-2-hash");
+        assertThat(reloaded.childIds("parent")).containsExactlyInAnyOrder("child-1", "child-2");
+    }
+
+    @Test
+    void should_forget_removed_entries() {
+
+        // given
+        Path file = tempDir.resolve("ledger.tsv");
+        FileIngestionLedger ledger = new FileIngestionLedger(file);
+        ledger.record("parent", null, "parent-hash");
+        ledger.record("child-1", "parent", "child-1-hash");
+        ledger.flush();
+
+        // when
+        ledger.removeAll(List.of("child-1"));
+        ledger.flush();
+
+        // then
+        FileIngestionLedger reloaded = new FileIngestionLedger(file);
+        assertThat(reloaded.ids()).containsExactly("parent");
+        assertThat(reloaded.hash("child-1")).isNull();
+        assertThat(reloaded.childIds("parent")).isEmpty();
+    }
+
+    @Test
+    void should_start_empty_when_file_does_not_exist() {
+
+        FileIngestionLedger ledger = new FileIngestionLedger(tempDir.resolve("missing").resolve("ledger.tsv"));
+
+        assertThat(ledger.ids()).isEmpty();
+        assertThat(ledger.hash("any")).isNull();
+    }
+}
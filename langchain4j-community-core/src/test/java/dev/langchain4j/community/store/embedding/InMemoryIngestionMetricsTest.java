@@ -0,0 +1,71 @@
+package dev.langchain4j.community.store.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class InMemoryIngestionMetricsTest {
+
+    @Test
+    void should_aggregate_invocations_of_each_stage() {
+
+        // given
+        InMemoryIngestionMetrics metrics = new InMemoryIngestionMetrics();
+
+        // when
+        metrics.onStageCompleted(IngestionStage.EMBED, 10, 10, Duration.ofMillis(30));
+        metrics.onStageCompleted(IngestionStage.EMBED, 5, 5, Duration.ofMillis(10));
+        metrics.onStageFailed(IngestionStage.EMBED, 7, new RuntimeException(), Duration.ofMillis(2));
+        metrics.onStageCompleted(IngestionStage.STORE, 15, 15, Duration.ofMillis(4));
+
+        // then
+        IngestionStageStats embed = metrics.stats(IngestionStage.EMBED);
+        assertThat(embed.invocations()).isEqualTo(3);
+        assertThat(embed.failures()).isEqualTo(1);
+        assertThat(embed.inputCount()).isEqualTo(22);
+        assertThat(embed.outputCount()).isEqualTo(15);
+        assertThat(embed.totalDuration()).isEqualTo(Duration.ofMillis(42));
+        assertThat(embed.maxDuration()).isEqualTo(Duration.ofMillis(30));
+        assertThat(embed.meanDuration()).isEqualTo(Duration.ofMillis(14));
+
+        assertThat(metrics.stats()).containsOnlyKeys(IngestionStage.EMBED, IngestionStage.STORE);
+        assertThat(metrics.slowestStage()).isEqualTo(IngestionStage.EMBED);
+    }
+
+    @Test
+    void should_estimate_percentiles_within_histogram_precision() {
+
+        // given
+        InMemoryIngestionMetrics metrics = new InMemoryIngestionMetrics();
+
+        // when
+        for (int millis = 1; millis <= 100; millis++) {
+            metrics.onStageCompleted(IngestionStage.DOCUMENT_SPLIT, 1, 1, Duration.ofMillis(millis));
+        }
+
+        // then
+        IngestionStageStats stats = metrics.stats(IngestionStage.DOCUMENT_SPLIT);
+        assertThat((double) stats.p50().toNanos()).isCloseTo(50_000_000, within(50_000_000 * 0.125));
+        assertThat((double) stats.p95().toNanos()).isCloseTo(95_000_000, within(95_000_000 * 0.125));
+        assertThat(stats.p99()).isLessThanOrEqualTo(stats.maxDuration());
+        assertThat(stats.p50()).isLessThanOrEqualTo(stats.p95());
+    }
+
+    @Test
+    void should_reset_all_stages() {
+
+        // given
+        InMemoryIngestionMetrics metrics = new InMemoryIngestionMetrics();
+        metrics.onStageCompleted(IngestionStage.STORE, 1, 1, Duration.ofMillis(1));
+
+        // when
+        metrics.reset();
+
+        // then
+        assertThat(metrics.stats()).isEmpty();
+        assertThat(metrics.slowestStage()).isNull();
+        assertThat(metrics.stats(IngestionStage.STORE).p99()).isEqualTo(Duration.ZERO);
+    }
+}
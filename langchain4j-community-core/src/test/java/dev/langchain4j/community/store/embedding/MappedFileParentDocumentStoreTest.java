@@ -0,0 +1,144 @@
+package dev.langchain4j.community.store.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileParentDocumentStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_return_parents_with_typed_metadata_after_reopening() {
+
+        // given
+        Path file = tempDir.resolve("parents.bin");
+        UUID uuid = UUID.randomUUID();
+        Metadata metadata = new Metadata()
+                .put("file_name", "a.txt")
+                .put("uuid", uuid)
+                .put("index", 3)
+                .put("size", 12L)
+                .put("ratio", 0.5f)
+                .put("score", 0.25d);
+        try (MappedFileParentDocumentStore store = MappedFileParentDocumentStore.open(file)) {
+            store.putAll(
+                    List.of("p1", "p2"), List.of(TextSegment.from("first parent", metadata), TextSegment.from("é")));
+        }
+
+        // when
+        Map<String, TextSegment> parents;
+        try (MappedFileParentDocumentStore reopened = MappedFileParentDocumentStore.open(file)) {
+            parents = reopened.getAll(List.of("p2", "unknown", "p1"));
+        }
+
+        // then
+        assertThat(parents).containsOnlyKeys("p2", "p1");
+        assertThat(parents.keySet()).containsExactly("p2", "p1");
+        assertThat(parents.get("p1")).isEqualTo(TextSegment.from("first parent", metadata));
+        assertThat(parents.get("p1").metadata().getInteger("index")).isEqualTo(3);
+        assertThat(parents.get("p1").metadata().getUUID("uuid")).isEqualTo(uuid);
+        assertThat(parents.get("p2").text()).isEqualTo("é");
+    }
+
+    @Test
+    void should_replace_and_remove_parents_and_reclaim_space_on_compact() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("parents.bin");
+        MappedFileParentDocumentStore store = MappedFileParentDocumentStore.open(file);
+        store.putAll(List.of("p1", "p2"), List.of(TextSegment.from("old"), TextSegment.from("removed")));
+
+        // when
+        store.putAll(List.of("p1"), List.of(TextSegment.from("new")));
+        store.removeAll(List.of("p2", "unknown"));
+        long sizeBeforeCompaction = Files.size(file);
+        store.compact();
+
+        // then
+        assertThat(Files.size(file)).isLessThan(sizeBeforeCompaction);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get("p1")).isEqualTo(TextSegment.from("new"));
+        assertThat(store.get("p2")).isNull();
+
+        // when
+        store.putAll(List.of("p3"), List.of(TextSegment.from("after compaction")));
+        store.close();
+
+        // then
+        try (MappedFileParentDocumentStore reopened = MappedFileParentDocumentStore.open(file)) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.get("p1")).isEqualTo(TextSegment.from("new"));
+            assertThat(reopened.get("p3")).isEqualTo(TextSegment.from("after compaction"));
+        }
+    }
+
+    @Test
+    void should_grow_file_ahead_of_records_and_trim_it_on_close() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("parents.bin");
+        String text = "x".repeat(1000);
+        MappedFileParentDocumentStore store = MappedFileParentDocumentStore.open(file);
+
+        // when
+        for (int i = 0; i < 3000; i++) {
+            store.putAll(List.of("p" + i), List.of(TextSegment.from(text + i)));
+        }
+
+        // then
+        long grownSize = Files.size(file);
+        assertThat(store.get("p0")).isEqualTo(TextSegment.from(text + 0));
+        assertThat(store.get("p2999")).isEqualTo(TextSegment.from(text + 2999));
+
+        // when
+        store.close();
+
+        // then
+        long trimmedSize = Files.size(file);
+        assertThat(trimmedSize).isLessThan(grownSize);
+        try (MappedFileParentDocumentStore reopened = MappedFileParentDocumentStore.open(file)) {
+            assertThat(reopened.size()).isEqualTo(3000);
+            assertThat(reopened.get("p1500")).isEqualTo(TextSegment.from(text + 1500));
+            assertThat(Files.size(file)).isEqualTo(trimmedSize);
+        }
+    }
+
+    @Test
+    void should_drop_incomplete_record_at_end_of_file() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("parents.bin");
+        try (MappedFileParentDocumentStore store = MappedFileParentDocumentStore.open(file)) {
+            store.putAll(List.of("p1"), List.of(TextSegment.from("complete")));
+        }
+        long completeSize = Files.size(file);
+        try (MappedFileParentDocumentStore store = MappedFileParentDocumentStore.open(file)) {
+            store.putAll(List.of("p2"), List.of(TextSegment.from("incomplete")));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        // when
+        try (MappedFileParentDocumentStore reopened = MappedFileParentDocumentStore.open(file)) {
+
+            // then
+            assertThat(reopened.get("p1")).isEqualTo(TextSegment.from("complete"));
+            assertThat(reopened.get("p2")).isNull();
+            assertThat(Files.size(file)).isEqualTo(completeSize);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.langchain4j.community.store.embedding;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class MicrometerIngestionListenerTest {
+
+    @Test
+    void should_record_stage_durations_and_items() {
+
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerIngestionListener listener = new MicrometerIngestionListener(registry, Tags.of("corpus", "docs"));
+
+        // when
+        listener.onStageCompleted(IngestionStage.EMBED, 8, 8, Duration.ofMillis(20));
+        listener.onStageCompleted(IngestionStage.EMBED, 4, 4, Duration.ofMillis(10));
+        listener.onStageFailed(IngestionStage.STORE, 12, new RuntimeException(), Duration.ofMillis(5));
+
+        // then
+        Timer embedTimer = registry.get(MicrometerIngestionListener.DURATION_METRIC)
+                .tags("stage", "embed", "outcome", "success", "corpus", "docs")
+                .timer();
+        assertThat(embedTimer.count()).isEqualTo(2);
+        assertThat(embedTimer.totalTime(MILLISECONDS)).isEqualTo(30);
+
+        assertThat(registry.get(MicrometerIngestionListener.INPUT_METRIC)
+                        .tags("stage", "embed")
+                        .summary()
+                        .totalAmount())
+                .isEqualTo(12);
+
+        Timer storeFailures = registry.get(MicrometerIngestionListener.DURATION_METRIC)
+                .tags("stage", "store", "outcome", "failure")
+                .timer();
+        assertThat(storeFailures.count()).isEqualTo(1);
+        assertThat(registry.get(MicrometerIngestionListener.OUTPUT_METRIC)
+                        .tags("stage", "store")
+                        .summary()
+                        .count())
+                .isZero();
+    }
+}